@@ -0,0 +1,68 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se;
+
+import java.util.Set;
+
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.literal.AnyLiteral;
+
+/**
+ * Generates the client proxy classes of an application ahead of time. The application found on the class path is
+ * bootstrapped, the client proxy of every normal-scoped bean is created and the bytecode of every proxy class generated
+ * in the process is written to the given directory. Packaging the content of the directory with the application lets
+ * Weld load the proxy classes instead of generating them at runtime.
+ *
+ * <pre>
+ * java -cp weld-se.jar:application.jar org.jboss.weld.environment.se.ProxyGenerator target/classes
+ * </pre>
+ */
+public class ProxyGenerator {
+
+    private ProxyGenerator() {
+    }
+
+    /**
+     * @param args the directory to write the proxy classes to
+     */
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.err.println("Usage: " + ProxyGenerator.class.getName() + " <output directory>");
+            System.exit(1);
+        }
+        System.setProperty(ConfigurationKey.PROXY_DUMP.get(), args[0]);
+        Weld weld = new Weld();
+        try {
+            generate(weld.initialize().getBeanManager());
+        } finally {
+            weld.shutdown();
+        }
+    }
+
+    private static void generate(BeanManager manager) {
+        Set<Bean<?>> beans = manager.getBeans(Object.class, AnyLiteral.INSTANCE);
+        for (Bean<?> bean : beans) {
+            if (manager.isNormalScope(bean.getScope())) {
+                // the client proxy is created without creating an instance of the bean
+                manager.getReference(bean, Object.class, manager.createCreationalContext(bean));
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.proxy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.jboss.weld.bean.proxy.ProxyObject;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Verifies that the proxy classes generated by a bootstrap are written to the directory configured by
+ * {@link ConfigurationKey#PROXY_DUMP} and that a proxy class packaged with the application is loaded instead of being
+ * generated.
+ */
+public class ProxyDumpTest {
+
+    private File dumpDirectory;
+
+    @Before
+    public void before() throws IOException {
+        dumpDirectory = File.createTempFile("weld-proxies", "");
+        assertTrue(dumpDirectory.delete());
+        assertTrue(dumpDirectory.mkdirs());
+    }
+
+    @After
+    public void after() {
+        System.clearProperty(ConfigurationKey.PROXY_DUMP.get());
+        delete(dumpDirectory);
+    }
+
+    @Test
+    public void testProxyClassWrittenAndLoadedFromClassPath() throws Exception {
+        Class<?> proxyClass = bootstrap(dumpDirectory);
+        assertTrue(getClassFile(dumpDirectory, proxyClass).isFile());
+
+        // the bean class is loaded again by a class loader which also has the dumped proxy classes on its class path
+        File otherDirectory = new File(dumpDirectory, "other");
+        assertTrue(otherDirectory.mkdirs());
+        ClassLoader classLoader = new ChildFirstClassLoader(dumpDirectory, ProxyDumpTest.class.getClassLoader());
+        Thread thread = Thread.currentThread();
+        ClassLoader oldTccl = thread.getContextClassLoader();
+        thread.setContextClassLoader(classLoader);
+        Class<?> packagedProxyClass;
+        try {
+            packagedProxyClass = bootstrap(otherDirectory);
+        } finally {
+            thread.setContextClassLoader(oldTccl);
+        }
+        assertNotSame(proxyClass, packagedProxyClass);
+        assertEquals(proxyClass.getName(), packagedProxyClass.getName());
+        // the proxy class was found on the class path and not generated, so it was not dumped either
+        assertSame(classLoader, packagedProxyClass.getClassLoader());
+        assertFalse(getClassFile(otherDirectory, proxyClass).exists());
+    }
+
+    private static Class<?> bootstrap(File dumpDirectory) throws Exception {
+        System.setProperty(ConfigurationKey.PROXY_DUMP.get(), dumpDirectory.getAbsolutePath());
+        Weld weld = new Weld();
+        try {
+            WeldContainer container = weld.initialize();
+            Class<?> greeterClass = Thread.currentThread().getContextClassLoader().loadClass(Greeter.class.getName());
+            Object greeter = container.instance().select(greeterClass).get();
+            assertEquals("Hello World", greeterClass.getMethod("greet", String.class).invoke(greeter, "World"));
+            assertTrue(greeter instanceof ProxyObject);
+            return greeter.getClass();
+        } finally {
+            weld.shutdown();
+        }
+    }
+
+    private static File getClassFile(File directory, Class<?> clazz) {
+        return new File(directory, clazz.getName().replace('.', File.separatorChar) + ".class");
+    }
+
+    private static byte[] read(URL url) throws IOException {
+        InputStream in = url.openStream();
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    /**
+     * Loads the classes of the test package itself, except for the test, so that the bean class and its proxy are
+     * defined by this class loader. Everything else is delegated to the parent.
+     */
+    private static class ChildFirstClassLoader extends URLClassLoader {
+
+        private ChildFirstClassLoader(File classPath, ClassLoader parent) throws IOException {
+            super(new URL[] { classPath.toURI().toURL() }, parent);
+        }
+
+        @Override
+        protected synchronized Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.startsWith(Greeter.class.getPackage().getName() + ".") || name.startsWith(ProxyDumpTest.class.getName())) {
+                return super.loadClass(name, resolve);
+            }
+            Class<?> clazz = findLoadedClass(name);
+            if (clazz == null) {
+                // the bean class comes from the test classes of the parent, the proxy class from the dump directory
+                URL resource = getResource(name.replace('.', '/') + ".class");
+                if (resource == null) {
+                    throw new ClassNotFoundException(name);
+                }
+                try {
+                    byte[] bytecode = read(resource);
+                    clazz = defineClass(name, bytecode, 0, bytecode.length);
+                } catch (IOException e) {
+                    throw new ClassNotFoundException(name, e);
+                }
+            }
+            if (resolve) {
+                resolveClass(clazz);
+            }
+            return clazz;
+        }
+    }
+}
@@ -44,6 +44,8 @@ import org.jboss.weld.exceptions.DefinitionException;
 import org.jboss.weld.exceptions.DeploymentException;
 import org.jboss.weld.interceptor.spi.metadata.InterceptorMetadata;
 import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.metrics.BeanInstrumentation;
+import org.jboss.weld.metrics.Timer;
 import org.jboss.weld.util.Decorators;
 import org.jboss.weld.util.Proxies;
 import org.jboss.weld.util.reflection.Formats;
@@ -72,6 +74,9 @@ public class ManagedBean<T> extends AbstractClassBean<T> {
     private boolean passivationCapableBean;
     private boolean passivationCapableDependency;
 
+    // The timer of the instance creation if the bean is instrumented, null otherwise
+    private Timer creationTimer;
+
     /**
      * Creates a simple, annotation defined Web Bean
      *
@@ -119,6 +124,7 @@ public class ManagedBean<T> extends AbstractClassBean<T> {
         if (this.passivationCapableBean && hasInterceptors() && !allInterceptorsArePassivationCapable()) {
             this.passivationCapableBean = false;
         }
+        this.creationTimer = BeanInstrumentation.of(beanManager.getServices()).getCreationTimer(this);
         super.initializeAfterBeanDiscovery();
     }
 
@@ -154,6 +160,18 @@ public class ManagedBean<T> extends AbstractClassBean<T> {
      * @return The instance
      */
     public T create(CreationalContext<T> creationalContext) {
+        if (creationTimer == null) {
+            return createInstance(creationalContext);
+        }
+        long start = System.nanoTime();
+        try {
+            return createInstance(creationalContext);
+        } finally {
+            creationTimer.record(System.nanoTime() - start);
+        }
+    }
+
+    private T createInstance(CreationalContext<T> creationalContext) {
         T instance = getProducer().produce(creationalContext);
         getProducer().inject(instance, creationalContext);
 
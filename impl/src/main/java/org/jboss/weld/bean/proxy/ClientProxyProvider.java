@@ -35,6 +35,7 @@ import org.jboss.weld.resources.SharedObjectCache;
 import org.jboss.weld.serialization.spi.ContextualStore;
 import org.jboss.weld.util.Proxies;
 import org.jboss.weld.util.Proxies.TypeInfo;
+import org.jboss.weld.util.reflection.Reflections;
 import org.slf4j.cal10n.LocLogger;
 
 import com.google.common.base.Function;
@@ -164,7 +165,9 @@ public class ClientProxyProvider {
         if (proxy == BEAN_NOT_PROXYABLE_MARKER) {
             throw Proxies.getUnproxyableTypesException(bean);
         }
-        log.trace(LOOKED_UP_CLIENT_PROXY, proxy.getClass(), bean);
+        if (log.isTraceEnabled()) {
+            log.trace(LOOKED_UP_CLIENT_PROXY, proxy.getClass(), bean);
+        }
         return proxy;
     }
     /**
@@ -190,11 +193,28 @@ public class ClientProxyProvider {
                 throw Proxies.getUnproxyableTypeException(requestedType);
             }
         }
-        log.trace(LOOKED_UP_CLIENT_PROXY, proxy.getClass(), bean);
+        if (log.isTraceEnabled()) {
+            log.trace(LOOKED_UP_CLIENT_PROXY, proxy.getClass(), bean);
+        }
         return proxy;
     }
 
 
+    /**
+     * Creates the client proxies of the given bean ahead of the first lookup. Unlike
+     * {@link #getClientProxy(Bean, Type)}, no exception is thrown if a proxy cannot be created.
+     *
+     * @param bean the bean
+     * @param requestedTypes the types the bean is injected as, only used if the bean types are not proxyable
+     */
+    public void createClientProxies(Bean<?> bean, Iterable<Type> requestedTypes) {
+        if (beanTypeClosureProxyPool.get(Reflections.<Bean<Object>>cast(bean)) == BEAN_NOT_PROXYABLE_MARKER) {
+            for (Type requestedType : requestedTypes) {
+                requestedTypeClosureProxyPool.get(new RequestedTypeHolder(requestedType, bean));
+            }
+        }
+    }
+
     /**
      * Gets a string representation
      *
@@ -20,6 +20,7 @@ package org.jboss.weld.bean.proxy;
 import org.jboss.weld.Container;
 import org.jboss.weld.context.CreationalContextImpl;
 import org.jboss.weld.context.WeldCreationalContext;
+import org.jboss.weld.context.pool.PooledContext;
 import org.jboss.weld.injection.CurrentInjectionPoint;
 import org.jboss.weld.injection.EmptyInjectionPoint;
 import org.jboss.weld.serialization.spi.ContextualStore;
@@ -29,6 +30,7 @@ import edu.umd.cs.findbugs.annotations.SuppressWarnings;
 import javax.enterprise.context.spi.Context;
 import javax.enterprise.inject.spi.Bean;
 import java.io.Serializable;
+import java.lang.reflect.Method;
 
 import static org.jboss.weld.util.reflection.Reflections.cast;
 
@@ -49,6 +51,8 @@ public class ContextBeanInstance<T> extends AbstractBeanInstance implements Seri
     private final String id;
     // The actual type of the resulting bean instance
     private final Class<?> instanceType;
+    // The context of a pooled bean which gets the instance back once an invocation completes
+    private transient volatile PooledContext pooledContext;
 
     private static final ThreadLocal<WeldCreationalContext<?>> currentCreationalContext = new ThreadLocal<WeldCreationalContext<?>>();
 
@@ -63,7 +67,9 @@ public class ContextBeanInstance<T> extends AbstractBeanInstance implements Seri
         this.bean = bean;
         this.id = id;
         this.instanceType = computeInstanceType(bean);
-        log.trace("Created context instance locator for bean " + bean + " identified as " + id);
+        if (log.isTraceEnabled()) {
+            log.trace("Created context instance locator for bean " + bean + " identified as " + id);
+        }
     }
 
     public T getInstance() {
@@ -72,10 +78,16 @@ public class ContextBeanInstance<T> extends AbstractBeanInstance implements Seri
             bean = container.services().get(ContextualStore.class).<Bean<T>, T>getContextual(id);
         }
         Context context = container.deploymentManager().getContext(bean.getScope());
-
-        T existingInstance = context.get(bean);
-        if (existingInstance != null) {
-            return existingInstance;
+        PooledContext pooledContext = null;
+        if (context instanceof PooledContext) {
+            // every invocation acquires the instance, even if the current thread already holds it
+            pooledContext = (PooledContext) context;
+            this.pooledContext = pooledContext;
+        } else {
+            T existingInstance = context.get(bean);
+            if (existingInstance != null) {
+                return existingInstance;
+            }
         }
 
         WeldCreationalContext<T> creationalContext;
@@ -90,6 +102,9 @@ public class ContextBeanInstance<T> extends AbstractBeanInstance implements Seri
         try {
             // Ensure that there is no injection point associated
             currentInjectionPoint.push(EmptyInjectionPoint.INSTANCE);
+            if (pooledContext != null) {
+                return pooledContext.acquire(bean, creationalContext);
+            }
             return context.get(bean, creationalContext);
         } finally {
             currentInjectionPoint.pop();
@@ -101,6 +116,27 @@ public class ContextBeanInstance<T> extends AbstractBeanInstance implements Seri
         }
     }
 
+    @Override
+    public Object invoke(Object instance, Method method, Object... arguments) throws Throwable {
+        try {
+            return super.invoke(instance, method, arguments);
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Releases the instance returned by {@link #getInstance()} if the bean is {@link org.jboss.weld.context.pool.Pooled}.
+     * Must be called once for every call of {@link #getInstance()} whose instance is not passed to
+     * {@link #invoke(Object, Method, Object...)}.
+     */
+    void release() {
+        PooledContext pooledContext = this.pooledContext;
+        if (pooledContext != null) {
+            pooledContext.release(bean);
+        }
+    }
+
     public Class<T> getInstanceType() {
         return cast(instanceType);
     }
@@ -106,7 +106,9 @@ public class EnterpriseBeanProxyMethodHandler<T> implements MethodHandler, Seria
         Object proxiedInstance = reference.getBusinessObject(businessInterface);
 
         Object returnValue = Reflections.invokeAndUnwrap(proxiedInstance, method, args);
-        log.trace(CALL_PROXIED_METHOD, method, proxiedInstance, args, returnValue);
+        if (log.isTraceEnabled()) {
+            log.trace(CALL_PROXIED_METHOD, method, proxiedInstance, args, returnValue);
+        }
         return returnValue;
     }
 
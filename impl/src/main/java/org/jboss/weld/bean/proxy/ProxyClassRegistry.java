@@ -0,0 +1,124 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bean.proxy;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.exceptions.WeldException;
+
+/**
+ * Keeps track of the proxy classes defined by the container, keyed by class loader and class name. Each class is
+ * created exactly once - threads asking for a class which is being created by another thread wait for the other thread to
+ * finish while classes with different names are created in parallel.
+ */
+public class ProxyClassRegistry implements Service {
+
+    private final ConcurrentMap<Key, FutureTask<Class<?>>> classes;
+
+    public ProxyClassRegistry() {
+        this.classes = new ConcurrentHashMap<Key, FutureTask<Class<?>>>();
+    }
+
+    /**
+     * Returns the class with the given name, creating it using the given factory unless it has been created before. If the
+     * factory fails, the failure is reported to all threads waiting for the class and a later call may try again.
+     *
+     * @param loader the class loader which defines the class
+     * @param name the name of the class
+     * @param factory the factory which creates the class
+     * @return the class
+     * @throws ExecutionException if the factory fails, the cause being the failure of the factory
+     */
+    public Class<?> getClass(ClassLoader loader, String name, Callable<Class<?>> factory) throws ExecutionException {
+        Key key = new Key(loader, name);
+        FutureTask<Class<?>> task = classes.get(key);
+        if (task == null) {
+            FutureTask<Class<?>> newTask = new FutureTask<Class<?>>(factory);
+            task = classes.putIfAbsent(key, newTask);
+            if (task == null) {
+                task = newTask;
+                task.run();
+            }
+        }
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            classes.remove(key, task);
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WeldException(e);
+        }
+    }
+
+    /**
+     * Returns the class with the given name if it has been created already.
+     *
+     * @param loader the class loader which defines the class
+     * @param name the name of the class
+     * @return the class or null if the class has not been created (yet)
+     */
+    public Class<?> getCreatedClass(ClassLoader loader, String name) {
+        FutureTask<Class<?>> task = classes.get(new Key(loader, name));
+        if (task == null || !task.isDone()) {
+            return null;
+        }
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            // cannot happen as the task is done
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    public void cleanup() {
+        classes.clear();
+    }
+
+    private static class Key {
+
+        private final ClassLoader loader;
+        private final String name;
+
+        private Key(ClassLoader loader, String name) {
+            this.loader = loader;
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof Key) {
+                Key that = (Key) obj;
+                return this.loader == that.loader && this.name.equals(that.name);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(loader) + name.hashCode();
+        }
+    }
+}
@@ -21,9 +21,13 @@ import static org.jboss.weld.logging.Category.BEAN;
 import static org.jboss.weld.logging.LoggerFactory.loggerFactory;
 import static org.jboss.weld.logging.messages.BeanMessage.PROXY_INSTANTIATION_BEAN_ACCESS_FAILED;
 import static org.jboss.weld.logging.messages.BeanMessage.PROXY_INSTANTIATION_FAILED;
+import static org.jboss.weld.logging.messages.BeanMessage.UNABLE_TO_DUMP_PROXY_CLASS;
 import static org.jboss.weld.logging.messages.BeanMessage.UNABLE_TO_LOAD_PROXY_CLASS;
 import static org.jboss.weld.util.reflection.Reflections.cast;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.Serializable;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
@@ -38,6 +42,8 @@ import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 
 import javax.enterprise.inject.spi.Bean;
 
@@ -48,10 +54,14 @@ import org.jboss.classfilewriter.DuplicateMemberException;
 import org.jboss.classfilewriter.code.BranchEnd;
 import org.jboss.classfilewriter.code.CodeAttribute;
 import org.jboss.weld.Container;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.config.WeldConfiguration;
 import org.jboss.weld.exceptions.DefinitionException;
 import org.jboss.weld.exceptions.WeldException;
 import org.jboss.weld.interceptor.proxy.LifecycleMixin;
 import org.jboss.weld.interceptor.util.proxy.TargetInstanceProxy;
+import org.jboss.weld.metrics.MetricGroup;
+import org.jboss.weld.metrics.MetricsSupport;
 import org.jboss.weld.security.GetDeclaredConstructorsAction;
 import org.jboss.weld.security.GetDeclaredMethodsAction;
 import org.jboss.weld.security.NewInstanceAction;
@@ -70,6 +80,8 @@ import org.jboss.weld.util.collections.ArraySet;
 import org.jboss.weld.util.reflection.Reflections;
 import org.jboss.weld.util.reflection.instantiation.InstantiatorFactory;
 import org.slf4j.cal10n.LocLogger;
+import org.slf4j.ext.XLogger;
+import org.slf4j.ext.XLogger.Level;
 
 /**
  * Main factory to produce proxy classes and instances for Weld beans. This
@@ -84,6 +96,7 @@ import org.slf4j.cal10n.LocLogger;
 public class ProxyFactory<T> {
     // The log provider
     protected static final LocLogger log = loggerFactory().getLogger(BEAN);
+    private static final XLogger xLog = loggerFactory().getXLogger(BEAN);
     // Default proxy class name suffix
     public static final String PROXY_SUFFIX = "$Proxy$";
     public static final String DEFAULT_PROXY_PACKAGE = "org.jboss.weld.proxies";
@@ -288,35 +301,42 @@ public class ProxyFactory<T> {
         if (proxyClassName.startsWith("java")) {
             proxyClassName = proxyClassName.replaceFirst("java", "org.jboss.weld");
         }
-        Class<T> proxyClass = null;
         log.trace("Retrieving/generating proxy class " + proxyClassName);
+        final String className = proxyClassName;
         try {
-            // First check to see if we already have this proxy class
-            proxyClass = cast(classLoader.loadClass(proxyClassName));
-        } catch (ClassNotFoundException e) {
-            // Create the proxy class for this instance
-            try {
-                proxyClass = createProxyClass(proxyClassName);
-            } catch (Throwable e1) {
-                //attempt to load the class again, just in case another thread
-                //defined it between the check and the create method
-                try {
-                    proxyClass = cast(classLoader.loadClass(proxyClassName));
-                } catch (ClassNotFoundException e2) {
-                    throw new WeldException(UNABLE_TO_LOAD_PROXY_CLASS, e1, bean, proxiedBeanType, classLoader);
+            return cast(getProxyClassRegistry().getClass(classLoader, proxyClassName, new Callable<Class<?>>() {
+                public Class<?> call() throws Exception {
+                    return loadOrCreateProxyClass(className);
                 }
-            }
+            }));
+        } catch (ExecutionException e) {
+            throw new WeldException(UNABLE_TO_LOAD_PROXY_CLASS, e.getCause(), bean, proxiedBeanType, classLoader);
         }
-        return proxyClass;
     }
 
-    protected Class<T> getCachedProxyClass(String proxyClassName) {
-        try {
-            // Check to see if we already have this proxy class
+    private Class<T> loadOrCreateProxyClass(String proxyClassName) throws Exception {
+        if (classLoader.getResource(proxyClassName.replace('.', '/') + ".class") != null) {
+            // the proxy class was generated ahead of time and packaged with the application
             return cast(classLoader.loadClass(proxyClassName));
-        } catch (ClassNotFoundException e) {
-            return null;
         }
+        try {
+            return createProxyClass(proxyClassName);
+        } catch (LinkageError e) {
+            // the class loader is shared with another container which defined the proxy class already
+            try {
+                return cast(classLoader.loadClass(proxyClassName));
+            } catch (ClassNotFoundException ignored) {
+                throw e;
+            }
+        }
+    }
+
+    protected Class<T> getCachedProxyClass(String proxyClassName) {
+        return cast(getProxyClassRegistry().getCreatedClass(classLoader, proxyClassName));
+    }
+
+    private static ProxyClassRegistry getProxyClassRegistry() {
+        return Container.instance().services().get(ProxyClassRegistry.class);
     }
 
     /**
@@ -363,6 +383,34 @@ public class ProxyFactory<T> {
         return PROXY_SUFFIX;
     }
 
+    /**
+     * Writes the bytecode of the proxy class to the directory configured by {@link ConfigurationKey#PROXY_DUMP}, if any. A
+     * proxy class packaged with the application is found by {@link #getProxyClass()} and is not generated again.
+     */
+    private void dumpProxyClass(ClassFile proxyClassType) {
+        String dumpDirectory = Container.instance().services().get(WeldConfiguration.class).getStringProperty(ConfigurationKey.PROXY_DUMP);
+        if (dumpDirectory.length() == 0) {
+            return;
+        }
+        File file = new File(dumpDirectory, proxyClassType.getName().replace('.', File.separatorChar) + ".class");
+        FileOutputStream out = null;
+        try {
+            file.getParentFile().mkdirs();
+            out = new FileOutputStream(file);
+            out.write(proxyClassType.toBytecode());
+        } catch (IOException e) {
+            log.warn(UNABLE_TO_DUMP_PROXY_CLASS, proxyClassType.getName(), dumpDirectory);
+            xLog.throwing(Level.DEBUG, e);
+        } finally {
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
     private void addDefaultAdditionalInterfaces() {
         additionalInterfaces.add(Serializable.class);
     }
@@ -414,6 +462,9 @@ public class ProxyFactory<T> {
             domain = ProxyFactory.class.getProtectionDomain();
         }
         Class<T> proxyClass = cast(ClassFileUtils.toClass(proxyClassType, classLoader, domain));
+        // only dump a class which was actually defined, a LinkageError means another container defined it already
+        dumpProxyClass(proxyClassType);
+        MetricsSupport.getMetrics(Container.instance().services()).getCounter(MetricGroup.PROXY, getClass().getSimpleName()).increment();
         log.trace("Created Proxy class of type " + proxyClass + " supporting interfaces " + Arrays.toString(proxyClass.getInterfaces()));
         return proxyClass;
     }
@@ -26,6 +26,8 @@ import javax.enterprise.inject.spi.PassivationCapable;
 import org.jboss.weld.Container;
 import org.jboss.weld.exceptions.WeldException;
 import org.jboss.weld.interceptor.util.proxy.TargetInstanceProxy;
+import org.jboss.weld.metrics.BeanInstrumentation;
+import org.jboss.weld.metrics.InvocationTimers;
 import org.jboss.weld.serialization.spi.ContextualStore;
 import org.slf4j.cal10n.LocLogger;
 
@@ -57,6 +59,9 @@ public class ProxyMethodHandler implements MethodHandler, Serializable {
 
     private transient Bean<?> bean;
 
+    // The timers of the invocations of an instrumented bean, not restored after deserialization
+    private final transient InvocationTimers invocationTimers;
+
     public ProxyMethodHandler(BeanInstance beanInstance, Bean<?> bean) {
         this.beanInstance = beanInstance;
         this.bean = bean;
@@ -65,6 +70,11 @@ public class ProxyMethodHandler implements MethodHandler, Serializable {
         } else {
             this.beanId = null;
         }
+        if (beanInstance instanceof ContextBeanInstance<?>) {
+            this.invocationTimers = BeanInstrumentation.of(Container.instance().services()).getClientProxyInvocationTimers(bean);
+        } else {
+            this.invocationTimers = null;
+        }
     }
 
     /* (non-Javadoc)
@@ -79,7 +89,7 @@ public class ProxyMethodHandler implements MethodHandler, Serializable {
             if (beanInstance == null) {
                 throw new WeldException(BEAN_INSTANCE_NOT_SET_ON_PROXY);
             }
-            return beanInstance.getInstance();
+            return getUnwrappedInstance();
         }
         if (traceEnabled) {
             log.trace("MethodHandler processing call to " + thisMethod + " for " + self.getClass());
@@ -89,7 +99,7 @@ public class ProxyMethodHandler implements MethodHandler, Serializable {
                 throw new WeldException(BEAN_INSTANCE_NOT_SET_ON_PROXY, getBean());
             }
             if (thisMethod.getName().equals("getTargetInstance")) {
-                return beanInstance.getInstance();
+                return getUnwrappedInstance();
             } else if (thisMethod.getName().equals("getTargetClass")) {
                 return beanInstance.getInstanceType();
             } else {
@@ -105,7 +115,17 @@ public class ProxyMethodHandler implements MethodHandler, Serializable {
                 throw new WeldException(BEAN_INSTANCE_NOT_SET_ON_PROXY);
             }
             Object instance = beanInstance.getInstance();
-            Object result = beanInstance.invoke(instance, thisMethod, args);
+            Object result;
+            if (invocationTimers == null) {
+                result = beanInstance.invoke(instance, thisMethod, args);
+            } else {
+                long start = System.nanoTime();
+                try {
+                    result = beanInstance.invoke(instance, thisMethod, args);
+                } finally {
+                    invocationTimers.record(thisMethod, System.nanoTime() - start);
+                }
+            }
             // if the method returns this return the proxy instead
             // to prevent the bean instance escaping
             if (result != null && result == instance) {
@@ -115,6 +135,18 @@ public class ProxyMethodHandler implements MethodHandler, Serializable {
         }
     }
 
+    /**
+     * The instance escapes the proxy and no invocation releases it, thus an instance of a pooled bean goes back to the pool
+     * right away.
+     */
+    private Object getUnwrappedInstance() {
+        Object instance = beanInstance.getInstance();
+        if (beanInstance instanceof ContextBeanInstance<?>) {
+            ((ContextBeanInstance<?>) beanInstance).release();
+        }
+        return instance;
+    }
+
     public Bean<?> getBean() {
         if (bean == null) {
             if (beanId == null) {
@@ -81,14 +81,18 @@ public class TargetBeanInstance extends AbstractBeanInstance implements Serializ
     @Override
     public Object invoke(Object instance, Method method, Object... arguments) throws Throwable {
         if (interceptorsHandler != null) {
-            log.trace("Invoking interceptor chain for method " + method.toGenericString() + " on " + instance);
+            if (log.isTraceEnabled()) {
+                log.trace("Invoking interceptor chain for method " + method.toGenericString() + " on " + instance);
+            }
             if (method.getDeclaringClass().isInterface()) {
                 return interceptorsHandler.invoke(instance, method, null, arguments);
             } else {
                 return interceptorsHandler.invoke(instance, method, method, arguments);
             }
         } else {
-            log.trace("Invoking method " + method.toGenericString() + " directly on " + instance);
+            if (log.isTraceEnabled()) {
+                log.trace("Invoking method " + method.toGenericString() + " directly on " + instance);
+            }
             return super.invoke(instance, method, arguments);
         }
     }
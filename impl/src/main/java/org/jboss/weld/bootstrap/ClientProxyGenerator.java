@@ -0,0 +1,151 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bootstrap;
+
+import static org.jboss.weld.logging.Category.BOOTSTRAP;
+import static org.jboss.weld.logging.LoggerFactory.loggerFactory;
+import static org.jboss.weld.logging.messages.BootstrapMessage.CLIENT_PROXY_GENERATION_FAILED;
+import static org.jboss.weld.logging.messages.BootstrapMessage.CLIENT_PROXY_GENERATION_FINISHED;
+
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.InjectionPoint;
+
+import org.jboss.weld.bean.proxy.ClientProxyProvider;
+import org.jboss.weld.executor.IterativeWorkerTaskFactory;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.manager.api.ExecutorServices;
+import org.jboss.weld.util.Beans;
+import org.jboss.weld.util.Proxies;
+import org.slf4j.cal10n.LocLogger;
+import org.slf4j.ext.XLogger;
+import org.slf4j.ext.XLogger.Level;
+
+/**
+ * Creates the client proxies of all enabled normal-scoped beans at the end of validation so that proxy classes are not
+ * generated upon first use, e.g. within the first request. If the bean types of a bean are not proxyable, proxies are
+ * created for the types of the injection points the bean is injected into instead. The proxies are created in parallel if
+ * {@link ExecutorServices} are available.
+ *
+ * <p>
+ * A proxy that cannot be created is reported and left for lazy creation upon first use, which reports the actual problem.
+ * </p>
+ *
+ * @see org.jboss.weld.config.ConfigurationKey#CLIENT_PROXY_PREGENERATION
+ */
+public class ClientProxyGenerator {
+
+    private static final LocLogger log = loggerFactory().getLogger(BOOTSTRAP);
+    private static final XLogger xLog = loggerFactory().getXLogger(BOOTSTRAP);
+
+    private final ExecutorServices executor;
+    private final ClientProxyProvider clientProxyProvider;
+    private final Set<Bean<?>> beans;
+    // the types the normal-scoped beans with unproxyable bean types are injected as
+    private final Map<Bean<?>, Set<Type>> requestedTypes;
+
+    /**
+     * @param executor the executor used for parallel generation, may be null
+     * @param deploymentManager the deployment bean manager
+     */
+    public ClientProxyGenerator(ExecutorServices executor, BeanManagerImpl deploymentManager) {
+        this.executor = executor;
+        this.clientProxyProvider = deploymentManager.getClientProxyProvider();
+        this.beans = new LinkedHashSet<Bean<?>>();
+        this.requestedTypes = new HashMap<Bean<?>, Set<Type>>();
+    }
+
+    /**
+     * Creates the client proxies of the normal-scoped beans of the given bean deployments.
+     */
+    public void generate(Collection<BeanDeployment> beanDeployments) {
+        long start = System.currentTimeMillis();
+        for (BeanDeployment deployment : beanDeployments) {
+            BeanManagerImpl manager = deployment.getBeanManager();
+            SpecializationAndEnablementRegistry registry = manager.getServices().get(SpecializationAndEnablementRegistry.class);
+            for (Bean<?> bean : Beans.removeDisabledAndSpecializedBeans(new HashSet<Bean<?>>(manager.getBeans()), manager, registry)) {
+                if (manager.isNormalScope(bean.getScope()) && beans.add(bean) && !Proxies.isTypesProxyable(bean)) {
+                    requestedTypes.put(bean, new HashSet<Type>());
+                }
+            }
+        }
+        if (beans.isEmpty()) {
+            return;
+        }
+        if (!requestedTypes.isEmpty()) {
+            collectRequestedTypes(beanDeployments);
+        }
+        if (executor == null) {
+            for (Bean<?> bean : beans) {
+                createClientProxies(bean);
+            }
+        } else {
+            executor.invokeAllAndCheckForExceptions(new IterativeWorkerTaskFactory<Bean<?>>(beans) {
+                @Override
+                protected void doWork(Bean<?> bean) {
+                    createClientProxies(bean);
+                }
+            });
+        }
+        log.debug(CLIENT_PROXY_GENERATION_FINISHED, beans.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Resolves the injection points of all the beans and records the requested types of the beans whose bean types are not
+     * proxyable.
+     */
+    private void collectRequestedTypes(Collection<BeanDeployment> beanDeployments) {
+        for (BeanDeployment deployment : beanDeployments) {
+            BeanManagerImpl manager = deployment.getBeanManager();
+            for (Bean<?> bean : manager.getBeans()) {
+                for (InjectionPoint injectionPoint : bean.getInjectionPoints()) {
+                    if (injectionPoint.isDelegate()) {
+                        continue;
+                    }
+                    Bean<?> resolvedBean;
+                    try {
+                        resolvedBean = manager.resolve(manager.getBeans(injectionPoint));
+                    } catch (RuntimeException e) {
+                        continue;
+                    }
+                    Set<Type> types = requestedTypes.get(resolvedBean);
+                    if (types != null) {
+                        types.add(injectionPoint.getType());
+                    }
+                }
+            }
+        }
+    }
+
+    private void createClientProxies(Bean<?> bean) {
+        Set<Type> types = requestedTypes.get(bean);
+        try {
+            clientProxyProvider.createClientProxies(bean, types == null ? Collections.<Type>emptySet() : types);
+        } catch (RuntimeException e) {
+            log.debug(CLIENT_PROXY_GENERATION_FAILED, bean);
+            xLog.throwing(Level.DEBUG, e);
+        }
+    }
+}
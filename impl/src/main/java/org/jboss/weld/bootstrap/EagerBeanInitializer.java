@@ -0,0 +1,313 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bootstrap;
+
+import static org.jboss.weld.logging.Category.BOOTSTRAP;
+import static org.jboss.weld.logging.LoggerFactory.loggerFactory;
+import static org.jboss.weld.logging.messages.BootstrapMessage.BEAN_INITIALIZED_EAGERLY;
+import static org.jboss.weld.logging.messages.BootstrapMessage.EAGER_INITIALIZATION_FAILED;
+import static org.jboss.weld.logging.messages.BootstrapMessage.EAGER_INITIALIZATION_FINISHED;
+import static org.jboss.weld.logging.messages.BootstrapMessage.EAGER_INITIALIZATION_STARTED;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.inject.Instance;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.InjectionPoint;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+
+import org.jboss.weld.bean.AbstractProducerBean;
+import org.jboss.weld.bean.SessionBean;
+import org.jboss.weld.bean.builtin.AbstractBuiltInBean;
+import org.jboss.weld.bean.builtin.ExtensionBean;
+import org.jboss.weld.context.RequestContext;
+import org.jboss.weld.context.unbound.UnboundLiteral;
+import org.jboss.weld.exceptions.DeploymentException;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.manager.api.ExecutorServices;
+import org.jboss.weld.util.Beans;
+import org.jboss.weld.util.reflection.Reflections;
+import org.slf4j.cal10n.LocLogger;
+import org.slf4j.ext.XLogger;
+import org.slf4j.ext.XLogger.Level;
+
+/**
+ * Instantiates {@link ApplicationScoped} and {@link Singleton} beans at the end of bootstrap so that their initialization does
+ * not happen upon first use, e.g. within the first request.
+ *
+ * <p>
+ * The beans are instantiated in the order given by a dependency graph built from the injection points of the beans. A bean is
+ * instantiated once all the beans it depends on are instantiated, either directly or through a {@link Dependent} bean.
+ * Independent beans are instantiated in parallel if {@link ExecutorServices} are available. Dependency cycles, which are
+ * possible with normal-scoped beans, are broken arbitrarily.
+ * </p>
+ *
+ * <p>
+ * A bean that fails to initialize is reported and left for lazy initialization upon first use.
+ * </p>
+ *
+ * @see org.jboss.weld.config.ConfigurationKey#EAGER_INITIALIZATION
+ */
+public class EagerBeanInitializer {
+
+    private static final LocLogger log = loggerFactory().getLogger(BOOTSTRAP);
+    private static final XLogger xLog = loggerFactory().getXLogger(BOOTSTRAP);
+
+    private static class Node {
+
+        private final Bean<?> bean;
+        private final BeanManagerImpl manager;
+        private final List<Node> dependents = new ArrayList<Node>();
+        // the number of dependencies which have not been initialized yet
+        private int remainingDependencies;
+        private boolean scheduled;
+
+        private Node(Bean<?> bean, BeanManagerImpl manager) {
+            this.bean = bean;
+            this.manager = manager;
+        }
+    }
+
+    private final ExecutorServices executor;
+    private final BeanManagerImpl deploymentManager;
+    private final Map<Bean<?>, Node> nodes;
+
+    /**
+     * @param executor the executor used for parallel initialization, may be null
+     * @param deploymentManager the deployment bean manager
+     */
+    public EagerBeanInitializer(ExecutorServices executor, BeanManagerImpl deploymentManager) {
+        this.executor = executor;
+        this.deploymentManager = deploymentManager;
+        this.nodes = new LinkedHashMap<Bean<?>, Node>();
+    }
+
+    /**
+     * Initializes the eligible beans of the given bean deployments.
+     */
+    public void initialize(Collection<BeanDeployment> beanDeployments) {
+        long start = System.currentTimeMillis();
+        for (BeanDeployment deployment : beanDeployments) {
+            BeanManagerImpl manager = deployment.getBeanManager();
+            SpecializationAndEnablementRegistry registry = manager.getServices().get(SpecializationAndEnablementRegistry.class);
+            for (Bean<?> bean : Beans.removeDisabledAndSpecializedBeans(new HashSet<Bean<?>>(manager.getBeans()), manager, registry)) {
+                if (isEligible(bean) && !nodes.containsKey(bean)) {
+                    nodes.put(bean, new Node(bean, manager));
+                }
+            }
+        }
+        if (nodes.isEmpty()) {
+            return;
+        }
+        log.debug(EAGER_INITIALIZATION_STARTED, nodes.size());
+        for (Node node : nodes.values()) {
+            for (Node dependency : getDependencies(node)) {
+                dependency.dependents.add(node);
+                node.remainingDependencies++;
+            }
+        }
+        if (executor == null) {
+            initializeSequentially();
+        } else {
+            initializeConcurrently();
+        }
+        log.info(EAGER_INITIALIZATION_FINISHED, nodes.size(), System.currentTimeMillis() - start);
+    }
+
+    private static boolean isEligible(Bean<?> bean) {
+        if (bean instanceof AbstractBuiltInBean<?> || bean instanceof ExtensionBean || bean instanceof SessionBean<?>) {
+            return false;
+        }
+        return bean.getScope().equals(ApplicationScoped.class) || bean.getScope().equals(Singleton.class);
+    }
+
+    /**
+     * Returns the eligible beans the given bean depends on, either directly or through a chain of dependent beans.
+     */
+    private Set<Node> getDependencies(Node node) {
+        Set<Node> dependencies = new HashSet<Node>();
+        collectDependencies(node.bean, node.manager, dependencies, new HashSet<Bean<?>>());
+        dependencies.remove(node);
+        return dependencies;
+    }
+
+    private void collectDependencies(Bean<?> bean, BeanManagerImpl manager, Set<Node> dependencies, Set<Bean<?>> visited) {
+        if (!visited.add(bean)) {
+            return;
+        }
+        if (bean instanceof AbstractProducerBean<?, ?, ?>) {
+            addDependency(Reflections.<AbstractProducerBean<?, ?, ?>>cast(bean).getDeclaringBean(), manager, dependencies, visited);
+        }
+        for (InjectionPoint injectionPoint : bean.getInjectionPoints()) {
+            if (injectionPoint.isDelegate() || isLazy(injectionPoint)) {
+                continue;
+            }
+            Bean<?> dependency;
+            try {
+                dependency = manager.resolve(manager.getBeans(injectionPoint));
+            } catch (RuntimeException e) {
+                // the dependency does not affect the initialization order
+                continue;
+            }
+            if (dependency != null) {
+                addDependency(dependency, manager, dependencies, visited);
+            }
+        }
+    }
+
+    private void addDependency(Bean<?> dependency, BeanManagerImpl manager, Set<Node> dependencies, Set<Bean<?>> visited) {
+        Node node = nodes.get(dependency);
+        if (node != null) {
+            dependencies.add(node);
+        } else if (dependency.getScope().equals(Dependent.class)) {
+            // a dependent instance is created together with the bean that declares the injection point
+            collectDependencies(dependency, manager, dependencies, visited);
+        }
+    }
+
+    private static boolean isLazy(InjectionPoint injectionPoint) {
+        Class<?> rawType = Reflections.getRawType(injectionPoint.getType());
+        return InjectionPoint.class.equals(rawType) || Instance.class.equals(rawType) || Provider.class.equals(rawType);
+    }
+
+    private void initializeSequentially() {
+        List<Node> ready = new ArrayList<Node>();
+        int initialized = 0;
+        while (initialized < nodes.size()) {
+            collectReadyNodes(ready);
+            for (int i = 0; i < ready.size(); i++) {
+                Node node = ready.get(i);
+                initialize(node);
+                initialized++;
+                for (Node dependent : node.dependents) {
+                    if (--dependent.remainingDependencies == 0 && !dependent.scheduled) {
+                        dependent.scheduled = true;
+                        ready.add(dependent);
+                    }
+                }
+            }
+            ready.clear();
+        }
+    }
+
+    private void initializeConcurrently() {
+        CompletionService<Node> completionService = new ExecutorCompletionService<Node>(executor.getTaskExecutor());
+        List<Node> ready = new ArrayList<Node>();
+        int initialized = 0;
+        int pending = 0;
+        while (initialized < nodes.size()) {
+            if (pending == 0) {
+                collectReadyNodes(ready);
+            }
+            for (Node node : ready) {
+                completionService.submit(createTask(node));
+                pending++;
+            }
+            ready.clear();
+            Node node = take(completionService);
+            pending--;
+            initialized++;
+            for (Node dependent : node.dependents) {
+                if (--dependent.remainingDependencies == 0 && !dependent.scheduled) {
+                    dependent.scheduled = true;
+                    ready.add(dependent);
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects the nodes which are not scheduled yet and whose dependencies are initialized. If there is no such node, a
+     * dependency cycle is broken by picking the unscheduled node with the fewest remaining dependencies.
+     */
+    private void collectReadyNodes(List<Node> ready) {
+        Node candidate = null;
+        for (Node node : nodes.values()) {
+            if (node.scheduled) {
+                continue;
+            }
+            if (node.remainingDependencies == 0) {
+                node.scheduled = true;
+                ready.add(node);
+            } else if (candidate == null || node.remainingDependencies < candidate.remainingDependencies) {
+                candidate = node;
+            }
+        }
+        if (ready.isEmpty() && candidate != null) {
+            candidate.scheduled = true;
+            ready.add(candidate);
+        }
+    }
+
+    private Node take(CompletionService<Node> completionService) {
+        try {
+            return completionService.take().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DeploymentException(e);
+        } catch (ExecutionException e) {
+            // initialize() does not throw exceptions
+            throw new DeploymentException(e.getCause());
+        }
+    }
+
+    private Callable<Node> createTask(final Node node) {
+        return new Callable<Node>() {
+            public Node call() {
+                initialize(node);
+                return node;
+            }
+        };
+    }
+
+    private void initialize(Node node) {
+        long start = System.nanoTime();
+        RequestContext requestContext = deploymentManager.instance().select(RequestContext.class, UnboundLiteral.INSTANCE).get();
+        // beans may use request-scoped beans during initialization
+        boolean activateRequestContext = !requestContext.isActive();
+        try {
+            if (activateRequestContext) {
+                requestContext.activate();
+            }
+            Bean<Object> bean = Reflections.cast(node.bean);
+            node.manager.getContext(bean.getScope()).get(bean, node.manager.createCreationalContext(bean));
+            log.debug(BEAN_INITIALIZED_EAGERLY, bean, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (RuntimeException e) {
+            log.warn(EAGER_INITIALIZATION_FAILED, node.bean);
+            xLog.throwing(Level.WARN, e);
+        } finally {
+            if (activateRequestContext) {
+                requestContext.invalidate();
+                requestContext.deactivate();
+            }
+        }
+    }
+}
@@ -55,6 +55,7 @@ import static org.jboss.weld.logging.messages.ValidatorMessage.NEW_WITH_QUALIFIE
 import static org.jboss.weld.logging.messages.ValidatorMessage.NON_FIELD_INJECTION_POINT_CANNOT_USE_NAMED;
 import static org.jboss.weld.logging.messages.ValidatorMessage.PASSIVATING_BEAN_WITH_NONSERIALIZABLE_DECORATOR;
 import static org.jboss.weld.logging.messages.ValidatorMessage.PASSIVATING_BEAN_WITH_NONSERIALIZABLE_INTERCEPTOR;
+import static org.jboss.weld.logging.messages.ValidatorMessage.POOLED_BEAN_WITH_NON_STATIC_MEMBER;
 import static org.jboss.weld.logging.messages.ValidatorMessage.PSEUDO_SCOPED_BEAN_HAS_CIRCULAR_REFERENCES;
 import static org.jboss.weld.logging.messages.ValidatorMessage.SCOPE_ANNOTATION_ON_INJECTION_POINT;
 import static org.jboss.weld.logging.messages.ValidatorMessage.USER_TRANSACTION_INJECTION_INTO_BEAN_WITH_CONTAINER_MANAGED_TRANSACTIONS;
@@ -103,6 +104,8 @@ import javax.inject.Provider;
 import javax.inject.Scope;
 
 import org.jboss.weld.annotated.enhanced.EnhancedAnnotated;
+import org.jboss.weld.annotated.enhanced.EnhancedAnnotatedField;
+import org.jboss.weld.annotated.enhanced.EnhancedAnnotatedMethod;
 import org.jboss.weld.annotated.enhanced.EnhancedAnnotatedType;
 import org.jboss.weld.bean.AbstractBean;
 import org.jboss.weld.bean.AbstractClassBean;
@@ -125,6 +128,7 @@ import org.jboss.weld.bean.interceptor.CdiInterceptorFactory;
 import org.jboss.weld.bootstrap.api.Service;
 import org.jboss.weld.bootstrap.spi.BeansXml;
 import org.jboss.weld.bootstrap.spi.Metadata;
+import org.jboss.weld.context.pool.Pooled;
 import org.jboss.weld.ejb.EJBApiAbstraction;
 import org.jboss.weld.exceptions.DefinitionException;
 import org.jboss.weld.exceptions.DeploymentException;
@@ -218,6 +222,9 @@ public class Validator implements Service {
             if (classBean.hasInterceptors()) {
                 validateInterceptors(beanManager, classBean);
             }
+            if (classBean.getScope().equals(Pooled.class)) {
+                validatePooledBean(classBean);
+            }
         }
         // for each producer bean validate its disposer method
         if (bean instanceof AbstractProducerBean<?, ?, ?>) {
@@ -237,6 +244,35 @@ public class Validator implements Service {
         }
     }
 
+    /**
+     * The receiver of an observer, producer or disposer method is looked up without a client proxy so it would not be borrowed
+     * from the pool for the invocation. Such members of a pooled bean must therefore be static.
+     */
+    private static void validatePooledBean(AbstractClassBean<?> bean) {
+        EnhancedAnnotatedType<?> annotated = bean.getEnhancedAnnotated();
+        for (EnhancedAnnotatedMethod<?, ?> method : BeanMethods.getObserverMethods(annotated)) {
+            checkPooledBeanMemberIsStatic(bean, method);
+        }
+        while (annotated != null && annotated.getJavaClass() != Object.class) {
+            for (EnhancedAnnotatedMethod<?, ?> method : annotated.getDeclaredEnhancedMethods(Produces.class)) {
+                checkPooledBeanMemberIsStatic(bean, method);
+            }
+            for (EnhancedAnnotatedField<?, ?> field : annotated.getDeclaredEnhancedFields(Produces.class)) {
+                checkPooledBeanMemberIsStatic(bean, field);
+            }
+            for (EnhancedAnnotatedMethod<?, ?> method : annotated.getDeclaredEnhancedMethodsWithAnnotatedParameters(Disposes.class)) {
+                checkPooledBeanMemberIsStatic(bean, method);
+            }
+            annotated = annotated.getEnhancedSuperclass();
+        }
+    }
+
+    private static void checkPooledBeanMemberIsStatic(AbstractClassBean<?> bean, EnhancedAnnotated<?, ?> member) {
+        if (!member.isStatic()) {
+            throw new DefinitionException(POOLED_BEAN_WITH_NON_STATIC_MEMBER, bean, member);
+        }
+    }
+
     private void validateInterceptors(BeanManagerImpl beanManager, AbstractClassBean<?> classBean) {
         InterceptionModel<ClassMetadata<?>, ?> interceptionModel = beanManager.getInterceptorModelRegistry().get(classBean.getType());
         if (interceptionModel != null) {
@@ -60,6 +60,7 @@ import org.jboss.weld.bean.RIBean;
 import org.jboss.weld.bean.builtin.BeanManagerBean;
 import org.jboss.weld.bean.builtin.BeanManagerImplBean;
 import org.jboss.weld.bean.builtin.ContextBean;
+import org.jboss.weld.bean.proxy.ProxyClassRegistry;
 import org.jboss.weld.bean.proxy.util.SimpleProxyServices;
 import org.jboss.weld.bootstrap.api.Bootstrap;
 import org.jboss.weld.bootstrap.api.CDI11Bootstrap;
@@ -85,6 +86,8 @@ import org.jboss.weld.bootstrap.spi.CDI11Deployment;
 import org.jboss.weld.bootstrap.spi.Deployment;
 import org.jboss.weld.bootstrap.spi.Metadata;
 import org.jboss.weld.bootstrap.spi.helpers.FileBasedBootstrapConfiguration;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.config.WeldConfiguration;
 import org.jboss.weld.context.ApplicationContext;
 import org.jboss.weld.context.DependentContext;
 import org.jboss.weld.context.RequestContext;
@@ -106,6 +109,7 @@ import org.jboss.weld.context.http.HttpRequestContext;
 import org.jboss.weld.context.http.HttpRequestContextImpl;
 import org.jboss.weld.context.http.HttpSessionContext;
 import org.jboss.weld.context.http.HttpSessionContextImpl;
+import org.jboss.weld.context.pool.PooledContext;
 import org.jboss.weld.context.unbound.ApplicationContextImpl;
 import org.jboss.weld.context.unbound.DependentContextImpl;
 import org.jboss.weld.context.unbound.RequestContextImpl;
@@ -122,9 +126,16 @@ import org.jboss.weld.injection.producer.InjectionTargetService;
 import org.jboss.weld.logging.messages.VersionMessage;
 import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.manager.BeanManagerLookupService;
+import org.jboss.weld.manager.BeanManagers;
 import org.jboss.weld.manager.api.ExecutorServices;
 import org.jboss.weld.metadata.TypeStore;
 import org.jboss.weld.metadata.cache.MetaAnnotationStore;
+import org.jboss.weld.metrics.BeanInstrumentation;
+import org.jboss.weld.metrics.ContentionDiagnostics;
+import org.jboss.weld.metrics.JmxMetrics;
+import org.jboss.weld.metrics.Metrics;
+import org.jboss.weld.metrics.MetricsSupport;
+import org.jboss.weld.metrics.NoopMetrics;
 import org.jboss.weld.resources.ClassTransformer;
 import org.jboss.weld.resources.DefaultResourceLoader;
 import org.jboss.weld.resources.MemberTransformer;
@@ -344,6 +355,10 @@ public class WeldBootstrap implements CDI11Bootstrap {
             deploymentServices.add(SpecializationAndEnablementRegistry.class, registry.get(SpecializationAndEnablementRegistry.class));
             deploymentServices.add(ReflectionCache.class, registry.get(ReflectionCache.class));
             deploymentServices.add(GlobalEnablementBuilder.class, registry.get(GlobalEnablementBuilder.class));
+            deploymentServices.add(WeldConfiguration.class, registry.get(WeldConfiguration.class));
+            deploymentServices.add(Metrics.class, registry.get(Metrics.class));
+            deploymentServices.add(BeanInstrumentation.class, registry.get(BeanInstrumentation.class));
+            deploymentServices.add(ContentionDiagnostics.class, registry.get(ContentionDiagnostics.class));
 
             this.environment = environment;
             this.deploymentManager = BeanManagerImpl.newRootManager("deployment", deploymentServices);
@@ -381,10 +396,24 @@ public class WeldBootstrap implements CDI11Bootstrap {
         services.add(MemberTransformer.class, new MemberTransformer(services.get(ClassTransformer.class)));
         services.add(MetaAnnotationStore.class, new MetaAnnotationStore(services.get(ClassTransformer.class)));
         services.add(ContextualStore.class, new ContextualStoreImpl());
+        services.add(ProxyClassRegistry.class, new ProxyClassRegistry());
         services.add(CurrentInjectionPoint.class, new CurrentInjectionPoint());
         services.add(SLSBInvocationInjectionPoint.class, new SLSBInvocationInjectionPoint());
         services.add(SpecializationAndEnablementRegistry.class, new SpecializationAndEnablementRegistry());
 
+        services.add(WeldConfiguration.class, new WeldConfiguration(DefaultResourceLoader.INSTANCE));
+
+        if (!services.contains(Metrics.class)) {
+            if (services.get(WeldConfiguration.class).getBooleanProperty(ConfigurationKey.METRICS)) {
+                services.add(Metrics.class, new JmxMetrics());
+            } else {
+                services.add(Metrics.class, NoopMetrics.INSTANCE);
+            }
+        }
+        services.add(BeanInstrumentation.class, new BeanInstrumentation(services.get(Metrics.class), services.get(WeldConfiguration.class).getStringProperty(ConfigurationKey.INSTRUMENTATION)));
+        services.add(ContentionDiagnostics.class, new ContentionDiagnostics(services.get(Metrics.class), services.get(WeldConfiguration.class).getLongProperty(ConfigurationKey.SLOW_CREATION_THRESHOLD),
+                services.get(WeldConfiguration.class).getLongProperty(ConfigurationKey.LOCK_WAIT_THRESHOLD)));
+
         GlobalObserverNotifierService observerNotificationService = new GlobalObserverNotifierService(services);
         services.add(GlobalObserverNotifierService.class, observerNotificationService);
 
@@ -530,6 +559,9 @@ public class WeldBootstrap implements CDI11Bootstrap {
             }
             Container.instance().setState(ContainerState.VALIDATED);
             AfterDeploymentValidationImpl.fire(deploymentManager);
+            if (deploymentManager.getServices().get(WeldConfiguration.class).getBooleanProperty(ConfigurationKey.CLIENT_PROXY_PREGENERATION)) {
+                new ClientProxyGenerator(deployment.getServices().get(ExecutorServices.class), deploymentManager).generate(beanDeployments.values());
+            }
         }
         return this;
     }
@@ -576,7 +608,17 @@ public class WeldBootstrap implements CDI11Bootstrap {
             for (BeanDeployment deployment : beanDeployments.values()) {
                 deployment.getBeanDeployer().cleanup();
             }
+            // the graph of accessible managers is complete, the accessible beans, observers, interceptors and decorators can be materialized
+            List<BeanManagerImpl> beanManagers = new ArrayList<BeanManagerImpl>(beanDeployments.size() + 1);
+            beanManagers.add(deploymentManager);
+            for (BeanDeployment deployment : beanDeployments.values()) {
+                beanManagers.add(deployment.getBeanManager());
+            }
+            BeanManagers.freezeAccessibleClosures(beanManagers);
             Container.instance().setState(ContainerState.INITIALIZED);
+            if (deploymentManager.getServices().get(WeldConfiguration.class).getBooleanProperty(ConfigurationKey.EAGER_INITIALIZATION)) {
+                new EagerBeanInitializer(deployment.getServices().get(ExecutorServices.class), deploymentManager).initialize(beanDeployments.values());
+            }
             return this;
         }
     }
@@ -595,7 +637,10 @@ public class WeldBootstrap implements CDI11Bootstrap {
         contexts.add(new ContextHolder<BoundConversationContext>(new BoundConversationContextImpl(), BoundConversationContext.class, BoundLiteral.INSTANCE));
         contexts.add(new ContextHolder<BoundRequestContext>(new BoundRequestContextImpl(), BoundRequestContext.class, BoundLiteral.INSTANCE));
         contexts.add(new ContextHolder<RequestContext>(new RequestContextImpl(), RequestContext.class, UnboundLiteral.INSTANCE));
-        contexts.add(new ContextHolder<DependentContext>(new DependentContextImpl(services.get(ContextualStore.class)), DependentContext.class, UnboundLiteral.INSTANCE));
+        contexts.add(new ContextHolder<DependentContext>(new DependentContextImpl(services.get(ContextualStore.class), MetricsSupport.getMetrics(services)), DependentContext.class, UnboundLiteral.INSTANCE));
+        WeldConfiguration configuration = services.get(WeldConfiguration.class);
+        contexts.add(new ContextHolder<PooledContext>(new PooledContext(configuration.getIntegerProperty(ConfigurationKey.POOL_MAX_SIZE),
+                configuration.getLongProperty(ConfigurationKey.POOL_MAX_IDLE_TIME)), PooledContext.class, UnboundLiteral.INSTANCE));
 
         if (Reflections.isClassLoadable(ServletApi.SERVLET_CONTEXT_CLASS_NAME, WeldClassLoaderResourceLoader.INSTANCE)) {
             // Register the Http contexts if not in
@@ -628,6 +673,7 @@ public class WeldBootstrap implements CDI11Bootstrap {
             try {
                 // First, the container must destroy all contexts.
                 deploymentManager.instance().select(ApplicationContext.class).get().invalidate();
+                deploymentManager.instance().select(PooledContext.class).get().invalidate();
             } finally {
                 try {
                     // Finally, the container must fire an event of type BeforeShutdown.
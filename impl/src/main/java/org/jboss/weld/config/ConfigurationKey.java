@@ -0,0 +1,103 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.config;
+
+/**
+ * Configuration keys of the optional, performance-related features of Weld. Each key holds a default value which determines the
+ * type of the configured value. See {@link WeldConfiguration} for how the values are supplied.
+ */
+public enum ConfigurationKey {
+
+    /**
+     * Use generated classes for field injection, initializer method and lifecycle callback invocation instead of reflection.
+     */
+    GENERATED_INJECTORS("org.jboss.weld.injection.generatedInjectors", false),
+
+    /**
+     * Instantiate {@link javax.enterprise.context.ApplicationScoped} and {@link javax.inject.Singleton} beans at the end of
+     * bootstrap instead of upon first use.
+     */
+    EAGER_INITIALIZATION("org.jboss.weld.bootstrap.eagerInitialization", false),
+
+    /**
+     * Create the client proxies of normal-scoped beans during bootstrap instead of upon first use.
+     */
+    CLIENT_PROXY_PREGENERATION("org.jboss.weld.bootstrap.clientProxyPregeneration", false),
+
+    /**
+     * The maximum number of idle instances kept in the pool of a {@link org.jboss.weld.context.pool.Pooled} bean.
+     */
+    POOL_MAX_SIZE("org.jboss.weld.context.pool.maxSize", 32),
+
+    /**
+     * The time in milliseconds after which an idle instance of a {@link org.jboss.weld.context.pool.Pooled} bean is
+     * destroyed. 0 means idle instances are never destroyed.
+     */
+    POOL_MAX_IDLE_TIME("org.jboss.weld.context.pool.maxIdleTime", 60000L),
+
+    /**
+     * The directory the bytecode of generated proxy classes is written to. Classes written there may be packaged with the
+     * application so that they are loaded instead of being generated at runtime. Empty means proxy classes are not written.
+     */
+    PROXY_DUMP("org.jboss.weld.proxy.dump", ""),
+
+    /**
+     * Collect runtime metrics and expose them through JMX.
+     */
+    METRICS("org.jboss.weld.metrics.enabled", false),
+
+    /**
+     * A comma-separated list of selectors of the beans whose method invocations and instance creation are timed. Requires
+     * {@link #METRICS}. Empty means no bean is instrumented.
+     *
+     * @see org.jboss.weld.metrics.BeanInstrumentation
+     */
+    INSTRUMENTATION("org.jboss.weld.instrumentation", ""),
+
+    /**
+     * The time in milliseconds from which the creation of a contextual instance is logged as slow. 0 means creation is not
+     * logged.
+     *
+     * @see org.jboss.weld.metrics.ContentionDiagnostics
+     */
+    SLOW_CREATION_THRESHOLD("org.jboss.weld.diagnostics.slowCreationThreshold", 0L),
+
+    /**
+     * The time in milliseconds from which a wait for the lock on a contextual instance being created or on a long-running
+     * conversation is logged. 0 means waits are not logged.
+     *
+     * @see org.jboss.weld.metrics.ContentionDiagnostics
+     */
+    LOCK_WAIT_THRESHOLD("org.jboss.weld.diagnostics.lockWaitThreshold", 0L),
+    ;
+
+    private final String key;
+    private final Object defaultValue;
+
+    ConfigurationKey(String key, Object defaultValue) {
+        this.key = key;
+        this.defaultValue = defaultValue;
+    }
+
+    public String get() {
+        return key;
+    }
+
+    public Object getDefaultValue() {
+        return defaultValue;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.config;
+
+import static org.jboss.weld.logging.messages.BootstrapMessage.INVALID_PROPERTY_TYPE;
+import static org.jboss.weld.logging.messages.BootstrapMessage.INVALID_PROPERTY_VALUE;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.security.AccessController;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.exceptions.DeploymentException;
+import org.jboss.weld.exceptions.IllegalArgumentException;
+import org.jboss.weld.resources.spi.ResourceLoader;
+import org.jboss.weld.resources.spi.ResourceLoadingException;
+import org.jboss.weld.security.GetSystemPropertyAction;
+import org.jboss.weld.util.reflection.Reflections;
+
+/**
+ * Holds the values of {@link ConfigurationKey}s. A value is read from a system property of the same name first. If there is no
+ * such system property, the value is read from the {@value #CONFIGURATION_FILE} file. Otherwise, the default value of the key is
+ * used.
+ */
+public class WeldConfiguration implements Service {
+
+    public static final String CONFIGURATION_FILE = "org.jboss.weld.properties";
+
+    private final Map<ConfigurationKey, Object> properties;
+
+    public WeldConfiguration(ResourceLoader loader) {
+        Properties fileProperties = loadProperties(loader.getResource(CONFIGURATION_FILE));
+        this.properties = new EnumMap<ConfigurationKey, Object>(ConfigurationKey.class);
+        for (ConfigurationKey key : ConfigurationKey.values()) {
+            String value = AccessController.doPrivileged(new GetSystemPropertyAction(key.get()));
+            if (value == null && fileProperties != null) {
+                value = fileProperties.getProperty(key.get());
+            }
+            properties.put(key, value == null ? key.getDefaultValue() : parseValue(key, value.trim()));
+        }
+    }
+
+    public boolean getBooleanProperty(ConfigurationKey key) {
+        return getProperty(key, Boolean.class);
+    }
+
+    public int getIntegerProperty(ConfigurationKey key) {
+        return getProperty(key, Integer.class);
+    }
+
+    public long getLongProperty(ConfigurationKey key) {
+        return getProperty(key, Long.class);
+    }
+
+    public String getStringProperty(ConfigurationKey key) {
+        return getProperty(key, String.class);
+    }
+
+    private <T> T getProperty(ConfigurationKey key, Class<T> requiredType) {
+        Object value = properties.get(key);
+        if (!requiredType.isInstance(value)) {
+            throw new IllegalArgumentException(INVALID_PROPERTY_TYPE, key.get(), requiredType.getName());
+        }
+        return Reflections.<T>cast(value);
+    }
+
+    private static Object parseValue(ConfigurationKey key, String value) {
+        Object defaultValue = key.getDefaultValue();
+        try {
+            if (defaultValue instanceof Boolean) {
+                return Boolean.valueOf(value);
+            } else if (defaultValue instanceof Integer) {
+                return Integer.valueOf(value);
+            } else if (defaultValue instanceof Long) {
+                return Long.valueOf(value);
+            } else {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            throw new DeploymentException(INVALID_PROPERTY_VALUE, key.get(), value);
+        }
+    }
+
+    private static Properties loadProperties(URL url) {
+        if (url == null) {
+            return null;
+        }
+        Properties properties = new Properties();
+        InputStream stream = null;
+        try {
+            stream = url.openStream();
+            properties.load(stream);
+        } catch (IOException e) {
+            throw new ResourceLoadingException(e);
+        } finally {
+            if (stream != null) {
+                try {
+                    stream.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+        return properties;
+    }
+
+    @Override
+    public void cleanup() {
+    }
+}
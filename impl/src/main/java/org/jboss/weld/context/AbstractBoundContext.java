@@ -16,6 +16,7 @@
  */
 package org.jboss.weld.context;
 
+import org.jboss.weld.context.beanstore.BeanStore;
 import org.jboss.weld.context.beanstore.BoundBeanStore;
 
 /**
@@ -54,6 +55,11 @@ public abstract class AbstractBoundContext<S> extends AbstractManagedContext imp
         }
     }
 
+    @Override
+    void attachBeanStore(BeanStore beanStore) {
+        setBeanStore((BoundBeanStore) beanStore);
+    }
+
     @Override
     public void cleanup() {
         super.cleanup();
@@ -33,9 +33,13 @@ import org.jboss.weld.bootstrap.api.ServiceRegistry;
 import org.jboss.weld.context.api.ContextualInstance;
 import org.jboss.weld.context.beanstore.BeanStore;
 import org.jboss.weld.context.beanstore.LockedBean;
+import org.jboss.weld.context.beanstore.SynchronizedBeanStore;
 import org.jboss.weld.context.cache.RequestScopedBeanCache;
 import org.jboss.weld.exceptions.IllegalArgumentException;
 import org.jboss.weld.exceptions.IllegalStateException;
+import org.jboss.weld.metrics.ContentionDiagnostics;
+import org.jboss.weld.metrics.Metrics;
+import org.jboss.weld.metrics.MetricsSupport;
 import org.jboss.weld.serialization.spi.ContextualStore;
 import org.slf4j.cal10n.LocLogger;
 
@@ -58,6 +62,10 @@ public abstract class AbstractContext implements AlterableContext {
 
     private final ServiceRegistry serviceRegistry;
 
+    private final Metrics metrics;
+
+    private final ContentionDiagnostics diagnostics;
+
     /**
      * Constructor
      *
@@ -65,6 +73,8 @@ public abstract class AbstractContext implements AlterableContext {
     public AbstractContext(boolean multithreaded) {
         this.multithreaded = multithreaded;
         this.serviceRegistry = Container.instance().services();
+        this.metrics = MetricsSupport.getMetrics(serviceRegistry);
+        this.diagnostics = ContentionDiagnostics.of(serviceRegistry);
     }
 
     /**
@@ -92,18 +102,30 @@ public abstract class AbstractContext implements AlterableContext {
             return beanInstance.getInstance();
         } else if (creationalContext != null) {
             LockedBean lock = null;
+            boolean diagnosed = diagnostics.isEnabled();
             try {
-                if (multithreaded) {
+                // a synchronized bean store is shared by several threads even if the context is not
+                if (multithreaded || beanStore instanceof SynchronizedBeanStore) {
+                    long start = diagnosed ? System.nanoTime() : 0L;
                     lock = beanStore.lock(id);
+                    if (diagnosed) {
+                        diagnostics.creationLockAcquired(contextual, System.nanoTime() - start);
+                    }
                     beanInstance = beanStore.get(id);
                     if (beanInstance != null) {
                         return beanInstance.getInstance();
                     }
                 }
+                boolean timed = diagnostics.isCreationTimed();
+                long start = timed ? System.nanoTime() : 0L;
                 T instance = contextual.create(creationalContext);
+                if (timed) {
+                    diagnostics.instanceCreated(contextual, System.nanoTime() - start);
+                }
                 if (instance != null) {
                     beanInstance = new SerializableContextualInstanceImpl<Contextual<T>, T>(contextual, instance, creationalContext, serviceRegistry.get(ContextualStore.class));
                     beanStore.put(id, beanInstance);
+                    MetricsSupport.instanceCreated(metrics, getScope(), contextual);
                 }
                 return instance;
             } finally {
@@ -148,7 +170,9 @@ public abstract class AbstractContext implements AlterableContext {
 
     private <T> void destroyContextualInstance(ContextualInstance<T> instance) {
         instance.getContextual().destroy(instance.getInstance(), instance.getCreationalContext());
-        log.trace(CONTEXTUAL_INSTANCE_REMOVED, instance, this);
+        if (log.isTraceEnabled()) {
+            log.trace(CONTEXTUAL_INSTANCE_REMOVED, instance, this);
+        }
     }
 
     /**
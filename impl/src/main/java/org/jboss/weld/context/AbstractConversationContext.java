@@ -47,6 +47,11 @@ import org.jboss.weld.context.conversation.ConversationImpl;
 import org.jboss.weld.literal.DestroyedLiteral;
 import org.jboss.weld.logging.messages.ConversationMessage;
 import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.metrics.ContentionDiagnostics;
+import org.jboss.weld.metrics.Counter;
+import org.jboss.weld.metrics.MetricGroup;
+import org.jboss.weld.metrics.Metrics;
+import org.jboss.weld.metrics.MetricsSupport;
 
 
 /**
@@ -76,6 +81,11 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
 
     private final BeanManagerImpl manager;
 
+    private final Counter startedConversations;
+    private final Counter destroyedConversations;
+    private final Counter expiredConversations;
+    private final ContentionDiagnostics diagnostics;
+
     public AbstractConversationContext() {
         super(true);
         this.parameterName = new AtomicReference<String>(PARAMETER_NAME);
@@ -84,6 +94,11 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
         this.associated = new ThreadLocal<R>();
         this.manager = Container.instance().deploymentManager();
         this.conversationContexts = manager.instance().select(ConversationContext.class);
+        Metrics metrics = MetricsSupport.getMetrics(manager.getServices());
+        this.startedConversations = metrics.getCounter(MetricGroup.CONVERSATION, "started");
+        this.destroyedConversations = metrics.getCounter(MetricGroup.CONVERSATION, "destroyed");
+        this.expiredConversations = metrics.getCounter(MetricGroup.CONVERSATION, "expired");
+        this.diagnostics = ContentionDiagnostics.of(manager.getServices());
     }
 
     public String getParameterName() {
@@ -210,10 +225,18 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
             if (cid != null && !cid.isEmpty()) {
                 ManagedConversation conversation = getConversation(cid);
                 if (conversation != null) {
+                    boolean diagnosed = diagnostics.isEnabled();
+                    long start = diagnosed ? System.nanoTime() : 0L;
                     boolean lock = conversation.lock(getConcurrentAccessTimeout());
+                    if (diagnosed) {
+                        diagnostics.conversationLockWaited(cid, System.nanoTime() - start);
+                    }
                     if (lock) {
                         associateRequest(cid);
                     } else {
+                        if (diagnosed) {
+                            diagnostics.conversationBusy();
+                        }
                         // Associate the request with a new transient conversation
                         associateRequest();
                         throw new BusyConversationException(ConversationMessage.CONVERSATION_LOCK_TIMEDOUT, cid);
@@ -261,6 +284,7 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
                         getBeanStore().attach();
 
                         getConversationMap().put(getCurrentConversation().getId(), getCurrentConversation());
+                        startedConversations.increment();
                     }
                 } finally {
                     getCurrentConversation().unlock();
@@ -288,6 +312,7 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
         for (ManagedConversation conversation : getConversations()) {
             if (isExpired(conversation)) {
                 if (!conversation.isTransient()) {
+                    expiredConversations.increment();
                     conversation.end();
                 }
             }
@@ -349,6 +374,7 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
             getBeanStore().detach();
             setBeanStore(null);
             manager.getGlobalLenientObserverNotifier().fireEvent(id, DestroyedLiteral.CONVERSATION);
+            destroyedConversations.increment();
         }
     }
 
@@ -2,16 +2,23 @@ package org.jboss.weld.context;
 
 import static java.lang.Boolean.FALSE;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.jboss.weld.context.beanstore.BeanStore;
+
 public abstract class AbstractManagedContext extends AbstractContext implements ManagedContext {
 
     private final ThreadLocal<Boolean> active;
     private final ThreadLocal<Boolean> valid;
+    // indexes which record the contexts active on the current thread
+    private final List<ActiveContextIndex> indexes;
 
     public AbstractManagedContext(boolean multithreaded) {
         super(multithreaded);
         this.active = new ThreadLocal<Boolean>();
         this.valid = new ThreadLocal<Boolean>();
-
+        this.indexes = new CopyOnWriteArrayList<ActiveContextIndex>();
     }
 
     public boolean isActive() {
@@ -21,6 +28,17 @@ public abstract class AbstractManagedContext extends AbstractContext implements
 
     protected void setActive(boolean active) {
         this.active.set(active);
+        updateIndexes();
+    }
+
+    void addActiveContextIndex(ActiveContextIndex index) {
+        indexes.add(index);
+    }
+
+    private void updateIndexes() {
+        for (ActiveContextIndex index : indexes) {
+            index.update(this);
+        }
     }
 
     public void invalidate() {
@@ -41,6 +59,7 @@ public abstract class AbstractManagedContext extends AbstractContext implements
             destroy();
         }
         active.remove();
+        updateIndexes();
     }
 
     @Override
@@ -48,6 +67,41 @@ public abstract class AbstractManagedContext extends AbstractContext implements
         super.cleanup();
         active.remove();
         valid.remove();
+        updateIndexes();
     }
 
+    /**
+     * Activates the context on the current thread using a bean store captured on another thread. The regular activation
+     * logic of the context is bypassed.
+     *
+     * @see ContextSnapshot
+     */
+    void attach(BeanStore beanStore) {
+        attachBeanStore(beanStore);
+        setActive(true);
+    }
+
+    /**
+     * Deactivates the context on the current thread after {@link #attach(BeanStore)}.
+     *
+     * @param destroyInstances whether the instances in the attached bean store are destroyed
+     */
+    void detach(boolean destroyInstances) {
+        try {
+            if (destroyInstances) {
+                destroy();
+            }
+        } finally {
+            attachBeanStore(null);
+            active.remove();
+            valid.remove();
+            updateIndexes();
+        }
+    }
+
+    /**
+     * Sets the bean store of the current thread, removing it if null.
+     */
+    abstract void attachBeanStore(BeanStore beanStore);
+
 }
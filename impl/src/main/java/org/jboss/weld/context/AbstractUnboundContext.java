@@ -50,6 +50,15 @@ public abstract class AbstractUnboundContext extends AbstractManagedContext {
         this.beanStore.set(beanStore);
     }
 
+    @Override
+    void attachBeanStore(BeanStore beanStore) {
+        if (beanStore == null) {
+            this.beanStore.remove();
+        } else {
+            this.beanStore.set(beanStore);
+        }
+    }
+
     @Override
     protected void destroy() {
         super.destroy();
@@ -0,0 +1,225 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.context;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.ConversationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
+import javax.enterprise.context.spi.Context;
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.inject.Singleton;
+
+import org.jboss.weld.context.unbound.DependentContextImpl;
+
+/**
+ * Fast lookup of the active context of a built-in scope. Each built-in scope has a fixed slot. For the normal scopes whose
+ * contexts are activated per thread, the context active on the current thread is recorded in a per-thread array whenever an
+ * {@link AbstractManagedContext} is activated or deactivated. The context of a scope which is always active (application,
+ * singleton, dependent) is held by the slot itself.
+ *
+ * <p>
+ * A scope is only indexed as long as all the contexts registered for the scope are known to Weld. If an unknown context (e.g.
+ * a context registered by an extension) is registered for a scope, or if multiple contexts of a scope are active at the same
+ * time, the index cannot answer and the caller needs to iterate over the registered contexts.
+ * </p>
+ *
+ * @see org.jboss.weld.manager.BeanManagerImpl#getContext(Class)
+ */
+public class ActiveContextIndex {
+
+    /**
+     * Returned by {@link #getActiveContext(Class)} if the index cannot tell which context is active.
+     */
+    public static final Context UNKNOWN = new Context() {
+
+        public Class<? extends Annotation> getScope() {
+            throw new UnsupportedOperationException();
+        }
+
+        public <T> T get(Contextual<T> contextual, CreationalContext<T> creationalContext) {
+            throw new UnsupportedOperationException();
+        }
+
+        public <T> T get(Contextual<T> contextual) {
+            throw new UnsupportedOperationException();
+        }
+
+        public boolean isActive() {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    private static final int REQUEST = 0;
+    private static final int SESSION = 1;
+    private static final int CONVERSATION = 2;
+    private static final int APPLICATION = 3;
+    private static final int SINGLETON = 4;
+    private static final int DEPENDENT = 5;
+    private static final int SLOTS = 6;
+
+    private static int getSlot(Class<? extends Annotation> scope) {
+        if (scope == RequestScoped.class) {
+            return REQUEST;
+        } else if (scope == SessionScoped.class) {
+            return SESSION;
+        } else if (scope == ConversationScoped.class) {
+            return CONVERSATION;
+        } else if (scope == ApplicationScoped.class) {
+            return APPLICATION;
+        } else if (scope == Singleton.class) {
+            return SINGLETON;
+        } else if (scope == Dependent.class) {
+            return DEPENDENT;
+        }
+        return -1;
+    }
+
+    private static class Registration {
+
+        private final AbstractManagedContext context;
+        // the context as registered with the bean manager, possibly wrapped
+        private final Context registeredContext;
+
+        private Registration(AbstractManagedContext context, Context registeredContext) {
+            this.context = context;
+            this.registeredContext = registeredContext;
+        }
+    }
+
+    private static class Slot {
+
+        private final List<Registration> managedContexts = new CopyOnWriteArrayList<Registration>();
+        private volatile Context alwaysActiveContext;
+        private volatile boolean indexed = true;
+    }
+
+    private final Slot[] slots;
+    private final ThreadLocal<Context[]> activeContexts;
+
+    public ActiveContextIndex() {
+        this.slots = new Slot[SLOTS];
+        for (int i = 0; i < SLOTS; i++) {
+            slots[i] = new Slot();
+        }
+        this.activeContexts = new ThreadLocal<Context[]>();
+    }
+
+    /**
+     * Registers a context.
+     *
+     * @param context the context
+     * @param registeredContext the context as registered with the bean manager, may be a wrapper of the given context
+     */
+    public void register(Context context, Context registeredContext) {
+        int index = getSlot(context.getScope());
+        if (index < 0) {
+            return;
+        }
+        Slot slot = slots[index];
+        if (context instanceof AbstractManagedContext) {
+            AbstractManagedContext managedContext = (AbstractManagedContext) context;
+            slot.managedContexts.add(new Registration(managedContext, registeredContext));
+            managedContext.addActiveContextIndex(this);
+            if (slot.alwaysActiveContext != null) {
+                slot.indexed = false;
+            }
+        } else if ((context instanceof AbstractSharedContext || context instanceof DependentContextImpl) && slot.alwaysActiveContext == null && slot.managedContexts.isEmpty()) {
+            slot.alwaysActiveContext = registeredContext;
+        } else {
+            slot.indexed = false;
+        }
+    }
+
+    /**
+     * Returns the active context for the given scope.
+     *
+     * @return the active context, null if there is no active context or {@link #UNKNOWN} if the index cannot tell
+     */
+    public Context getActiveContext(Class<? extends Annotation> scope) {
+        int index = getSlot(scope);
+        if (index < 0) {
+            return UNKNOWN;
+        }
+        Slot slot = slots[index];
+        if (!slot.indexed) {
+            return UNKNOWN;
+        }
+        if (slot.alwaysActiveContext != null) {
+            return slot.alwaysActiveContext;
+        }
+        Context[] activeContexts = this.activeContexts.get();
+        if (activeContexts == null) {
+            return null;
+        }
+        return activeContexts[index];
+    }
+
+    /**
+     * Updates the record of the active contexts of the current thread. Called by a managed context whenever it is activated or
+     * deactivated on the current thread.
+     */
+    void update(AbstractManagedContext context) {
+        int index = getSlot(context.getScope());
+        if (index < 0) {
+            return;
+        }
+        Context activeContext = null;
+        for (Registration registration : slots[index].managedContexts) {
+            if (registration.context.isActive()) {
+                // multiple active contexts are reported by the caller when iterating over the registered contexts
+                activeContext = (activeContext == null) ? registration.registeredContext : UNKNOWN;
+            }
+        }
+        Context[] activeContexts = this.activeContexts.get();
+        if (activeContexts == null) {
+            if (activeContext == null) {
+                return;
+            }
+            activeContexts = new Context[SLOTS];
+            this.activeContexts.set(activeContexts);
+        }
+        activeContexts[index] = activeContext;
+        if (activeContext == null && isEmpty(activeContexts)) {
+            // do not keep the contexts reachable from a pooled thread
+            this.activeContexts.remove();
+        }
+    }
+
+    private static boolean isEmpty(Context[] activeContexts) {
+        for (Context context : activeContexts) {
+            if (context != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void clear() {
+        for (Slot slot : slots) {
+            slot.managedContexts.clear();
+            slot.alwaysActiveContext = null;
+            slot.indexed = true;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.context;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.inject.spi.BeanManager;
+
+/**
+ * An {@link ExecutorService} which runs each task with the request, session and conversation contexts that were active on
+ * the thread submitting the task. The contexts are captured when the task is submitted, tasks submitted through
+ * {@link #submit(java.util.concurrent.Callable)}, {@link #invokeAll(java.util.Collection)} and the like are handed to
+ * {@link #execute(Runnable)} on the submitting thread.
+ *
+ * @see ContextSnapshot
+ */
+public class ContextPropagatingExecutorService extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+    private final BeanManager manager;
+    private final boolean shared;
+
+    /**
+     * @param delegate the executor service running the tasks
+     * @param manager the bean manager
+     * @param shared whether instances created by tasks are added to the bean stores of the submitting thread
+     */
+    public ContextPropagatingExecutorService(ExecutorService delegate, BeanManager manager, boolean shared) {
+        this.delegate = delegate;
+        this.manager = manager;
+        this.shared = shared;
+    }
+
+    public void execute(Runnable command) {
+        delegate.execute(ContextSnapshot.capture(manager, shared).wrap(command));
+    }
+
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
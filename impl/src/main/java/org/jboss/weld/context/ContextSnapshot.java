@@ -0,0 +1,209 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.context;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import javax.enterprise.context.ConversationScoped;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
+import javax.enterprise.context.spi.Context;
+import javax.enterprise.inject.spi.BeanManager;
+
+import org.jboss.weld.bean.builtin.BeanManagerProxy;
+import org.jboss.weld.context.beanstore.BeanStore;
+import org.jboss.weld.context.beanstore.OverlayBeanStore;
+import org.jboss.weld.context.beanstore.SynchronizedBeanStore;
+import org.jboss.weld.manager.BeanManagerImpl;
+
+/**
+ * Captures the bean stores of the request, session and conversation contexts active on the current thread so that the
+ * contextual instances can be used by tasks running on other threads.
+ *
+ * <p>
+ * A task run through the snapshot finds the captured contexts active. In shared mode the captured bean stores are
+ * attached through a {@link SynchronizedBeanStore}, so instances created by the task are visible to the originating thread
+ * and any number of tasks may use the same bean stores at the same time. Not all bean stores are thread-safe - the
+ * originating thread should not create instances of the same context while tasks are running. In read-only mode instances
+ * created by the task are kept apart and destroyed when the task completes, the captured bean stores are never modified.
+ * </p>
+ *
+ * <p>
+ * Only the contextual instances are propagated. A context which is already active on the thread running the task is left
+ * untouched. The originating thread must not end its request, session or conversation before the tasks complete.
+ * </p>
+ *
+ * @see ContextPropagatingExecutor
+ * @see ContextPropagatingExecutorService
+ */
+public class ContextSnapshot {
+
+    private static final List<Class<? extends Annotation>> SCOPES = new ArrayList<Class<? extends Annotation>>();
+
+    static {
+        SCOPES.add(RequestScoped.class);
+        SCOPES.add(SessionScoped.class);
+        SCOPES.add(ConversationScoped.class);
+    }
+
+    private final BeanManagerImpl manager;
+    private final List<AbstractManagedContext> contexts;
+    private final List<BeanStore> beanStores;
+    private final boolean shared;
+
+    private ContextSnapshot(BeanManagerImpl manager, List<AbstractManagedContext> contexts, List<BeanStore> beanStores, boolean shared) {
+        this.manager = manager;
+        this.contexts = contexts;
+        this.beanStores = beanStores;
+        this.shared = shared;
+    }
+
+    /**
+     * Captures the contexts active on the current thread.
+     *
+     * @param manager the bean manager
+     * @param shared whether instances created by tasks are added to the captured bean stores
+     * @return the snapshot
+     */
+    public static ContextSnapshot capture(BeanManager manager, boolean shared) {
+        BeanManagerImpl beanManager = BeanManagerProxy.unwrap(manager);
+        List<AbstractManagedContext> contexts = new ArrayList<AbstractManagedContext>(SCOPES.size());
+        List<BeanStore> beanStores = new ArrayList<BeanStore>(SCOPES.size());
+        for (Class<? extends Annotation> scope : SCOPES) {
+            if (beanManager.isContextActive(scope)) {
+                Context context = PassivatingContextWrapper.unwrap(beanManager.getContext(scope));
+                if (context instanceof AbstractManagedContext) {
+                    AbstractManagedContext managedContext = (AbstractManagedContext) context;
+                    BeanStore beanStore = managedContext.getBeanStore();
+                    if (beanStore != null) {
+                        contexts.add(managedContext);
+                        beanStores.add(beanStore);
+                    }
+                }
+            }
+        }
+        return new ContextSnapshot(beanManager, contexts, beanStores, shared);
+    }
+
+    /**
+     * Runs the given task with the captured contexts active.
+     *
+     * @param task the task
+     */
+    public void run(Runnable task) {
+        boolean[] attached = attach();
+        try {
+            task.run();
+        } finally {
+            detach(attached);
+        }
+    }
+
+    /**
+     * Calls the given task with the captured contexts active.
+     *
+     * @param task the task
+     * @return the result of the task
+     * @throws Exception if the task throws an exception
+     */
+    public <V> V call(Callable<V> task) throws Exception {
+        boolean[] attached = attach();
+        try {
+            return task.call();
+        } finally {
+            detach(attached);
+        }
+    }
+
+    /**
+     * Decorates the given task so that it runs with the captured contexts active.
+     *
+     * @param task the task
+     * @return the decorated task
+     */
+    public Runnable wrap(final Runnable task) {
+        if (contexts.isEmpty()) {
+            return task;
+        }
+        return new Runnable() {
+            public void run() {
+                ContextSnapshot.this.run(task);
+            }
+        };
+    }
+
+    /**
+     * Decorates the given task so that it is called with the captured contexts active.
+     *
+     * @param task the task
+     * @return the decorated task
+     */
+    public <V> Callable<V> wrap(final Callable<V> task) {
+        if (contexts.isEmpty()) {
+            return task;
+        }
+        return new Callable<V>() {
+            public V call() throws Exception {
+                return ContextSnapshot.this.call(task);
+            }
+        };
+    }
+
+    private boolean[] attach() {
+        boolean[] attached = new boolean[contexts.size()];
+        try {
+            for (int i = 0; i < attached.length; i++) {
+                AbstractManagedContext context = contexts.get(i);
+                if (!manager.isContextActive(context.getScope())) {
+                    BeanStore beanStore = beanStores.get(i);
+                    context.attach(shared ? new SynchronizedBeanStore(beanStore) : new OverlayBeanStore(beanStore));
+                    attached[i] = true;
+                }
+            }
+        } catch (RuntimeException e) {
+            detach(attached);
+            throw e;
+        }
+        return attached;
+    }
+
+    private void detach(boolean[] attached) {
+        RuntimeException failure = null;
+        for (int i = attached.length - 1; i >= 0; i--) {
+            if (attached[i]) {
+                try {
+                    contexts.get(i).detach(!shared);
+                } catch (RuntimeException e) {
+                    if (failure == null) {
+                        failure = e;
+                    }
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return (shared ? "Shared" : "Read-only") + " snapshot of " + contexts;
+    }
+}
@@ -16,7 +16,11 @@
  */
 package org.jboss.weld.context;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.ObjectStreamException;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -43,30 +47,41 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, WeldCreat
 
     private static final long serialVersionUID = 7375854583908262422L;
 
+    /*
+     * The serialized form predates the lazily allocated dependent instance store and is kept so that creational contexts
+     * serialized by previous versions can be read and vice versa. A child context used to hold the dependent instance store of
+     * its parent in parentDependentInstances.
+     */
+    private static final ObjectStreamField[] serialPersistentFields = {
+        new ObjectStreamField("dependentInstances", List.class),
+        new ObjectStreamField("parentDependentInstances", List.class),
+        new ObjectStreamField("parentCreationalContext", WeldCreationalContext.class),
+        new ObjectStreamField("resourceReferences", List.class)
+    };
+
     @SuppressWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED", justification = "Not needed after initial creation")
     private transient Map<Contextual<?>, Object> incompleteInstances;
     @SuppressWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED", justification = "Not needed after initial creation")
     private final transient Contextual<T> contextual;
 
-    private final List<ContextualInstance<?>> dependentInstances;
-
-    private final List<ContextualInstance<?>> parentDependentInstances;
+    /*
+     * The dependent instances of the contextual instance this context belongs to. The list is allocated lazily as most
+     * creational contexts never get a dependent instance.
+     */
+    private volatile List<ContextualInstance<?>> dependentInstances;
 
-    private final WeldCreationalContext<?> parentCreationalContext;
+    // not final because of readObject()
+    private CreationalContextImpl<?> parentCreationalContext;
 
     private List<ResourceReference<?>> resourceReferences;
 
     public CreationalContextImpl(Contextual<T> contextual) {
-        this(contextual, null, Collections.synchronizedList(new ArrayList<ContextualInstance<?>>()), null);
+        this(contextual, null, null);
     }
 
-    private CreationalContextImpl(Contextual<T> contextual, Map<Contextual<?>, Object> incompleteInstances,
-            List<ContextualInstance<?>> parentDependentInstancesStore, WeldCreationalContext<?> parentCreationalContext) {
+    private CreationalContextImpl(Contextual<T> contextual, Map<Contextual<?>, Object> incompleteInstances, CreationalContextImpl<?> parentCreationalContext) {
         this.incompleteInstances = incompleteInstances;
         this.contextual = contextual;
-        // this is direct ref by intention - to track dependencies hierarchy
-        this.dependentInstances = Collections.synchronizedList(new ArrayList<ContextualInstance<?>>());
-        this.parentDependentInstances = parentDependentInstancesStore;
         this.parentCreationalContext = parentCreationalContext;
     }
 
@@ -78,7 +93,7 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, WeldCreat
     }
 
     public <S> WeldCreationalContext<S> getCreationalContext(Contextual<S> contextual) {
-        return new CreationalContextImpl<S>(contextual, incompleteInstances, dependentInstances, this);
+        return new CreationalContextImpl<S>(contextual, incompleteInstances, this);
     }
 
     public <S> S getIncompleteInstance(Contextual<S> bean) {
@@ -90,7 +105,25 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, WeldCreat
     }
 
     public void addDependentInstance(ContextualInstance<?> contextualInstance) {
-        parentDependentInstances.add(contextualInstance);
+        // a dependent instance is destroyed together with the parent's contextual instance
+        // a root creational context has no parent and does not track the instance
+        if (parentCreationalContext != null) {
+            parentCreationalContext.getOrCreateDependentInstances().add(contextualInstance);
+        }
+    }
+
+    private List<ContextualInstance<?>> getOrCreateDependentInstances() {
+        List<ContextualInstance<?>> dependentInstances = this.dependentInstances;
+        if (dependentInstances == null) {
+            synchronized (this) {
+                dependentInstances = this.dependentInstances;
+                if (dependentInstances == null) {
+                    dependentInstances = Collections.synchronizedList(new ArrayList<ContextualInstance<?>>());
+                    this.dependentInstances = dependentInstances;
+                }
+            }
+        }
+        return dependentInstances;
     }
 
     @java.lang.SuppressWarnings({"NullableProblems"})
@@ -101,10 +134,13 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, WeldCreat
     // should not be public
     @java.lang.SuppressWarnings({"UnusedParameters"})
     public void release(Contextual<T> contextual, T instance) {
-        for (ContextualInstance<?> dependentInstance : dependentInstances) {
-            // do not destroy contextual again, since it's just being destroyed
-            if (contextual == null || (dependentInstance.getContextual().equals(contextual) == false))
-                destroy(dependentInstance);
+        List<ContextualInstance<?>> dependentInstances = this.dependentInstances;
+        if (dependentInstances != null) {
+            for (ContextualInstance<?> dependentInstance : dependentInstances) {
+                // do not destroy contextual again, since it's just being destroyed
+                if (contextual == null || (dependentInstance.getContextual().equals(contextual) == false))
+                    destroy(dependentInstance);
+            }
         }
         if (resourceReferences != null) {
             for (ResourceReference<?> reference : resourceReferences) {
@@ -122,11 +158,19 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, WeldCreat
     }
 
     public List<ContextualInstance<?>> getDependentInstances() {
+        List<ContextualInstance<?>> dependentInstances = this.dependentInstances;
+        if (dependentInstances == null) {
+            return Collections.emptyList();
+        }
         return Collections.unmodifiableList(dependentInstances);
     }
 
     // Serialization
     protected Object writeReplace() throws ObjectStreamException {
+        List<ContextualInstance<?>> dependentInstances = this.dependentInstances;
+        if (dependentInstances == null) {
+            return this;
+        }
         for (Iterator<ContextualInstance<?>> iterator = dependentInstances.iterator(); iterator.hasNext(); ) {
             ContextualInstance<?> instance = iterator.next();
             if (!(instance.getInstance() instanceof Serializable)) {
@@ -155,6 +199,31 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, WeldCreat
         return this;
     }
 
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        // the previous versions expect both stores to be allocated
+        fields.put("dependentInstances", getOrCreateDependentInstances());
+        if (parentCreationalContext != null) {
+            fields.put("parentDependentInstances", parentCreationalContext.getOrCreateDependentInstances());
+        } else {
+            fields.put("parentDependentInstances", Collections.synchronizedList(new ArrayList<ContextualInstance<?>>()));
+        }
+        fields.put("parentCreationalContext", parentCreationalContext);
+        fields.put("resourceReferences", resourceReferences);
+        out.writeFields();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        List<ContextualInstance<?>> dependentInstances = Reflections.cast(fields.get("dependentInstances", null));
+        this.dependentInstances = (dependentInstances == null || dependentInstances.isEmpty()) ? null : dependentInstances;
+        Object parentCreationalContext = fields.get("parentCreationalContext", null);
+        if (parentCreationalContext instanceof CreationalContextImpl<?>) {
+            this.parentCreationalContext = (CreationalContextImpl<?>) parentCreationalContext;
+        }
+        this.resourceReferences = Reflections.cast(fields.get("resourceReferences", null));
+    }
+
     @Override
     public void addDependentResourceReference(ResourceReference<?> resoruceReference) {
         if (resourceReferences == null) {
@@ -165,6 +234,10 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, WeldCreat
 
     @Override
     public boolean destroyDependentInstance(T instance) {
+        List<ContextualInstance<?>> dependentInstances = this.dependentInstances;
+        if (dependentInstances == null) {
+            return false;
+        }
         for (Iterator<ContextualInstance<?>> iterator = dependentInstances.iterator(); iterator.hasNext();) {
             ContextualInstance<?> contextualInstance = iterator.next();
             if (contextualInstance.getInstance().equals(instance)) {
@@ -42,6 +42,16 @@ public class PassivatingContextWrapper {
         }
     }
 
+    /**
+     * Returns the context wrapped by the given context, or the given context itself if it is not a wrapper.
+     */
+    public static Context unwrap(Context context) {
+        if (context instanceof AbstractPassivatingContextWrapper<?>) {
+            return ((AbstractPassivatingContextWrapper<?>) context).delegate();
+        }
+        return context;
+    }
+
     private abstract static class AbstractPassivatingContextWrapper<C extends Context> extends ForwardingContext {
 
         private final C context;
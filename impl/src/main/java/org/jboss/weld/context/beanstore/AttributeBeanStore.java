@@ -95,7 +95,9 @@ public abstract class AttributeBeanStore implements BoundBeanStore {
             for (String id : beanStore) {
                 ContextualInstance<?> instance = beanStore.get(id);
                 String prefixedId = getNamingScheme().prefix(id);
-                log.trace(UPDATING_STORE_WITH_CONTEXTUAL_UNDER_ID, instance, id);
+                if (log.isTraceEnabled()) {
+                    log.trace(UPDATING_STORE_WITH_CONTEXTUAL_UNDER_ID, instance, id);
+                }
                 setAttribute(prefixedId, instance);
             }
 
@@ -108,7 +110,9 @@ public abstract class AttributeBeanStore implements BoundBeanStore {
                 if (!beanStore.contains(id)) {
                     ContextualInstance<?> instance = (ContextualInstance<?>) getAttribute(prefixedId);
                     beanStore.put(id, instance);
-                    log.trace(ADDING_DETACHED_CONTEXTUAL_UNDER_ID, instance, id);
+                    if (log.isTraceEnabled()) {
+                        log.trace(ADDING_DETACHED_CONTEXTUAL_UNDER_ID, instance, id);
+                    }
                 }
             }
             return true;
@@ -123,7 +127,9 @@ public abstract class AttributeBeanStore implements BoundBeanStore {
 
     public <T> ContextualInstance<T> get(String id) {
         ContextualInstance<T> instance = beanStore.get(id);
-        log.trace(CONTEXTUAL_INSTANCE_FOUND, id, instance, this);
+        if (log.isTraceEnabled()) {
+            log.trace(CONTEXTUAL_INSTANCE_FOUND, id, instance, this);
+        }
         return instance;
     }
 
@@ -133,7 +139,9 @@ public abstract class AttributeBeanStore implements BoundBeanStore {
             String prefixedId = namingScheme.prefix(id);
             setAttribute(prefixedId, instance);
         }
-        log.trace(CONTEXTUAL_INSTANCE_ADDED, instance.getContextual(), id, this);
+        if (log.isTraceEnabled()) {
+            log.trace(CONTEXTUAL_INSTANCE_ADDED, instance.getContextual(), id, this);
+        }
     }
 
     @Override
@@ -143,7 +151,9 @@ public abstract class AttributeBeanStore implements BoundBeanStore {
             if (isAttached()) {
                 removeAttribute(id);
             }
-            log.trace(CONTEXTUAL_INSTANCE_REMOVED, id, this);
+            if (log.isTraceEnabled()) {
+                log.trace(CONTEXTUAL_INSTANCE_REMOVED, id, this);
+            }
         }
         return instance;
     }
@@ -157,7 +167,9 @@ public abstract class AttributeBeanStore implements BoundBeanStore {
                 removeAttribute(prefixedId);
             }
             it.remove();
-            log.trace(CONTEXTUAL_INSTANCE_REMOVED, id, this);
+            if (log.isTraceEnabled()) {
+                log.trace(CONTEXTUAL_INSTANCE_REMOVED, id, this);
+            }
         }
         log.trace(CONTEXT_CLEARED, this);
     }
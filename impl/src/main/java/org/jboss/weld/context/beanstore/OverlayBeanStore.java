@@ -0,0 +1,89 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.context.beanstore;
+
+import java.util.Iterator;
+
+import org.jboss.weld.context.api.ContextualInstance;
+
+/**
+ * A bean store which reads through to an underlying bean store but keeps instances put into it to itself. The underlying
+ * bean store is never modified. Iteration, removal and clearing only apply to the instances held by the overlay.
+ *
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ */
+public class OverlayBeanStore implements BoundBeanStore {
+
+    private final BeanStore underlying;
+    private final HashMapBeanStore overlay;
+
+    public OverlayBeanStore(BeanStore underlying) {
+        this.underlying = underlying;
+        this.overlay = new HashMapBeanStore();
+    }
+
+    public <T> ContextualInstance<T> get(String id) {
+        ContextualInstance<T> instance = overlay.get(id);
+        if (instance == null) {
+            instance = underlying.get(id);
+        }
+        return instance;
+    }
+
+    public boolean contains(String id) {
+        return overlay.contains(id) || underlying.contains(id);
+    }
+
+    public void clear() {
+        overlay.clear();
+    }
+
+    public Iterator<String> iterator() {
+        return overlay.iterator();
+    }
+
+    public <T> void put(String id, ContextualInstance<T> contextualInstance) {
+        overlay.put(id, contextualInstance);
+    }
+
+    public LockedBean lock(String id) {
+        return null;
+    }
+
+    public <T> ContextualInstance<T> remove(String id) {
+        return overlay.remove(id);
+    }
+
+    public boolean detach() {
+        return false;
+    }
+
+    public boolean attach() {
+        return false;
+    }
+
+    public boolean isAttached() {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "overlay " + overlay + " over " + underlying;
+    }
+}
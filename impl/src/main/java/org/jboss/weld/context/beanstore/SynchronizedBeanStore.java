@@ -0,0 +1,137 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.context.beanstore;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+
+import org.jboss.weld.context.api.ContextualInstance;
+
+import com.google.common.collect.MapMaker;
+
+/**
+ * A bean store which makes an underlying bean store, which is not necessarily thread-safe, usable by several threads. All
+ * operations synchronize on the underlying bean store so that any number of views of the same bean store may be used at
+ * the same time. Creation locks are provided per underlying bean store as well, which makes sure that concurrent threads do
+ * not create the same contextual instance twice.
+ *
+ * <p>
+ * Access to the underlying bean store which does not go through a view is not synchronized.
+ * </p>
+ */
+public class SynchronizedBeanStore implements BoundBeanStore {
+
+    // the creation locks of the underlying bean stores, compared by identity
+    private static final ConcurrentMap<BeanStore, LockStore> LOCK_STORES = new MapMaker().weakKeys().makeMap();
+
+    private final BeanStore underlying;
+    private final LockStore lockStore;
+
+    public SynchronizedBeanStore(BeanStore underlying) {
+        this.underlying = underlying;
+        LockStore lockStore = LOCK_STORES.get(underlying);
+        if (lockStore == null) {
+            lockStore = new LockStore();
+            LockStore previous = LOCK_STORES.putIfAbsent(underlying, lockStore);
+            if (previous != null) {
+                lockStore = previous;
+            }
+        }
+        this.lockStore = lockStore;
+    }
+
+    public <T> ContextualInstance<T> get(String id) {
+        synchronized (underlying) {
+            return underlying.get(id);
+        }
+    }
+
+    public boolean contains(String id) {
+        synchronized (underlying) {
+            return underlying.contains(id);
+        }
+    }
+
+    public void clear() {
+        synchronized (underlying) {
+            underlying.clear();
+        }
+    }
+
+    /**
+     * @return an iterator over a copy of the ids held at the time of the call
+     */
+    public Iterator<String> iterator() {
+        synchronized (underlying) {
+            List<String> ids = new ArrayList<String>();
+            for (String id : underlying) {
+                ids.add(id);
+            }
+            return ids.iterator();
+        }
+    }
+
+    public <T> void put(String id, ContextualInstance<T> contextualInstance) {
+        synchronized (underlying) {
+            underlying.put(id, contextualInstance);
+        }
+    }
+
+    public LockedBean lock(String id) {
+        return lockStore.lock(id);
+    }
+
+    public <T> ContextualInstance<T> remove(String id) {
+        synchronized (underlying) {
+            return underlying.remove(id);
+        }
+    }
+
+    public boolean detach() {
+        if (underlying instanceof BoundBeanStore) {
+            synchronized (underlying) {
+                return ((BoundBeanStore) underlying).detach();
+            }
+        }
+        return false;
+    }
+
+    public boolean attach() {
+        if (underlying instanceof BoundBeanStore) {
+            synchronized (underlying) {
+                return ((BoundBeanStore) underlying).attach();
+            }
+        }
+        return false;
+    }
+
+    public boolean isAttached() {
+        if (underlying instanceof BoundBeanStore) {
+            synchronized (underlying) {
+                return ((BoundBeanStore) underlying).isAttached();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "synchronized " + underlying;
+    }
+}
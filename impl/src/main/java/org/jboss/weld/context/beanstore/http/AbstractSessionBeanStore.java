@@ -61,8 +61,10 @@ public abstract class AbstractSessionBeanStore extends AttributeBeanStore {
         HttpSession session = getSession(false);
         if (session != null) {
             session.removeAttribute(key);
-            log.trace(REMOVED_KEY_FROM_SESSION, key, this.getSession(false).getId());
-        } else {
+            if (log.isTraceEnabled()) {
+                log.trace(REMOVED_KEY_FROM_SESSION, key, this.getSession(false).getId());
+            }
+        } else if (log.isTraceEnabled()) {
             log.trace(UNABLE_TO_REMOVE_KEY_FROM_SESSION, key);
         }
     }
@@ -72,8 +74,10 @@ public abstract class AbstractSessionBeanStore extends AttributeBeanStore {
         HttpSession session = getSession(true);
         if (session != null) {
             session.setAttribute(key, instance);
-            log.trace(ADDED_KEY_TO_SESSION, key, this.getSession(false).getId());
-        } else {
+            if (log.isTraceEnabled()) {
+                log.trace(ADDED_KEY_TO_SESSION, key, this.getSession(false).getId());
+            }
+        } else if (log.isTraceEnabled()) {
             log.trace(UNABLE_TO_ADD_KEY_TO_SESSION, key);
         }
     }
@@ -74,9 +74,13 @@ public class RequestScopedBeanCache {
      * Flushes the bean cache. The cache remains available for the rest of the request.
      */
     public static void invalidate() {
-        if (isActive()) {
-            endRequest();
-            beginRequest();
+        final List<RequestScopedItem> cache = CACHE.get();
+        if (cache != null) {
+            // items may not be added while being invalidated so the list can be reused
+            for (final RequestScopedItem item : cache) {
+                item.invalidate();
+            }
+            cache.clear();
         }
     }
 
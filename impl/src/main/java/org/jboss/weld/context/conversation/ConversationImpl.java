@@ -174,7 +174,9 @@ public class ConversationImpl implements ManagedConversation, Serializable {
             success = false;
         }
         if (success) {
-            log.trace(CONVERSATION_LOCKED, this);
+            if (log.isTraceEnabled()) {
+                log.trace(CONVERSATION_LOCKED, this);
+            }
         } else {
             log.warn(CONVERSATION_UNAVAILABLE, timeout, this);
         }
@@ -188,7 +190,9 @@ public class ConversationImpl implements ManagedConversation, Serializable {
         }
         if (concurrencyLock.isHeldByCurrentThread()) {
             concurrencyLock.unlock();
-            log.trace(CONVERSATION_UNLOCKED, this);
+            if (log.isTraceEnabled()) {
+                log.trace(CONVERSATION_UNLOCKED, this);
+            }
         } else {
             log.warn(ILLEGAL_CONVERSATION_UNLOCK_ATTEMPT, this, "not owner");
         }
@@ -0,0 +1,173 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.context.pool;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.weld.context.api.ContextualInstance;
+
+/**
+ * A bounded lock-free pool of idle instances of a single contextual. Instances are taken from the pool in the order they
+ * were returned so the instances that stayed idle for the longest time are found at the head of the queue. These are
+ * evicted lazily whenever the pool is accessed.
+ *
+ * @param <T> the type of the pooled instances
+ */
+class InstancePool<T> implements PoolStatistics {
+
+    private final ConcurrentLinkedQueue<IdleInstance<T>> idleInstances;
+    // the queue does not provide constant time size()
+    private final AtomicInteger idleCount;
+    private final int maxSize;
+    private final long maxIdleTime;
+
+    private final AtomicLong createdCount;
+    private final AtomicLong borrowedCount;
+    private final AtomicLong returnedCount;
+    private final AtomicLong evictedCount;
+    private final AtomicLong discardedCount;
+
+    /**
+     * @param maxSize the maximum number of idle instances
+     * @param maxIdleTime the time in milliseconds after which an idle instance is destroyed, 0 means never
+     */
+    InstancePool(int maxSize, long maxIdleTime) {
+        this.idleInstances = new ConcurrentLinkedQueue<IdleInstance<T>>();
+        this.idleCount = new AtomicInteger();
+        this.maxSize = maxSize;
+        this.maxIdleTime = TimeUnit.MILLISECONDS.toNanos(maxIdleTime);
+        this.createdCount = new AtomicLong();
+        this.borrowedCount = new AtomicLong();
+        this.returnedCount = new AtomicLong();
+        this.evictedCount = new AtomicLong();
+        this.discardedCount = new AtomicLong();
+    }
+
+    /**
+     * Takes an idle instance from the pool.
+     *
+     * @return the instance or null if there is no idle instance
+     */
+    ContextualInstance<T> borrow() {
+        long now = System.nanoTime();
+        IdleInstance<T> idleInstance;
+        while ((idleInstance = idleInstances.poll()) != null) {
+            idleCount.decrementAndGet();
+            if (isExpired(idleInstance, now)) {
+                evictedCount.incrementAndGet();
+                destroy(idleInstance.instance);
+            } else {
+                borrowedCount.incrementAndGet();
+                return idleInstance.instance;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Records that a new instance was created and handed out.
+     */
+    void created() {
+        createdCount.incrementAndGet();
+        borrowedCount.incrementAndGet();
+    }
+
+    /**
+     * Returns an instance to the pool. The instance is destroyed if the pool is full.
+     */
+    void offer(ContextualInstance<T> instance) {
+        long now = System.nanoTime();
+        evictExpired(now);
+        if (idleCount.incrementAndGet() > maxSize) {
+            idleCount.decrementAndGet();
+            discardedCount.incrementAndGet();
+            destroy(instance);
+        } else {
+            idleInstances.offer(new IdleInstance<T>(instance, now));
+            returnedCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Destroys all idle instances.
+     */
+    void clear() {
+        IdleInstance<T> idleInstance;
+        while ((idleInstance = idleInstances.poll()) != null) {
+            idleCount.decrementAndGet();
+            destroy(idleInstance.instance);
+        }
+    }
+
+    private void evictExpired(long now) {
+        IdleInstance<T> head;
+        while ((head = idleInstances.peek()) != null && isExpired(head, now)) {
+            // another thread may have taken the head in the meantime
+            if (idleInstances.remove(head)) {
+                idleCount.decrementAndGet();
+                evictedCount.incrementAndGet();
+                destroy(head.instance);
+            }
+        }
+    }
+
+    private boolean isExpired(IdleInstance<T> idleInstance, long now) {
+        return maxIdleTime > 0 && now - idleInstance.since > maxIdleTime;
+    }
+
+    private static <T> void destroy(ContextualInstance<T> instance) {
+        instance.getContextual().destroy(instance.getInstance(), instance.getCreationalContext());
+    }
+
+    public int getIdleCount() {
+        return idleCount.get();
+    }
+
+    public long getCreatedCount() {
+        return createdCount.get();
+    }
+
+    public long getBorrowedCount() {
+        return borrowedCount.get();
+    }
+
+    public long getReturnedCount() {
+        return returnedCount.get();
+    }
+
+    public long getEvictedCount() {
+        return evictedCount.get();
+    }
+
+    public long getDiscardedCount() {
+        return discardedCount.get();
+    }
+
+    private static class IdleInstance<T> {
+
+        private final ContextualInstance<T> instance;
+        private final long since;
+
+        private IdleInstance(ContextualInstance<T> instance, long since) {
+            this.instance = instance;
+            this.since = since;
+        }
+    }
+}
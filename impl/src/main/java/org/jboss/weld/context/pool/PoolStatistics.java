@@ -0,0 +1,53 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.context.pool;
+
+/**
+ * Provides statistics of the pool of instances of a {@link Pooled} bean.
+ */
+public interface PoolStatistics {
+
+    /**
+     * @return the number of instances currently idle in the pool
+     */
+    int getIdleCount();
+
+    /**
+     * @return the number of instances created for the pool
+     */
+    long getCreatedCount();
+
+    /**
+     * @return the number of times an instance was handed out, either taken from the pool or newly created
+     */
+    long getBorrowedCount();
+
+    /**
+     * @return the number of times an instance was returned to the pool
+     */
+    long getReturnedCount();
+
+    /**
+     * @return the number of instances destroyed because they stayed idle for too long
+     */
+    long getEvictedCount();
+
+    /**
+     * @return the number of instances destroyed because the pool was full when they were returned
+     */
+    long getDiscardedCount();
+}
@@ -0,0 +1,50 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.context.pool;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import javax.enterprise.context.NormalScope;
+
+/**
+ * Specifies that a bean is pooled. Each invocation of a method of the client proxy of a pooled bean is served by an
+ * instance borrowed from a bounded pool of instances. The instance is returned to the pool once the invocation completes
+ * and is never used by two threads at the same time. This suits beans which are stateless but not thread-safe and
+ * expensive to create.
+ *
+ * <p>
+ * The receiver of an observer, producer or disposer method is not borrowed from the pool, therefore these members of a pooled
+ * bean must be static.
+ * </p>
+ *
+ * @see PooledContext
+ */
+@Target({TYPE, METHOD, FIELD})
+@Retention(RUNTIME)
+@Documented
+@NormalScope
+@Inherited
+public @interface Pooled {
+}
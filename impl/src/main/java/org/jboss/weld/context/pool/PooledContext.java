@@ -0,0 +1,267 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.context.pool;
+
+import static org.jboss.weld.logging.messages.ContextMessage.CONTEXTUAL_IS_NULL;
+
+import java.lang.annotation.Annotation;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
+
+import org.jboss.weld.context.AbstractContext;
+import org.jboss.weld.context.api.ContextualInstance;
+import org.jboss.weld.context.beanstore.BeanStore;
+import org.jboss.weld.context.beanstore.HashMapBeanStore;
+import org.jboss.weld.exceptions.IllegalArgumentException;
+import org.jboss.weld.util.reflection.Reflections;
+
+/**
+ * The context of {@link Pooled} beans. The context is always active.
+ *
+ * <p>
+ * {@link #acquire(Contextual, CreationalContext)} borrows an instance for the current thread. An idle instance is taken
+ * from the pool of the contextual if there is one, otherwise a new instance is created. The borrowed instance is kept in a
+ * bean store bound to the current thread so that nested invocations on the same thread use the same instance. Every
+ * successful call of {@link #acquire(Contextual, CreationalContext)} must be paired with a call of
+ * {@link #release(Contextual)} which returns the instance to the pool once the outermost invocation completes.
+ * </p>
+ *
+ * <p>
+ * The methods of {@link javax.enterprise.context.spi.Context} never keep an instance borrowed.
+ * {@link #get(Contextual)} only returns the instance borrowed by the current thread, if any, and
+ * {@link #get(Contextual, CreationalContext)} hands out an instance which is back in the pool once the method returns
+ * unless the current thread already holds it.
+ * </p>
+ */
+public class PooledContext extends AbstractContext {
+
+    private final ThreadLocal<BorrowedInstances> borrowedInstances;
+    private final ConcurrentMap<String, InstancePool<?>> pools;
+    private final int maxSize;
+    private final long maxIdleTime;
+
+    /**
+     * @param maxSize the maximum number of idle instances of a single contextual
+     * @param maxIdleTime the time in milliseconds after which an idle instance is destroyed, 0 means never
+     */
+    public PooledContext(int maxSize, long maxIdleTime) {
+        super(false);
+        this.borrowedInstances = new ThreadLocal<BorrowedInstances>();
+        this.pools = new ConcurrentHashMap<String, InstancePool<?>>();
+        this.maxSize = maxSize;
+        this.maxIdleTime = maxIdleTime;
+    }
+
+    public Class<? extends Annotation> getScope() {
+        return Pooled.class;
+    }
+
+    public boolean isActive() {
+        return true;
+    }
+
+    @Override
+    public <T> T get(Contextual<T> contextual) {
+        if (contextual == null) {
+            throw new IllegalArgumentException(CONTEXTUAL_IS_NULL);
+        }
+        BorrowedInstances borrowed = borrowedInstances.get();
+        if (borrowed == null) {
+            return null;
+        }
+        ContextualInstance<T> instance = borrowed.beanStore.get(getId(contextual));
+        return instance == null ? null : instance.getInstance();
+    }
+
+    @Override
+    public <T> T get(Contextual<T> contextual, CreationalContext<T> creationalContext) {
+        T instance = get(contextual);
+        if (instance != null || creationalContext == null) {
+            return instance;
+        }
+        // the instance is not held by the current thread so it goes back to the pool right away
+        instance = acquire(contextual, creationalContext);
+        release(contextual);
+        return instance;
+    }
+
+    /**
+     * Borrows an instance of the given contextual for the current thread. If the current thread already holds an instance,
+     * the instance is used again. The call must be paired with a call of {@link #release(Contextual)}.
+     *
+     * @param contextual the contextual
+     * @param creationalContext the creational context used if a new instance needs to be created
+     * @return the borrowed instance or null if the contextual did not create an instance
+     */
+    public <T> T acquire(Contextual<T> contextual, CreationalContext<T> creationalContext) {
+        if (contextual == null) {
+            throw new IllegalArgumentException(CONTEXTUAL_IS_NULL);
+        }
+        String id = getId(contextual);
+        BorrowedInstances borrowed = getBorrowedInstances();
+        boolean acquired = false;
+        try {
+            ContextualInstance<T> instance = borrowed.beanStore.get(id);
+            if (instance == null) {
+                InstancePool<T> pool = getPool(id);
+                instance = pool.borrow();
+                if (instance != null) {
+                    borrowed.beanStore.put(id, instance);
+                } else if (super.get(contextual, creationalContext) != null) {
+                    // the new instance was put in the bean store of the current thread
+                    pool.created();
+                    instance = borrowed.beanStore.get(id);
+                } else {
+                    return null;
+                }
+            }
+            borrowed.acquire(id);
+            acquired = true;
+            return instance.getInstance();
+        } finally {
+            if (!acquired) {
+                removeIfEmpty(borrowed);
+            }
+        }
+    }
+
+    /**
+     * Releases the instance of the given contextual borrowed by the current thread. The instance is returned to the pool
+     * unless it is still used by an enclosing invocation on the current thread.
+     *
+     * @param contextual the contextual
+     */
+    public void release(Contextual<?> contextual) {
+        BorrowedInstances borrowed = borrowedInstances.get();
+        if (borrowed == null) {
+            return;
+        }
+        String id = getId(contextual);
+        if (borrowed.release(id)) {
+            ContextualInstance<Object> instance = borrowed.beanStore.remove(id);
+            if (instance != null) {
+                this.<Object>getPool(id).offer(instance);
+            }
+            removeIfEmpty(borrowed);
+        }
+    }
+
+    @Override
+    public void destroy(Contextual<?> contextual) {
+        if (contextual == null) {
+            throw new IllegalArgumentException(CONTEXTUAL_IS_NULL);
+        }
+        // destroys the instance borrowed by the current thread, if any
+        BorrowedInstances borrowed = borrowedInstances.get();
+        if (borrowed != null) {
+            super.destroy(contextual);
+            removeIfEmpty(borrowed);
+        }
+        InstancePool<?> pool = pools.get(getId(contextual));
+        if (pool != null) {
+            pool.clear();
+        }
+    }
+
+    /**
+     * Destroys all idle instances. Instances borrowed at the time are not affected.
+     */
+    public void invalidate() {
+        for (InstancePool<?> pool : pools.values()) {
+            pool.clear();
+        }
+        pools.clear();
+    }
+
+    /**
+     * @param contextual the contextual
+     * @return the statistics of the pool of the given contextual or null if no instance has been requested so far
+     */
+    public PoolStatistics getStatistics(Contextual<?> contextual) {
+        return pools.get(getId(contextual));
+    }
+
+    @Override
+    protected BeanStore getBeanStore() {
+        // no thread local value is created unless an instance is acquired
+        BorrowedInstances borrowed = borrowedInstances.get();
+        return borrowed == null ? null : borrowed.beanStore;
+    }
+
+    private BorrowedInstances getBorrowedInstances() {
+        BorrowedInstances borrowed = borrowedInstances.get();
+        if (borrowed == null) {
+            borrowed = new BorrowedInstances();
+            borrowedInstances.set(borrowed);
+        }
+        return borrowed;
+    }
+
+    private void removeIfEmpty(BorrowedInstances borrowed) {
+        // do not keep a thread local value for threads which no longer use any pooled bean
+        if (borrowed.acquisitions.isEmpty()) {
+            borrowedInstances.remove();
+        }
+    }
+
+    private <T> InstancePool<T> getPool(String id) {
+        InstancePool<?> pool = pools.get(id);
+        if (pool == null) {
+            pool = new InstancePool<T>(maxSize, maxIdleTime);
+            InstancePool<?> previous = pools.putIfAbsent(id, pool);
+            if (previous != null) {
+                pool = previous;
+            }
+        }
+        return Reflections.cast(pool);
+    }
+
+    @Override
+    public String toString() {
+        return "pooled context holding " + pools.size() + " pools";
+    }
+
+    private static class BorrowedInstances {
+
+        private final BeanStore beanStore = new HashMapBeanStore();
+        // the number of invocations using the borrowed instance of a contextual
+        private final Map<String, Integer> acquisitions = new HashMap<String, Integer>();
+
+        private void acquire(String id) {
+            Integer count = acquisitions.get(id);
+            acquisitions.put(id, count == null ? 1 : count + 1);
+        }
+
+        /**
+         * @return true if the borrowed instance is no longer used
+         */
+        private boolean release(String id) {
+            Integer count = acquisitions.get(id);
+            if (count == null || count <= 1) {
+                acquisitions.remove(id);
+                return true;
+            }
+            acquisitions.put(id, count - 1);
+            return false;
+        }
+    }
+}
@@ -40,6 +40,9 @@ import org.jboss.weld.context.api.ContextualInstance;
 import org.jboss.weld.exceptions.UnsupportedOperationException;
 import org.jboss.weld.injection.producer.AbstractMemberProducer;
 import org.jboss.weld.injection.producer.BasicInjectionTarget;
+import org.jboss.weld.metrics.Metrics;
+import org.jboss.weld.metrics.MetricsSupport;
+import org.jboss.weld.metrics.NoopMetrics;
 import org.jboss.weld.serialization.spi.ContextualStore;
 
 /**
@@ -50,9 +53,15 @@ import org.jboss.weld.serialization.spi.ContextualStore;
 public class DependentContextImpl implements DependentContext {
 
     private final ContextualStore contextualStore;
+    private final Metrics metrics;
 
     public DependentContextImpl(ContextualStore contextualStore) {
+        this(contextualStore, NoopMetrics.INSTANCE);
+    }
+
+    public DependentContextImpl(ContextualStore contextualStore, Metrics metrics) {
         this.contextualStore = contextualStore;
+        this.metrics = metrics;
     }
 
     /**
@@ -67,6 +76,7 @@ public class DependentContextImpl implements DependentContext {
         }
         if (creationalContext != null) {
             T instance = contextual.create(creationalContext);
+            MetricsSupport.instanceCreated(metrics, Dependent.class, contextual);
             if (creationalContext instanceof WeldCreationalContext<?>) {
                 addDependentInstance(instance, contextual, (WeldCreationalContext<T>) creationalContext);
             }
@@ -2,6 +2,7 @@ package org.jboss.weld.context.unbound;
 
 import org.jboss.weld.context.AbstractUnboundContext;
 import org.jboss.weld.context.RequestContext;
+import org.jboss.weld.context.beanstore.BeanStore;
 import org.jboss.weld.context.beanstore.HashMapBeanStore;
 
 import javax.enterprise.context.RequestScoped;
@@ -19,7 +20,17 @@ public class RequestContextImpl extends AbstractUnboundContext implements Reques
 
     public void activate() {
         // Attach bean store (this context is unbound, so this can simply be thread-scoped
-        setBeanStore(new HashMapBeanStore());
+        activate(new HashMapBeanStore());
+    }
+
+    /**
+     * Activates the context using the given bean store. The bean store is detached but not cleared when the context is
+     * deactivated so a caller may reuse it for subsequent activations once it has been cleared.
+     *
+     * @param beanStore the bean store
+     */
+    public void activate(BeanStore beanStore) {
+        setBeanStore(beanStore);
         super.activate();
     }
 
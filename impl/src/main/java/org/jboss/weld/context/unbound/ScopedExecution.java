@@ -0,0 +1,213 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.context.unbound;
+
+import java.util.concurrent.Callable;
+
+import javax.enterprise.inject.spi.BeanManager;
+
+import org.jboss.weld.bean.builtin.BeanManagerProxy;
+import org.jboss.weld.context.ManagedContext;
+import org.jboss.weld.context.RequestContext;
+import org.jboss.weld.context.beanstore.BeanStore;
+import org.jboss.weld.context.beanstore.HashMapBeanStore;
+import org.jboss.weld.manager.BeanManagerImpl;
+
+/**
+ * Runs tasks with the unbound request context, and optionally further thread-bound contexts such as the thread context of
+ * Weld SE, active. This is meant for worker threads which process a large number of small work items, each of them being
+ * a request of its own.
+ *
+ * <p>
+ * The contexts are activated before and invalidated and deactivated after each task, destroying the instances created
+ * during the task. Contexts which are already active on the current thread are left untouched so executions may be nested.
+ * The bean store of the request context is kept per thread and cleared after each outermost task so that the following tasks
+ * on the same thread reuse it. A thread which no longer runs tasks of this execution, e.g. a worker thread being returned to
+ * a pool shared with other work, may call {@link #release()} to drop its bean store.
+ * </p>
+ *
+ * <p>
+ * An instance may be shared by any number of threads.
+ * </p>
+ *
+ * <pre>
+ * ScopedExecution execution = ScopedExecution.of(beanManager);
+ * for (final Item item : items) {
+ *     executor.execute(execution.wrap(new Runnable() {
+ *         public void run() {
+ *             processor.process(item);
+ *         }
+ *     }));
+ * }
+ * </pre>
+ */
+public class ScopedExecution {
+
+    private final RequestContext requestContext;
+    private final ManagedContext[] contexts;
+    private final ThreadLocal<BeanStore> beanStore;
+
+    /**
+     * @param requestContext the unbound request context
+     * @param contexts further contexts to activate for each task, in the order of activation
+     */
+    public ScopedExecution(RequestContext requestContext, ManagedContext... contexts) {
+        this.requestContext = requestContext;
+        this.contexts = contexts.clone();
+        this.beanStore = new ThreadLocal<BeanStore>();
+    }
+
+    /**
+     * Creates a scoped execution which uses the unbound request context of the given bean manager.
+     *
+     * @param manager the bean manager
+     * @param contexts further contexts to activate for each task, in the order of activation
+     * @return the scoped execution
+     */
+    public static ScopedExecution of(BeanManager manager, ManagedContext... contexts) {
+        BeanManagerImpl beanManager = BeanManagerProxy.unwrap(manager);
+        return new ScopedExecution(beanManager.instance().select(RequestContext.class, UnboundLiteral.INSTANCE).get(), contexts);
+    }
+
+    /**
+     * Runs the given task with the contexts active.
+     *
+     * @param task the task
+     */
+    public void run(Runnable task) {
+        boolean[] activated = begin();
+        try {
+            task.run();
+        } finally {
+            end(activated);
+        }
+    }
+
+    /**
+     * Calls the given task with the contexts active.
+     *
+     * @param task the task
+     * @return the result of the task
+     * @throws Exception if the task throws an exception
+     */
+    public <V> V call(Callable<V> task) throws Exception {
+        boolean[] activated = begin();
+        try {
+            return task.call();
+        } finally {
+            end(activated);
+        }
+    }
+
+    /**
+     * Decorates the given task so that it runs with the contexts active, e.g. when submitted to an executor.
+     *
+     * @param task the task
+     * @return the decorated task
+     */
+    public Runnable wrap(final Runnable task) {
+        return new Runnable() {
+            public void run() {
+                ScopedExecution.this.run(task);
+            }
+        };
+    }
+
+    /**
+     * Decorates the given task so that it is called with the contexts active, e.g. when submitted to an executor.
+     *
+     * @param task the task
+     * @return the decorated task
+     */
+    public <V> Callable<V> wrap(final Callable<V> task) {
+        return new Callable<V>() {
+            public V call() throws Exception {
+                return ScopedExecution.this.call(task);
+            }
+        };
+    }
+
+    /**
+     * Activates the contexts which are not active yet. The first element of the returned array refers to the request
+     * context, the following ones to the other contexts.
+     */
+    private boolean[] begin() {
+        boolean[] activated = new boolean[contexts.length + 1];
+        if (!requestContext.isActive()) {
+            if (requestContext instanceof RequestContextImpl) {
+                ((RequestContextImpl) requestContext).activate(getBeanStore());
+            } else {
+                requestContext.activate();
+            }
+            activated[0] = true;
+        }
+        for (int i = 0; i < contexts.length; i++) {
+            if (!contexts[i].isActive()) {
+                contexts[i].activate();
+                activated[i + 1] = true;
+            }
+        }
+        return activated;
+    }
+
+    private void end(boolean[] activated) {
+        try {
+            for (int i = contexts.length - 1; i >= 0; i--) {
+                if (activated[i + 1]) {
+                    terminate(contexts[i]);
+                }
+            }
+        } finally {
+            if (activated[0]) {
+                try {
+                    terminate(requestContext);
+                } finally {
+                    BeanStore beanStore = this.beanStore.get();
+                    if (beanStore != null) {
+                        // normally already cleared by the destruction of the context, the store is kept for the next task
+                        beanStore.clear();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops the bean store kept for the current thread. The next task run on the current thread allocates a new one. This
+     * method should not be called while a task of this execution runs on the current thread.
+     */
+    public void release() {
+        beanStore.remove();
+    }
+
+    private static void terminate(ManagedContext context) {
+        try {
+            context.invalidate();
+        } finally {
+            context.deactivate();
+        }
+    }
+
+    private BeanStore getBeanStore() {
+        BeanStore beanStore = this.beanStore.get();
+        if (beanStore == null) {
+            beanStore = new HashMapBeanStore();
+            this.beanStore.set(beanStore);
+        }
+        return beanStore;
+    }
+}
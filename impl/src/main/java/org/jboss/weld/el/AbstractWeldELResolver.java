@@ -63,13 +63,17 @@ public abstract class AbstractWeldELResolver extends ELResolver {
         BeanManagerImpl beanManager = getManager(context);
         if (property != null) {
             String propertyString = property.toString();
-            log.trace(PROPERTY_LOOKUP, propertyString);
+            if (log.isTraceEnabled()) {
+                log.trace(PROPERTY_LOOKUP, propertyString);
+            }
             Namespace namespace = null;
             if (base == null) {
                 if (beanManager.getRootNamespace().contains(propertyString)) {
                     Object value = beanManager.getRootNamespace().get(propertyString);
                     context.setPropertyResolved(true);
-                    log.trace(PROPERTY_RESOLVED, propertyString, value);
+                    if (log.isTraceEnabled()) {
+                        log.trace(PROPERTY_RESOLVED, propertyString, value);
+                    }
                     return value;
                 }
             } else if (base instanceof Namespace) {
@@ -79,7 +83,9 @@ public abstract class AbstractWeldELResolver extends ELResolver {
                 if (namespace.contains(propertyString)) {
                     // There is a child namespace
                     Object value = namespace.get(propertyString);
-                    log.trace(PROPERTY_RESOLVED, propertyString, value);
+                    if (log.isTraceEnabled()) {
+                        log.trace(PROPERTY_RESOLVED, propertyString, value);
+                    }
                     return value;
                 }
             } else {
@@ -96,7 +102,9 @@ public abstract class AbstractWeldELResolver extends ELResolver {
             Object value = lookup(beanManager, context, name);
             if (value != null) {
                 context.setPropertyResolved(true);
-                log.trace(PROPERTY_RESOLVED, propertyString, value);
+                if (log.isTraceEnabled()) {
+                    log.trace(PROPERTY_RESOLVED, propertyString, value);
+                }
                 return value;
             }
         }
@@ -104,46 +112,61 @@ public abstract class AbstractWeldELResolver extends ELResolver {
     }
 
     private Object lookup(BeanManagerImpl beanManager, ELContext context, String name) {
-        final Bean<?> bean = beanManager.resolve(beanManager.getBeans(name));
+        ELBeanReferenceCache cache = ELBeanReferenceCache.getCache(context, beanManager);
+        ELBeanReferenceCache.Entry entry = cache.get(name);
+        if (entry == null) {
+            entry = resolve(beanManager, name);
+            cache.put(name, entry);
+        }
+        final Bean<?> bean = entry.getBean();
         if (bean == null) {
             return null;
         }
-        Class<? extends Annotation> scope = bean.getScope();
-        if (!scope.equals(Dependent.class)) {
-            ClientProxyProvider cpp = beanManager.getClientProxyProvider();
-            if (cpp != null) {
-                Object value = cpp.getClientProxy(bean);
-                if (value != null) {
-                    return value;
-                }
+        if (!bean.getScope().equals(Dependent.class)) {
+            return entry.getReference();
+        }
+        // Need to use a "special" creationalContext that can make sure that we do share dependent instances referenced by the EL Expression
+        final ELCreationalContextStack stack = ELCreationalContextStack.getCreationalContextStore(context);
+        boolean release = stack.isEmpty(); // indicates whether we should cleanup after lookup or not
+        if (release) {
+            stack.push(new CreationalContextCallable());
+        }
+        try {
+            ELCreationalContext<?> ctx = stack.peek().get();
+            String beanName = bean.getName();
+            Object value = ctx.getDependentInstanceForExpression(beanName);
+            if (value == null) {
+                value = beanManager.getReference(bean, null, ctx, false);
+                ctx.registerDependentInstanceForExpression(beanName, value);
             }
-            return beanManager.getReference(bean, null, beanManager.createCreationalContext(bean), false);
-        } else {
-            // Need to use a "special" creationalContext that can make sure that we do share dependent instances referenced by the EL Expression
-            final ELCreationalContextStack stack = ELCreationalContextStack.getCreationalContextStore(context);
-            boolean release = stack.isEmpty(); // indicates whether we should cleanup after lookup or not
+            return value;
+        } finally {
             if (release) {
-                stack.push(new CreationalContextCallable());
-            }
-            try {
-                ELCreationalContext<?> ctx = stack.peek().get();
-                String beanName = bean.getName();
-                Object value = ctx.getDependentInstanceForExpression(beanName);
-                if (value == null) {
-                    value = getManager(context).getReference(bean, null, ctx, false);
-                    ctx.registerDependentInstanceForExpression(beanName, value);
-                }
-                return value;
-            } finally {
-                if (release) {
-                    CreationalContextCallable callable = stack.pop();
-                    if (callable.exists()) {
-                        callable.get().release();
-                    }
+                CreationalContextCallable callable = stack.pop();
+                if (callable.exists()) {
+                    callable.get().release();
                 }
             }
+        }
+    }
 
+    private ELBeanReferenceCache.Entry resolve(BeanManagerImpl beanManager, String name) {
+        final Bean<?> bean = beanManager.resolve(beanManager.getBeans(name));
+        if (bean == null) {
+            return ELBeanReferenceCache.UNRESOLVED;
+        }
+        Class<? extends Annotation> scope = bean.getScope();
+        if (scope.equals(Dependent.class)) {
+            return new ELBeanReferenceCache.Entry(bean, null);
+        }
+        ClientProxyProvider cpp = beanManager.getClientProxyProvider();
+        if (cpp != null) {
+            Object value = cpp.getClientProxy(bean);
+            if (value != null) {
+                return new ELBeanReferenceCache.Entry(bean, value);
+            }
         }
+        return new ELBeanReferenceCache.Entry(bean, beanManager.getReference(bean, null, beanManager.createCreationalContext(bean), false));
     }
 
     @Override
@@ -0,0 +1,95 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.el;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.el.ELContext;
+import javax.enterprise.inject.spi.Bean;
+
+import org.jboss.weld.manager.BeanManagerImpl;
+
+/**
+ * Caches the result of bean name resolution for a single {@link ELContext}. JSF and JSP create an {@link ELContext} per request
+ * (or page) and use it from a single thread, so the cache is not synchronized and lives no longer than the request.
+ *
+ * <p>
+ * For a normal-scoped bean the client proxy is cached as it is valid for the whole lifetime of the application. For a
+ * {@link javax.enterprise.context.Dependent} bean only the bean is cached, the instance itself is created for every
+ * expression. Names which do not identify any bean are cached too.
+ * </p>
+ */
+final class ELBeanReferenceCache {
+
+    static final class Entry {
+
+        private final Bean<?> bean;
+        private final Object reference;
+
+        Entry(Bean<?> bean, Object reference) {
+            this.bean = bean;
+            this.reference = reference;
+        }
+
+        /**
+         * @return the bean or null if the name does not identify any bean
+         */
+        Bean<?> getBean() {
+            return bean;
+        }
+
+        /**
+         * @return the client proxy of a normal-scoped bean, not used for a dependent bean
+         */
+        Object getReference() {
+            return reference;
+        }
+    }
+
+    static final Entry UNRESOLVED = new Entry(null, null);
+
+    public static ELBeanReferenceCache getCache(ELContext context, BeanManagerImpl beanManager) {
+        Object o = context.getContext(ELBeanReferenceCache.class);
+        if (o != null) {
+            ELBeanReferenceCache cache = (ELBeanReferenceCache) o;
+            if (cache.beanManager == beanManager) {
+                return cache;
+            }
+        }
+        ELBeanReferenceCache cache = new ELBeanReferenceCache(beanManager);
+        context.putContext(ELBeanReferenceCache.class, cache);
+        return cache;
+    }
+
+    private final BeanManagerImpl beanManager;
+    private final Map<String, Entry> entries;
+
+    private ELBeanReferenceCache(BeanManagerImpl beanManager) {
+        this.beanManager = beanManager;
+        this.entries = new HashMap<String, Entry>();
+    }
+
+    Entry get(String name) {
+        return entries.get(name);
+    }
+
+    void put(String name, Entry entry) {
+        entries.put(name, entry);
+    }
+
+}
@@ -17,11 +17,20 @@
 package org.jboss.weld.el;
 
 import javax.el.ELContext;
-import java.util.Stack;
+import java.util.ArrayList;
+import java.util.List;
 
-class ELCreationalContextStack extends Stack<CreationalContextCallable> {
+/**
+ * A stack of {@link CreationalContextCallable}s bound to an {@link ELContext}. An {@link ELContext} is only ever used by a
+ * single thread so the stack is not synchronized.
+ */
+class ELCreationalContextStack {
+
+    private final List<CreationalContextCallable> callables;
 
-    private static final long serialVersionUID = -57142365866995726L;
+    private ELCreationalContextStack() {
+        this.callables = new ArrayList<CreationalContextCallable>(4);
+    }
 
     public static ELCreationalContextStack addToContext(ELContext context) {
         ELCreationalContextStack store = new ELCreationalContextStack();
@@ -38,4 +47,20 @@ class ELCreationalContextStack extends Stack<CreationalContextCallable> {
         }
     }
 
+    public void push(CreationalContextCallable callable) {
+        callables.add(callable);
+    }
+
+    public CreationalContextCallable pop() {
+        return callables.remove(callables.size() - 1);
+    }
+
+    public CreationalContextCallable peek() {
+        return callables.get(callables.size() - 1);
+    }
+
+    public boolean isEmpty() {
+        return callables.isEmpty();
+    }
+
 }
@@ -0,0 +1,173 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.el;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.enterprise.context.Dependent;
+import javax.enterprise.inject.spi.Bean;
+
+import com.google.common.collect.ImmutableSet;
+
+import org.jboss.weld.Container;
+import org.jboss.weld.ContainerState;
+import org.jboss.weld.manager.BeanManagerImpl;
+
+/**
+ * Finds out whether the evaluation of an expression needs a shared {@link ELCreationalContext}, i.e. whether any of its root
+ * identifiers may resolve to a {@link Dependent} bean. Expressions which only refer to normal-scoped beans or which do not refer
+ * to any bean at all can be evaluated without the creational context bookkeeping.
+ *
+ * <p>
+ * The analysis is conservative: an identifier which is a namespace or which cannot be resolved unambiguously is treated as if
+ * it referred to a dependent bean. The results are cached per expression string once the container is initialized, as the set of
+ * beans does not change afterwards.
+ * </p>
+ */
+class ExpressionAnalyzer {
+
+    private static final int MAX_CACHED_EXPRESSIONS = 10000;
+
+    private static final Set<String> RESERVED_WORDS = ImmutableSet.of("and", "or", "not", "eq", "ne", "lt", "gt", "le", "ge",
+            "true", "false", "null", "instanceof", "empty", "div", "mod");
+
+    private final BeanManagerImpl beanManager;
+    private final ConcurrentMap<String, Boolean> results;
+
+    ExpressionAnalyzer(BeanManagerImpl beanManager) {
+        this.beanManager = beanManager;
+        this.results = new ConcurrentHashMap<String, Boolean>();
+    }
+
+    /**
+     * @param expression the expression string
+     * @return true if the evaluation of the expression may need a shared creational context, false otherwise
+     */
+    boolean isCreationalContextRequired(String expression) {
+        if (expression == null) {
+            return true;
+        }
+        Boolean result = results.get(expression);
+        if (result != null) {
+            return result;
+        }
+        if (!Container.available() || Container.instance().getState() != ContainerState.INITIALIZED) {
+            // beans may still be added
+            return true;
+        }
+        result = analyze(expression);
+        if (results.size() < MAX_CACHED_EXPRESSIONS) {
+            results.put(expression, result);
+        }
+        return result;
+    }
+
+    private boolean analyze(String expression) {
+        int length = expression.length();
+        // the nesting level of curly braces within ${...} or #{...}, 0 for literal text
+        int depth = 0;
+        char previous = 0;
+        int i = 0;
+        while (i < length) {
+            char c = expression.charAt(i);
+            if (depth == 0) {
+                if (c == '\\') {
+                    // an escaped ${ or #{
+                    i += 2;
+                } else {
+                    if ((c == '$' || c == '#') && i + 1 < length && expression.charAt(i + 1) == '{') {
+                        depth = 1;
+                        previous = '{';
+                        i++;
+                    }
+                    i++;
+                }
+                continue;
+            }
+            if (c == '\'' || c == '"') {
+                i = skipStringLiteral(expression, i);
+                if (i < 0) {
+                    return true;
+                }
+                previous = c;
+            } else if (Character.isDigit(c)) {
+                // a number literal
+                do {
+                    i++;
+                } while (i < length && (Character.isJavaIdentifierPart(expression.charAt(i)) || expression.charAt(i) == '.'));
+                previous = '0';
+            } else if (Character.isJavaIdentifierStart(c)) {
+                int start = i;
+                do {
+                    i++;
+                } while (i < length && Character.isJavaIdentifierPart(expression.charAt(i)));
+                if (previous != '.' && isDependent(expression.substring(start, i))) {
+                    return true;
+                }
+                previous = 'a';
+            } else {
+                if (c == '{') {
+                    depth++;
+                } else if (c == '}') {
+                    depth--;
+                }
+                if (!Character.isWhitespace(c)) {
+                    previous = c;
+                }
+                i++;
+            }
+        }
+        // an unterminated expression is left to the expression factory to report
+        return depth != 0;
+    }
+
+    /**
+     * @return the index following the literal, or -1 if the literal is not terminated
+     */
+    private static int skipStringLiteral(String expression, int start) {
+        char quote = expression.charAt(start);
+        for (int i = start + 1; i < expression.length(); i++) {
+            char c = expression.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == quote) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isDependent(String identifier) {
+        if (RESERVED_WORDS.contains(identifier)) {
+            return false;
+        }
+        if (beanManager.getRootNamespace().contains(identifier)) {
+            return true;
+        }
+        Bean<?> bean;
+        try {
+            bean = beanManager.resolve(beanManager.getBeans(identifier));
+        } catch (RuntimeException e) {
+            // e.g. an ambiguous name, it is reported when the expression is evaluated
+            return true;
+        }
+        return bean != null && bean.getScope().equals(Dependent.class);
+    }
+
+}
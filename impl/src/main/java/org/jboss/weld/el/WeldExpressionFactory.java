@@ -17,6 +17,7 @@
 package org.jboss.weld.el;
 
 import org.jboss.weld.exceptions.IllegalArgumentException;
+import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.util.el.ForwardingExpressionFactory;
 
 import javax.el.ELContext;
@@ -32,12 +33,25 @@ import static org.jboss.weld.logging.messages.ElMessage.NULL_EXPRESSION_FACTORY;
 public class WeldExpressionFactory extends ForwardingExpressionFactory {
 
     private final ExpressionFactory delegate;
+    private final ExpressionAnalyzer analyzer;
 
     public WeldExpressionFactory(ExpressionFactory expressionFactory) {
+        this(expressionFactory, null);
+    }
+
+    /**
+     * Creates an expression factory which analyzes the created expressions so that the creational context bookkeeping is only
+     * done for expressions which may refer to a dependent bean.
+     *
+     * @param expressionFactory the expression factory to wrap
+     * @param beanManager the bean manager used to resolve the bean names, or null to always do the bookkeeping
+     */
+    public WeldExpressionFactory(ExpressionFactory expressionFactory, BeanManagerImpl beanManager) {
         if (expressionFactory == null) {
             throw new IllegalArgumentException(NULL_EXPRESSION_FACTORY);
         }
         this.delegate = expressionFactory;
+        this.analyzer = beanManager == null ? null : new ExpressionAnalyzer(beanManager);
     }
 
     @Override
@@ -47,12 +61,16 @@ public class WeldExpressionFactory extends ForwardingExpressionFactory {
 
     @Override
     public ValueExpression createValueExpression(ELContext context, String expression, @SuppressWarnings("rawtypes") Class expectedType) {
-        return new WeldValueExpression(super.createValueExpression(context, expression, expectedType));
+        return new WeldValueExpression(super.createValueExpression(context, expression, expectedType), isCreationalContextRequired(expression));
     }
 
     @Override
     public MethodExpression createMethodExpression(ELContext context, String expression, @SuppressWarnings("rawtypes") Class expectedReturnType, @SuppressWarnings("rawtypes") Class[] expectedParamTypes) {
-        return new WeldMethodExpression(super.createMethodExpression(context, expression, expectedReturnType, expectedParamTypes));
+        return new WeldMethodExpression(super.createMethodExpression(context, expression, expectedReturnType, expectedParamTypes), isCreationalContextRequired(expression));
+    }
+
+    private boolean isCreationalContextRequired(String expression) {
+        return analyzer == null || analyzer.isCreationalContextRequired(expression);
     }
 
 }
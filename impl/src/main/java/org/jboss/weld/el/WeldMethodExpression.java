@@ -18,6 +18,9 @@ package org.jboss.weld.el;
 
 import org.jboss.weld.util.el.ForwardingMethodExpression;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+
 import javax.el.ELContext;
 import javax.el.MethodExpression;
 import javax.el.MethodInfo;
@@ -32,9 +35,26 @@ public class WeldMethodExpression extends ForwardingMethodExpression {
     private static final long serialVersionUID = 7070020110515571744L;
 
     private final MethodExpression delegate;
+    // not part of the serialized form, an expression read from a stream always shares a creational context
+    private transient boolean creationalContextRequired;
 
     public WeldMethodExpression(MethodExpression delegate) {
+        this(delegate, true);
+    }
+
+    /**
+     * @param delegate the wrapped expression
+     * @param creationalContextRequired false if the expression is known not to refer to any dependent bean, in which case no
+     *        creational context is shared by the evaluation
+     */
+    public WeldMethodExpression(MethodExpression delegate, boolean creationalContextRequired) {
         this.delegate = delegate;
+        this.creationalContextRequired = creationalContextRequired;
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        this.creationalContextRequired = true;
     }
 
     @Override
@@ -44,6 +64,9 @@ public class WeldMethodExpression extends ForwardingMethodExpression {
 
     @Override
     public Object invoke(ELContext context, Object[] params) {
+        if (!creationalContextRequired) {
+            return super.invoke(context, params);
+        }
         ELCreationalContextStack store = getCreationalContextStore(context);
         try {
             store.push(new CreationalContextCallable());
@@ -58,6 +81,9 @@ public class WeldMethodExpression extends ForwardingMethodExpression {
 
     @Override
     public MethodInfo getMethodInfo(ELContext context) {
+        if (!creationalContextRequired) {
+            return super.getMethodInfo(context);
+        }
         ELCreationalContextStack store = getCreationalContextStore(context);
         try {
             store.push(new CreationalContextCallable());
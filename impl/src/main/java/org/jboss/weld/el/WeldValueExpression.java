@@ -18,6 +18,9 @@ package org.jboss.weld.el;
 
 import org.jboss.weld.util.el.ForwardingValueExpression;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+
 import javax.el.ELContext;
 import javax.el.ValueExpression;
 
@@ -32,9 +35,26 @@ public class WeldValueExpression extends ForwardingValueExpression {
     private static final long serialVersionUID = 1122137212009930853L;
 
     private final ValueExpression delegate;
+    // not part of the serialized form, an expression read from a stream always shares a creational context
+    private transient boolean creationalContextRequired;
 
     public WeldValueExpression(ValueExpression delegate) {
+        this(delegate, true);
+    }
+
+    /**
+     * @param delegate the wrapped expression
+     * @param creationalContextRequired false if the expression is known not to refer to any dependent bean, in which case no
+     *        creational context is shared by the evaluation
+     */
+    public WeldValueExpression(ValueExpression delegate, boolean creationalContextRequired) {
         this.delegate = delegate;
+        this.creationalContextRequired = creationalContextRequired;
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        this.creationalContextRequired = true;
     }
 
     @Override
@@ -44,6 +64,9 @@ public class WeldValueExpression extends ForwardingValueExpression {
 
     @Override
     public Object getValue(final ELContext context) {
+        if (!creationalContextRequired) {
+            return delegate().getValue(context);
+        }
         ELCreationalContextStack store = getCreationalContextStore(context);
         try {
             store.push(new CreationalContextCallable());
@@ -58,6 +81,10 @@ public class WeldValueExpression extends ForwardingValueExpression {
 
     @Override
     public void setValue(ELContext context, Object value) {
+        if (!creationalContextRequired) {
+            delegate().setValue(context, value);
+            return;
+        }
         ELCreationalContextStack store = getCreationalContextStore(context);
         try {
             store.push(new CreationalContextCallable());
@@ -72,6 +99,9 @@ public class WeldValueExpression extends ForwardingValueExpression {
 
     @Override
     public boolean isReadOnly(ELContext context) {
+        if (!creationalContextRequired) {
+            return delegate().isReadOnly(context);
+        }
         ELCreationalContextStack store = getCreationalContextStore(context);
         try {
             store.push(new CreationalContextCallable());
@@ -87,6 +117,9 @@ public class WeldValueExpression extends ForwardingValueExpression {
     @SuppressWarnings("rawtypes")
     @Override
     public Class getType(ELContext context) {
+        if (!creationalContextRequired) {
+            return delegate().getType(context);
+        }
         ELCreationalContextStack store = getCreationalContextStore(context);
         try {
             store.push(new CreationalContextCallable());
@@ -23,6 +23,10 @@ import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import javax.enterprise.event.Event;
 import javax.enterprise.inject.spi.InjectionPoint;
@@ -34,6 +38,7 @@ import org.jboss.weld.bean.builtin.FacadeInjectionPoint;
 import org.jboss.weld.exceptions.InvalidObjectException;
 import org.jboss.weld.injection.CurrentInjectionPoint;
 import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.resources.SharedObjectCache;
 import org.jboss.weld.util.Types;
 import org.jboss.weld.util.reflection.EventObjectTypeResolverBuilder;
 import org.jboss.weld.util.reflection.Formats;
@@ -58,11 +63,14 @@ public class EventImpl<T> extends AbstractFacade<T, Event<T>> implements Event<T
 
     private final transient HierarchyDiscovery injectionPointTypeHierarchy;
     private final transient CurrentInjectionPoint currentInjectionPointStack;
+    private final transient SharedObjectCache sharedObjectCache;
+    private transient volatile CachedEventType cachedEventType;
 
     private EventImpl(InjectionPoint injectionPoint, BeanManagerImpl beanManager) {
         super(injectionPoint, null, beanManager);
         this.injectionPointTypeHierarchy = new HierarchyDiscovery(getType());
         this.currentInjectionPointStack = beanManager.getServices().get(CurrentInjectionPoint.class);
+        this.sharedObjectCache = beanManager.getServices().get(SharedObjectCache.class);
     }
 
     /**
@@ -78,12 +86,62 @@ public class EventImpl<T> extends AbstractFacade<T, Event<T>> implements Event<T
     public void fire(T event) {
         currentInjectionPointStack.push(new DynamicLookupInjectionPoint(getInjectionPoint(), getType(), getQualifiers()));
         try {
-            getBeanManager().getGlobalStrictObserverNotifier().fireEvent(getEventType(event), event, getQualifiers());
+            getBeanManager().getGlobalStrictObserverNotifier().fireCheckedEvent(getEventType(event), event, getQualifiers());
         } finally {
             currentInjectionPointStack.pop();
         }
     }
 
+    /**
+     * Fires a batch of events. Consecutive events of the same runtime class share a single event type resolution and a single
+     * observer resolution. The events are delivered in iteration order.
+     *
+     * @param events the events to fire
+     */
+    public void fireAll(Iterable<? extends T> events) {
+        currentInjectionPointStack.push(new DynamicLookupInjectionPoint(getInjectionPoint(), getType(), getQualifiers()));
+        try {
+            List<T> batch = new ArrayList<T>();
+            Class<?> batchClass = null;
+            T first = null;
+            for (T event : events) {
+                if (batchClass != null && !batchClass.equals(event.getClass())) {
+                    fireBatch(first, batch);
+                    batch.clear();
+                }
+                if (batch.isEmpty()) {
+                    batchClass = event.getClass();
+                    first = event;
+                }
+                batch.add(event);
+            }
+            if (!batch.isEmpty()) {
+                fireBatch(first, batch);
+            }
+        } finally {
+            currentInjectionPointStack.pop();
+        }
+    }
+
+    /**
+     * Fires a coalesced view of a batch of events. For each key computed by the given function only the latest event is delivered.
+     * The delivered events are ordered by the first occurrence of their key in the batch.
+     *
+     * @param events the events to coalesce and fire
+     * @param key computes the coalescing key of an event
+     */
+    public void fireCoalesced(Iterable<? extends T> events, CoalescingKey<? super T> key) {
+        Map<Object, T> latest = new LinkedHashMap<Object, T>();
+        for (T event : events) {
+            latest.put(key.of(event), event);
+        }
+        fireAll(latest.values());
+    }
+
+    private void fireBatch(T first, List<T> batch) {
+        getBeanManager().getGlobalStrictObserverNotifier().fireCheckedEvents(getEventType(first), batch, getQualifiers());
+    }
+
     public Event<T> select(Annotation... qualifiers) {
         return selectEvent(this.getType(), qualifiers);
     }
@@ -103,7 +161,19 @@ public class EventImpl<T> extends AbstractFacade<T, Event<T>> implements Event<T
     }
 
     protected Type getEventType(T event) {
-        Type resolvedType = event.getClass();
+        Class<?> eventClass = event.getClass();
+        CachedEventType cached = this.cachedEventType;
+        if (cached == null || !cached.eventClass.equals(eventClass)) {
+            Type eventType = resolveEventType(eventClass);
+            getBeanManager().getGlobalStrictObserverNotifier().checkEventObjectType(eventType);
+            cached = new CachedEventType(eventClass, eventType);
+            this.cachedEventType = cached;
+        }
+        return cached.eventType;
+    }
+
+    private Type resolveEventType(Class<?> eventClass) {
+        Type resolvedType = eventClass;
         if (Types.containsUnresolvedTypeVariableOrWildcard(resolvedType)) {
             /*
              * If the container is unable to resolve the parameterized type of the event object, it uses the specified type to infer the parameterized type of the event types.
@@ -116,13 +186,28 @@ public class EventImpl<T> extends AbstractFacade<T, Event<T>> implements Event<T
              * event type and the specified type reveals the actual values for type variables. Let's try that.
              */
             TypeResolver objectTypeResolver = new EventObjectTypeResolverBuilder(injectionPointTypeHierarchy.getResolver()
-                    .getResolvedTypeVariables(), new HierarchyDiscovery(event.getClass()).getResolver()
+                    .getResolvedTypeVariables(), new HierarchyDiscovery(eventClass).getResolver()
                     .getResolvedTypeVariables()).build();
-            resolvedType = objectTypeResolver.resolveType(Types.getCanonicalType(event.getClass()));
+            resolvedType = objectTypeResolver.resolveType(sharedObjectCache.getResolvedType(eventClass));
         }
         return resolvedType;
     }
 
+    /**
+     * The resolved and validated event type for the most recently fired event class. Most {@link Event} instances only ever fire
+     * events of a single class so a single entry is sufficient.
+     */
+    private static class CachedEventType {
+
+        private final Class<?> eventClass;
+        private final Type eventType;
+
+        private CachedEventType(Class<?> eventClass, Type eventType) {
+            this.eventClass = eventClass;
+            this.eventType = eventType;
+        }
+    }
+
     // Serialization
 
     private Object writeReplace() throws ObjectStreamException {
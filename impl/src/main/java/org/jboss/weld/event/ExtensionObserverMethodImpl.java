@@ -109,6 +109,11 @@ public class ExtensionObserverMethodImpl<T, X> extends ObserverMethodImpl<T, X>
         event.setReceiver(receiver);
     }
 
+    @Override
+    protected boolean initContextualReceiverLookup(BeanManagerImpl manager) {
+        return false;
+    }
+
     /*
      * Contexts may not be active during notification of container lifecycle events. Therefore, we invoke the methods direcly on
      * an extension instance.
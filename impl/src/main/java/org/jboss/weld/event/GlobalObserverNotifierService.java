@@ -27,6 +27,7 @@ import org.jboss.weld.bootstrap.api.BootstrapService;
 import org.jboss.weld.bootstrap.api.ServiceRegistry;
 import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.metadata.cache.MetaAnnotationStore;
+import org.jboss.weld.metrics.MetricsSupport;
 import org.jboss.weld.resolution.TypeSafeObserverResolver;
 
 import com.google.common.base.Function;
@@ -55,7 +56,8 @@ public class GlobalObserverNotifierService implements BootstrapService {
 
     public GlobalObserverNotifierService(ServiceRegistry services) {
         this.beanManagers = new CopyOnWriteArraySet<BeanManagerImpl>();
-        TypeSafeObserverResolver resolver = new TypeSafeObserverResolver(services.get(MetaAnnotationStore.class), createGlobalObserverMethodIterable(beanManagers));
+        TypeSafeObserverResolver resolver = new TypeSafeObserverResolver(services.get(MetaAnnotationStore.class), createGlobalObserverMethodIterable(beanManagers),
+                MetricsSupport.getMetrics(services), "globalObserverResolver");
         this.globalLenientObserverNotifier = ObserverNotifier.of(resolver, services, false);
         this.globalStrictObserverNotifier = ObserverNotifier.of(resolver, services, true);
     }
@@ -32,8 +32,13 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.context.ContextNotActiveException;
+import javax.enterprise.context.ConversationScoped;
 import javax.enterprise.context.Dependent;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
+import javax.enterprise.context.spi.Context;
 import javax.enterprise.context.spi.CreationalContext;
 import javax.enterprise.event.ObserverException;
 import javax.enterprise.event.Observes;
@@ -52,6 +57,8 @@ import org.jboss.weld.annotated.enhanced.EnhancedAnnotatedMethod;
 import org.jboss.weld.annotated.enhanced.EnhancedAnnotatedParameter;
 import org.jboss.weld.bean.AbstractClassBean;
 import org.jboss.weld.bean.RIBean;
+import org.jboss.weld.context.AbstractContext;
+import org.jboss.weld.context.PassivatingContextWrapper;
 import org.jboss.weld.exceptions.DefinitionException;
 import org.jboss.weld.injection.InjectionPointFactory;
 import org.jboss.weld.injection.MethodInjectionPoint;
@@ -94,6 +101,17 @@ public class ObserverMethodImpl<T, X> implements ObserverMethod<T> {
     private final Set<WeldInjectionPoint<?, ?>> injectionPoints;
     private final Set<WeldInjectionPoint<?, ?>> newInjectionPoints;
 
+    // the event is the only parameter of the observer method, there is nothing to inject
+    private final boolean eventParameterOnly;
+
+    /*
+     * Indicates that the receiver may be looked up directly in its context without a CreationalContext. This is the case for
+     * receivers with a built-in normal scope of observer methods which do not inject any other parameter. Custom contexts are
+     * not known to be free of side effects on lookup so their receivers are always obtained from BeanManager.getReference()
+     * with a CreationalContext, which looks the receiver up in its context without a client proxy.
+     */
+    private final boolean contextualReceiverLookup;
+
     /**
      * Creates an Observer which describes and encapsulates an observer method
      * (8.5).
@@ -127,6 +145,16 @@ public class ObserverMethodImpl<T, X> implements ObserverMethod<T> {
         }
         this.injectionPoints = immutableSet(injectionPoints);
         this.newInjectionPoints = immutableSet(newInjectionPoints);
+        this.eventParameterOnly = observerMethod.getParameterInjectionPoints().size() == 1;
+        this.contextualReceiverLookup = initContextualReceiverLookup(manager);
+    }
+
+    protected boolean initContextualReceiverLookup(BeanManagerImpl manager) {
+        return !observerMethod.getAnnotated().isStatic() && eventParameterOnly && isBuiltInNormalScope(declaringBean.getScope());
+    }
+
+    private static boolean isBuiltInNormalScope(Class<? extends Annotation> scope) {
+        return scope == RequestScoped.class || scope == SessionScoped.class || scope == ConversationScoped.class || scope == ApplicationScoped.class;
     }
 
     protected static String createId(final EnhancedAnnotatedMethod<?, ? > observer, final RIBean<?> declaringBean) {
@@ -247,15 +275,22 @@ public class ObserverMethodImpl<T, X> implements ObserverMethod<T> {
      */
     protected void sendEvent(final T event) {
         if (observerMethod.getAnnotated().isStatic()) {
-            sendEvent(event, null, beanManager.createCreationalContext(declaringBean));
+            sendEvent(event, null, eventParameterOnly ? null : beanManager.createCreationalContext(declaringBean));
+        } else if (reception.equals(Reception.IF_EXISTS)) {
+            Object receiver = getReceiverIfExists(null);
+            if (receiver != null) {
+                sendEvent(event, receiver, null);
+            }
         } else {
-            CreationalContext<?> creationalContext;
-            if (reception.equals(Reception.IF_EXISTS)) {
-                creationalContext = null;
-            } else {
-                creationalContext = beanManager.createCreationalContext(declaringBean);
+            if (contextualReceiverLookup) {
+                // the receiver usually exists already, no CreationalContext is needed then
+                Object receiver = getContextualReceiverIfExists();
+                if (receiver != null) {
+                    sendEvent(event, receiver, null);
+                    return;
+                }
             }
-
+            CreationalContext<?> creationalContext = beanManager.createCreationalContext(declaringBean);
             Object receiver = getReceiverIfExists(creationalContext);
             if (receiver != null) {
                 sendEvent(event, receiver, creationalContext);
@@ -266,7 +301,14 @@ public class ObserverMethodImpl<T, X> implements ObserverMethod<T> {
     protected void sendEvent(T event, Object receiver, CreationalContext<?> creationalContext) {
         try {
             preNotify(event, receiver);
-            if (receiver == null) {
+            if (eventParameterOnly) {
+                // fast path - no parameter injection points to resolve
+                if (receiver == null) {
+                    observerMethod.invokeWithSingleParameter(null, event, ObserverException.class);
+                } else {
+                    observerMethod.invokeOnInstanceWithSingleParameter(receiver, event, ObserverException.class);
+                }
+            } else if (receiver == null) {
                 observerMethod.invokeWithSpecialValue(null, Observes.class, event, beanManager, creationalContext, ObserverException.class);
             } else {
                 // As we are working with the contextual instance, we may not have the
@@ -298,6 +340,23 @@ public class ObserverMethodImpl<T, X> implements ObserverMethod<T> {
         }
     }
 
+    /**
+     * @return the existing contextual instance of the receiver or null if it does not exist yet or if the active context is not one of
+     *         Weld's contexts
+     */
+    private Object getContextualReceiverIfExists() {
+        try {
+            Context context = beanManager.getContext(declaringBean.getScope());
+            if (!(PassivatingContextWrapper.unwrap(context) instanceof AbstractContext)) {
+                // an extension registered its own context for the scope
+                return null;
+            }
+            return context.get(declaringBean);
+        } catch (ContextNotActiveException e) {
+            return null;
+        }
+    }
+
     protected Object getReceiver(CreationalContext<?> ctx) {
         return beanManager.getReference(declaringBean, null, ctx, true);
     }
@@ -30,6 +30,10 @@ import javax.enterprise.inject.spi.ObserverMethod;
 import org.jboss.weld.bootstrap.api.ServiceRegistry;
 import org.jboss.weld.exceptions.IllegalArgumentException;
 import org.jboss.weld.literal.AnyLiteral;
+import org.jboss.weld.metrics.Counter;
+import org.jboss.weld.metrics.MetricGroup;
+import org.jboss.weld.metrics.Metrics;
+import org.jboss.weld.metrics.MetricsSupport;
 import org.jboss.weld.resolution.Resolvable;
 import org.jboss.weld.resolution.ResolvableBuilder;
 import org.jboss.weld.resolution.TypeSafeObserverResolver;
@@ -74,6 +78,8 @@ public class ObserverNotifier {
     private final SharedObjectCache sharedObjectCache;
     private final boolean strict;
     private final ConcurrentMap<Type, RuntimeException> eventTypeCheckCache;
+    // the events fired and observer notifications per event class, null if metrics are disabled
+    private final ConcurrentMap<Class<?>, EventCounters> eventCounters;
 
     protected ObserverNotifier(TypeSafeObserverResolver resolver, ServiceRegistry services, boolean strict) {
         this.resolver = resolver;
@@ -84,6 +90,12 @@ public class ObserverNotifier {
         } else {
             eventTypeCheckCache = null; // not necessary
         }
+        Metrics metrics = MetricsSupport.getMetrics(services);
+        if (metrics.isEnabled()) {
+            this.eventCounters = new MapMaker().makeComputingMap(new ComputeEventCounters(metrics));
+        } else {
+            this.eventCounters = null;
+        }
     }
 
     public <T> Set<ObserverMethod<? super T>> resolveObserverMethods(T event, Annotation... bindings) {
@@ -111,7 +123,51 @@ public class ObserverNotifier {
         notifyObservers(event, resolveObserverMethods(resolvable));
     }
 
+    /**
+     * Delivers a batch of events of the same type. The event type is checked and observer methods are resolved only once for the
+     * whole batch. Each event is then delivered to all the resolved observer methods before the next event is processed.
+     *
+     * @param eventType the type of all the events in the batch
+     * @param events the events to deliver
+     * @param qualifiers the event qualifiers
+     */
+    public void fireEvents(Type eventType, Iterable<?> events, Set<Annotation> qualifiers) {
+        checkEventObjectType(eventType);
+        fireCheckedEvents(eventType, events, qualifiers);
+    }
+
+    /**
+     * Delivers an event whose type has already been checked by {@link #checkEventObjectType(Type)}.
+     */
+    void fireCheckedEvent(Type eventType, Object event, Set<Annotation> qualifiers) {
+        notifyObservers(event, resolveObserverMethods(eventType, qualifiers));
+    }
+
+    /**
+     * Delivers a batch of events whose type has already been checked by {@link #checkEventObjectType(Type)}.
+     */
+    void fireCheckedEvents(Type eventType, Iterable<?> events, Set<Annotation> qualifiers) {
+        Set<ObserverMethod<? super Object>> observers = resolveObserverMethods(eventType, qualifiers);
+        if (observers.isEmpty()) {
+            // the events are not delivered but still count as fired
+            if (eventCounters != null) {
+                for (Object event : events) {
+                    eventCounters.get(event.getClass()).fired.increment();
+                }
+            }
+            return;
+        }
+        for (Object event : events) {
+            notifyObservers(event, observers);
+        }
+    }
+
     private <T> void notifyObservers(final T event, final Set<ObserverMethod<? super T>> observers) {
+        if (eventCounters != null) {
+            EventCounters counters = eventCounters.get(event.getClass());
+            counters.fired.increment();
+            counters.notifications.add(observers.size());
+        }
         for (ObserverMethod<? super T> observer : observers) {
             notifyObserver(event, observer);
         }
@@ -168,6 +224,32 @@ public class ObserverNotifier {
         }
     }
 
+    private static class EventCounters {
+
+        private final Counter fired;
+        private final Counter notifications;
+
+        private EventCounters(Counter fired, Counter notifications) {
+            this.fired = fired;
+            this.notifications = notifications;
+        }
+    }
+
+    private static class ComputeEventCounters implements Function<Class<?>, EventCounters> {
+
+        private final Metrics metrics;
+
+        private ComputeEventCounters(Metrics metrics) {
+            this.metrics = metrics;
+        }
+
+        @Override
+        public EventCounters apply(Class<?> eventClass) {
+            String name = eventClass.getName();
+            return new EventCounters(metrics.getCounter(MetricGroup.EVENT, name + ".fired"), metrics.getCounter(MetricGroup.EVENT, name + ".notifications"));
+        }
+    }
+
     private class EventTypeCheck implements Function<Type, RuntimeException> {
 
         @Override
@@ -26,7 +26,6 @@ import java.security.AccessController;
 import javax.enterprise.context.spi.CreationalContext;
 import javax.enterprise.inject.Instance;
 import javax.enterprise.inject.spi.AnnotatedField;
-import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.InjectionPoint;
 import javax.enterprise.inject.spi.ProcessInjectionPoint;
 
@@ -41,7 +40,7 @@ import org.jboss.weld.util.reflection.Reflections;
 
 import edu.umd.cs.findbugs.annotations.SuppressWarnings;
 
-@SuppressWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED", justification = "The bean cache is loaded lazily.")
+@SuppressWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED", justification = "The injection plan is built lazily.")
 public class FieldInjectionPoint<T, X> extends ForwardingInjectionPointAttributes<T, Field> implements WeldInjectionPoint<T, Field>, Serializable {
 
     /**
@@ -54,7 +53,7 @@ public class FieldInjectionPoint<T, X> extends ForwardingInjectionPointAttribute
     private static final long serialVersionUID = 6645272914499045953L;
 
     private final boolean cacheable;
-    private transient Bean<?> cachedBean;
+    private transient volatile InjectionPlan plan;
     private final transient Field accessibleField;
 
     private final FieldInjectionPointAttributes<T, X> attributes;
@@ -65,12 +64,12 @@ public class FieldInjectionPoint<T, X> extends ForwardingInjectionPointAttribute
         this.accessibleField = AccessController.doPrivileged(new GetAccessibleCopyOfMember<Field>(attributes.getMember()));
     }
 
+    /**
+     * Resolution of every injection point except for a delegate injection point can be cached. The resolved bean of an
+     * {@link InjectionPoint} or {@link Instance} injection point is a built-in bean which does not change either.
+     */
     protected static boolean isCacheableInjectionPoint(WeldInjectionPointAttributes<?, ?> attributes) {
-        if (attributes.isDelegate()) {
-            return false;
-        }
-        Class<?> rawType = Reflections.getRawType(attributes.getType());
-        return !InjectionPoint.class.isAssignableFrom(rawType) && !Instance.class.isAssignableFrom(rawType);
+        return !attributes.isDelegate();
     }
 
     public void inject(Object declaringInstance, BeanManagerImpl manager, CreationalContext<?> creationalContext) {
@@ -82,16 +81,7 @@ public class FieldInjectionPoint<T, X> extends ForwardingInjectionPointAttribute
                     instanceToInject = Reflections.<TargetInstanceProxy<T>> cast(declaringInstance).getTargetInstance();
                 }
             }
-            Object objectToInject;
-            if (!cacheable) {
-                objectToInject = manager.getInjectableReference(this, creationalContext);
-            } else {
-                if (cachedBean == null) {
-                    cachedBean = manager.resolve(manager.getBeans(this));
-                }
-                objectToInject = manager.getReference(this, cachedBean, creationalContext);
-            }
-            accessibleField.set(instanceToInject, objectToInject);
+            accessibleField.set(instanceToInject, getValueToInject(manager, creationalContext));
         } catch (IllegalArgumentException e) {
             rethrowException(e);
         } catch (IllegalAccessException e) {
@@ -99,6 +89,21 @@ public class FieldInjectionPoint<T, X> extends ForwardingInjectionPointAttribute
         }
     }
 
+    /**
+     * Obtains the value to be injected into the field without actually setting the field.
+     */
+    public Object getValueToInject(BeanManagerImpl manager, CreationalContext<?> creationalContext) {
+        if (!cacheable) {
+            return manager.getInjectableReference(this, creationalContext);
+        }
+        InjectionPlan plan = this.plan;
+        if (plan == null) {
+            plan = InjectionPlan.of(this, manager);
+            this.plan = plan;
+        }
+        return plan.getReference(this, manager, creationalContext);
+    }
+
     public void inject(Object declaringInstance, Object value) {
         try {
             Object instanceToInject = declaringInstance;
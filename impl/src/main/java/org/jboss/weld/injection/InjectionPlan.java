@@ -0,0 +1,68 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.injection;
+
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.InjectionPoint;
+
+import org.jboss.weld.context.WeldCreationalContext;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.resolution.ResolvableBuilder;
+
+/**
+ * Immutable outcome of resolving an injection point. It holds the resolved bean, a reusable client proxy if the bean is
+ * normal-scoped and whether the injection point needs to be registered as the current injection point while the reference
+ * is obtained. Once the plan is built, obtaining a reference for the injection point involves no further resolution, i.e. no
+ * {@link ResolvableBuilder} is built and no resolver lookup is performed.
+ *
+ * <p>
+ * Plans are built lazily, upon the first injection, by the injection points of an injection target.
+ * </p>
+ *
+ * @see FieldInjectionPoint
+ * @see ParameterInjectionPointImpl
+ */
+final class InjectionPlan {
+
+    static InjectionPlan of(InjectionPoint injectionPoint, BeanManagerImpl manager) {
+        Bean<?> bean = manager.getBean(new ResolvableBuilder(injectionPoint, manager).create());
+        return new InjectionPlan(bean, manager.getCacheableReference(injectionPoint, bean), manager.isRegisterableInjectionPoint(injectionPoint));
+    }
+
+    private final Bean<?> bean;
+    // client proxy of a normal-scoped bean which is injected over and over again, null if not applicable
+    private final Object proxy;
+    private final boolean registerInjectionPoint;
+
+    private InjectionPlan(Bean<?> bean, Object proxy, boolean registerInjectionPoint) {
+        this.bean = bean;
+        this.proxy = proxy;
+        this.registerInjectionPoint = registerInjectionPoint;
+    }
+
+    Object getReference(InjectionPoint injectionPoint, BeanManagerImpl manager, CreationalContext<?> creationalContext) {
+        if (proxy != null && !isIncompleteInstance(creationalContext)) {
+            return proxy;
+        }
+        return manager.getReference(injectionPoint, bean, creationalContext, registerInjectionPoint);
+    }
+
+    private boolean isIncompleteInstance(CreationalContext<?> creationalContext) {
+        return creationalContext instanceof WeldCreationalContext<?> && ((WeldCreationalContext<?>) creationalContext).containsIncompleteInstance(bean);
+    }
+}
@@ -69,17 +69,10 @@ public class MethodInjectionPoint<T, X> extends AbstractCallableInjectionPoint<T
     public T invokeWithSpecialValue(Object declaringInstance, Class<? extends Annotation> annotatedParameter, Object parameter, BeanManagerImpl manager, CreationalContext<?> ctx, Class<? extends RuntimeException> exceptionTypeToThrow) {
         CreationalContext<?> invocationContext = manager.createCreationalContext(null);
         try {
-            return cast(accessibleMethod.invoke(declaringInstance, getParameterValues(annotatedParameter, parameter, manager, ctx, invocationContext)));
-        } catch (IllegalArgumentException e) {
-            rethrowException(e, exceptionTypeToThrow);
-        } catch (IllegalAccessException e) {
-            rethrowException(e, exceptionTypeToThrow);
-        } catch (InvocationTargetException e) {
-            rethrowException(e, exceptionTypeToThrow);
+            return invokeAccessibleMethod(declaringInstance, getParameterValues(annotatedParameter, parameter, manager, ctx, invocationContext), exceptionTypeToThrow);
         } finally {
             invocationContext.release();
         }
-        return null;
     }
 
     public T invokeOnInstance(Object declaringInstance, BeanManagerImpl manager, CreationalContext<?> creationalContext, Class<? extends RuntimeException> exceptionTypeToThrow) {
@@ -88,9 +81,52 @@ public class MethodInjectionPoint<T, X> extends AbstractCallableInjectionPoint<T
 
     public T invokeOnInstanceWithSpecialValue(Object declaringInstance, Class<? extends Annotation> annotatedParameter, Object parameter, BeanManagerImpl manager, CreationalContext<?> ctx, Class<? extends RuntimeException> exceptionTypeToThrow) {
         CreationalContext<?> invocationContext = manager.createCreationalContext(null);
+        try {
+            return invokeMethodOfInstance(declaringInstance, getParameterValues(annotatedParameter, parameter, manager, ctx, invocationContext), exceptionTypeToThrow);
+        } finally {
+            invocationContext.release();
+        }
+    }
+
+    /**
+     * Invokes the method passing the given value as the only argument. Unlike
+     * {@link #invokeWithSpecialValue(Object, Class, Object, BeanManagerImpl, CreationalContext, Class)}, no parameter injection
+     * point is resolved and no {@link CreationalContext} is created for the invocation. This is only applicable to methods which
+     * declare a single parameter.
+     */
+    public T invokeWithSingleParameter(Object declaringInstance, Object parameter, Class<? extends RuntimeException> exceptionTypeToThrow) {
+        return invokeAccessibleMethod(declaringInstance, new Object[] { parameter }, exceptionTypeToThrow);
+    }
+
+    /**
+     * Invokes the method on the given instance passing the given value as the only argument. No parameter injection point is
+     * resolved and no {@link CreationalContext} is created for the invocation. This is only applicable to methods which declare
+     * a single parameter.
+     */
+    public T invokeOnInstanceWithSingleParameter(Object declaringInstance, Object parameter, Class<? extends RuntimeException> exceptionTypeToThrow) {
+        return invokeMethodOfInstance(declaringInstance, new Object[] { parameter }, exceptionTypeToThrow);
+    }
+
+    private T invokeAccessibleMethod(Object declaringInstance, Object[] parameterValues, Class<? extends RuntimeException> exceptionTypeToThrow) {
+        try {
+            return cast(accessibleMethod.invoke(declaringInstance, parameterValues));
+        } catch (IllegalArgumentException e) {
+            rethrowException(e, exceptionTypeToThrow);
+        } catch (IllegalAccessException e) {
+            rethrowException(e, exceptionTypeToThrow);
+        } catch (InvocationTargetException e) {
+            rethrowException(e, exceptionTypeToThrow);
+        }
+        return null;
+    }
+
+    /**
+     * Invokes the method as declared by the class of the given instance, which may be a subclass or a proxy of the declaring class.
+     */
+    private T invokeMethodOfInstance(Object declaringInstance, Object[] parameterValues, Class<? extends RuntimeException> exceptionTypeToThrow) {
         try {
             Method method = getMethodFromClass(declaringInstance.getClass());
-            return cast(method.invoke(declaringInstance, getParameterValues(annotatedParameter, parameter, manager, ctx, invocationContext)));
+            return cast(method.invoke(declaringInstance, parameterValues));
         } catch (IllegalArgumentException e) {
             rethrowException(e, exceptionTypeToThrow);
         } catch (SecurityException e) {
@@ -101,8 +137,6 @@ public class MethodInjectionPoint<T, X> extends AbstractCallableInjectionPoint<T
             rethrowException(e, exceptionTypeToThrow);
         } catch (NoSuchMethodException e) {
             rethrowException(e, exceptionTypeToThrow);
-        } finally {
-            invocationContext.release();
         }
         return null;
     }
@@ -111,6 +145,14 @@ public class MethodInjectionPoint<T, X> extends AbstractCallableInjectionPoint<T
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Obtains the values to be passed to the method as arguments without actually invoking the method. Parameters annotated with
+     * {@link TransientReference} are resolved within the given invocation context.
+     */
+    public Object[] getParameterValues(BeanManagerImpl manager, CreationalContext<?> ctx, CreationalContext<?> invocationContext) {
+        return getParameterValues(null, null, manager, ctx, invocationContext);
+    }
+
     /**
      * Helper method for getting the current parameter values from a list of annotated parameters.
      *
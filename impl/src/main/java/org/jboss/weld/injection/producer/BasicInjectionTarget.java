@@ -161,7 +161,7 @@ public class BasicInjectionTarget<T> extends AbstractProducer<T> implements Inje
     }
 
     protected LifecycleCallbackInvoker<T> initInvoker(EnhancedAnnotatedType<T> type) {
-        return new DefaultLifecycleCallbackInvoker<T>(type);
+        return new DefaultLifecycleCallbackInvoker<T>(type, beanManager);
     }
 
     @Override
@@ -36,6 +36,8 @@ import org.jboss.weld.interceptor.spi.metadata.ClassMetadata;
 import org.jboss.weld.interceptor.spi.model.InterceptionModel;
 import org.jboss.weld.interceptor.util.InterceptionUtils;
 import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.metrics.BeanInstrumentation;
+import org.jboss.weld.metrics.InvocationTimers;
 import org.jboss.weld.resources.ClassTransformer;
 
 /**
@@ -120,7 +122,8 @@ public class BeanInjectionTarget<T> extends BasicInjectionTarget<T> {
                 setInstantiator(new SubclassDecoratorApplyingInstantiator<T>(getInstantiator(), getBean(), decorators));
             }
             if (hasNonConstructorInterceptors) {
-                setInstantiator(new InterceptorApplyingInstantiator<T>(getInstantiator(), interceptionModel));
+                InvocationTimers invocationTimers = BeanInstrumentation.of(beanManager.getServices()).getInterceptedInvocationTimers(getBean());
+                setInstantiator(new InterceptorApplyingInstantiator<T>(getInstantiator(), interceptionModel, invocationTimers));
             }
         }
 
@@ -164,7 +167,7 @@ public class BeanInjectionTarget<T> extends BasicInjectionTarget<T> {
         if (isInterceptor()) {
             return NoopLifecycleCallbackInvoker.getInstance();
         } else {
-            return new DefaultLifecycleCallbackInvoker<T>(type);
+            return new DefaultLifecycleCallbackInvoker<T>(type, beanManager);
         }
     }
 }
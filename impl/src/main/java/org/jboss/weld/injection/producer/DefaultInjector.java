@@ -27,6 +27,8 @@ import javax.inject.Inject;
 
 import org.jboss.weld.annotated.enhanced.EnhancedAnnotatedType;
 import org.jboss.weld.annotated.slim.SlimAnnotatedType;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.config.WeldConfiguration;
 import org.jboss.weld.injection.FieldInjectionPoint;
 import org.jboss.weld.injection.InjectionContextImpl;
 import org.jboss.weld.injection.InjectionPointFactory;
@@ -47,10 +49,17 @@ public class DefaultInjector<T> implements Injector<T> {
 
     private final List<Set<FieldInjectionPoint<?, ?>>> injectableFields;
     private final List<Set<MethodInjectionPoint<?, ?>>> initializerMethods;
+    // null if generated injectors are disabled or not available for the given type
+    private final MemberAccessorInjector<T> memberAccessorInjector;
 
     public DefaultInjector(EnhancedAnnotatedType<T> type, Bean<T> bean, BeanManagerImpl beanManager) {
         this.injectableFields = InjectionPointFactory.instance().getFieldInjectionPoints(bean, type, beanManager);
         this.initializerMethods = BeanMethods.getInitializerMethods(bean, type, beanManager);
+        if (beanManager.getServices().get(WeldConfiguration.class).getBooleanProperty(ConfigurationKey.GENERATED_INJECTORS)) {
+            this.memberAccessorInjector = MemberAccessorInjector.of(type.getJavaClass(), injectableFields, initializerMethods);
+        } else {
+            this.memberAccessorInjector = null;
+        }
     }
 
     @Override
@@ -69,6 +78,10 @@ public class DefaultInjector<T> implements Injector<T> {
     }
 
     public void inject(final T instance, final CreationalContext<T> ctx, BeanManagerImpl manager) {
+        if (memberAccessorInjector != null) {
+            memberAccessorInjector.inject(instance, ctx, manager);
+            return;
+        }
         Beans.injectFieldsAndInitializers(instance, ctx, manager, injectableFields, initializerMethods);
     }
 
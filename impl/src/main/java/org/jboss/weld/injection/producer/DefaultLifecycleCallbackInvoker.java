@@ -18,8 +18,10 @@ package org.jboss.weld.injection.producer;
 
 import static org.jboss.weld.logging.messages.BeanMessage.INVOCATION_ERROR;
 
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.security.AccessController;
+import java.util.Collections;
 import java.util.List;
 
 import javax.annotation.PostConstruct;
@@ -27,8 +29,11 @@ import javax.annotation.PreDestroy;
 import javax.enterprise.inject.spi.AnnotatedMethod;
 
 import org.jboss.weld.annotated.enhanced.EnhancedAnnotatedType;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.config.WeldConfiguration;
 import org.jboss.weld.exceptions.WeldException;
 import org.jboss.weld.interceptor.util.InterceptionUtils;
+import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.security.GetAccessibleCopyOfMember;
 import org.jboss.weld.util.BeanMethods;
 
@@ -53,12 +58,49 @@ public class DefaultLifecycleCallbackInvoker<T> implements LifecycleCallbackInvo
         }
     };
 
+    private static final int REFLECTION = -1;
+
     private final List<Method> accessiblePostConstructMethods;
     private final List<Method> accessiblePreDestroyMethods;
 
+    /*
+     * If generated injectors are enabled, lifecycle callbacks are invoked using a generated MemberAccessor. Post construct
+     * callbacks are indexed first, followed by pre destroy callbacks. REFLECTION marks a callback not handled by the accessor.
+     */
+    private final MemberAccessor accessor;
+    private final int[] postConstructIndexes;
+    private final int[] preDestroyIndexes;
+
     public DefaultLifecycleCallbackInvoker(EnhancedAnnotatedType<T> type) {
+        this(type, false);
+    }
+
+    public DefaultLifecycleCallbackInvoker(EnhancedAnnotatedType<T> type, BeanManagerImpl beanManager) {
+        this(type, beanManager.getServices().get(WeldConfiguration.class).getBooleanProperty(ConfigurationKey.GENERATED_INJECTORS));
+    }
+
+    private DefaultLifecycleCallbackInvoker(EnhancedAnnotatedType<T> type, boolean generatedInvoker) {
         this.accessiblePostConstructMethods = initMethodList(BeanMethods.getPostConstructMethods(type));
         this.accessiblePreDestroyMethods = initMethodList(BeanMethods.getPreDestroyMethods(type));
+        MemberAccessor accessor = null;
+        if (generatedInvoker && (hasPostConstructMethods() || hasPreDestroyMethods())) {
+            accessor = MemberAccessorFactory.create(type.getJavaClass(), Collections.<Field>emptyList(), ImmutableList.<Method>builder().addAll(accessiblePostConstructMethods).addAll(accessiblePreDestroyMethods).build());
+        }
+        this.accessor = accessor;
+        this.postConstructIndexes = initIndexes(accessiblePostConstructMethods, 0, type.getJavaClass());
+        this.preDestroyIndexes = initIndexes(accessiblePreDestroyMethods, accessiblePostConstructMethods.size(), type.getJavaClass());
+    }
+
+    private int[] initIndexes(List<Method> methods, int offset, Class<?> beanClass) {
+        int[] indexes = new int[methods.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            if (accessor != null && MemberAccessorFactory.isAccessible(methods.get(i), beanClass)) {
+                indexes[i] = offset + i;
+            } else {
+                indexes[i] = REFLECTION;
+            }
+        }
+        return indexes;
     }
 
     private List<Method> initMethodList(List<? extends AnnotatedMethod<?>> methods) {
@@ -70,7 +112,7 @@ public class DefaultLifecycleCallbackInvoker<T> implements LifecycleCallbackInvo
         if (instantiator.hasInterceptorSupport()) {
             InterceptionUtils.executePostConstruct(instance);
         } else {
-            invokeMethods(accessiblePostConstructMethods, instance);
+            invokeMethods(accessiblePostConstructMethods, postConstructIndexes, instance);
         }
     }
 
@@ -79,14 +121,19 @@ public class DefaultLifecycleCallbackInvoker<T> implements LifecycleCallbackInvo
         if (instantiator.hasInterceptorSupport()) {
             InterceptionUtils.executePredestroy(instance);
         } else {
-            invokeMethods(accessiblePreDestroyMethods, instance);
+            invokeMethods(accessiblePreDestroyMethods, preDestroyIndexes, instance);
         }
     }
 
-    private void invokeMethods(List<Method> methods, T instance) {
-        for (Method method : methods) {
+    private void invokeMethods(List<Method> methods, int[] indexes, T instance) {
+        for (int i = 0; i < indexes.length; i++) {
+            Method method = methods.get(i);
             try {
-                method.invoke(instance);
+                if (indexes[i] == REFLECTION) {
+                    method.invoke(instance);
+                } else {
+                    accessor.invoke(indexes[i], instance, null);
+                }
             } catch (Exception e) {
                 throw new WeldException(INVOCATION_ERROR, e, method, instance);
             }
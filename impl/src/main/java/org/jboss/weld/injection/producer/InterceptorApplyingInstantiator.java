@@ -28,6 +28,7 @@ import org.jboss.weld.interceptor.proxy.InterceptorMethodHandler;
 import org.jboss.weld.interceptor.spi.metadata.ClassMetadata;
 import org.jboss.weld.interceptor.spi.model.InterceptionModel;
 import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.metrics.InvocationTimers;
 
 /**
  * A wrapper over {@link SubclassedComponentInstantiator} that registers interceptors within the method handler. This class is
@@ -40,10 +41,16 @@ import org.jboss.weld.manager.BeanManagerImpl;
 public class InterceptorApplyingInstantiator<T> extends ForwardingInstantiator<T> {
 
     private final InterceptionModel<ClassMetadata<?>, ?> interceptionModel;
+    private final InvocationTimers invocationTimers;
 
     public InterceptorApplyingInstantiator(Instantiator<T> delegate, InterceptionModel<ClassMetadata<?>, ?> model) {
+        this(delegate, model, null);
+    }
+
+    public InterceptorApplyingInstantiator(Instantiator<T> delegate, InterceptionModel<ClassMetadata<?>, ?> model, InvocationTimers invocationTimers) {
         super(delegate);
         this.interceptionModel = model;
+        this.invocationTimers = invocationTimers;
     }
 
     @Override
@@ -58,7 +65,7 @@ public class InterceptorApplyingInstantiator<T> extends ForwardingInstantiator<T
 
     protected T applyInterceptors(T instance, InterceptionContext interceptionContext) {
         try {
-            InterceptorMethodHandler methodHandler = new InterceptorMethodHandler(interceptionContext, new DefaultInvocationContextFactory());
+            InterceptorMethodHandler methodHandler = new InterceptorMethodHandler(interceptionContext, new DefaultInvocationContextFactory(), invocationTimers);
             CombinedInterceptorAndDecoratorStackMethodHandler wrapperMethodHandler = (CombinedInterceptorAndDecoratorStackMethodHandler) ((ProxyObject) instance).getHandler();
             wrapperMethodHandler.setInterceptorMethodHandler(methodHandler);
         } catch (Exception e) {
@@ -0,0 +1,34 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.injection.producer;
+
+/**
+ * Provides direct (non-reflective) access to fields and methods of a bean class. Implementations are generated at runtime by
+ * {@link MemberAccessorFactory}. Members are identified by their index in the lists passed to the factory.
+ */
+public interface MemberAccessor {
+
+    /**
+     * Sets the value of the field with the given index on the given instance.
+     */
+    void set(int field, Object instance, Object value);
+
+    /**
+     * Invokes the method with the given index on the given instance. The return value of the method, if any, is discarded.
+     */
+    void invoke(int method, Object instance, Object[] parameters);
+}
@@ -0,0 +1,321 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.injection.producer;
+
+import static org.jboss.weld.logging.Category.BEAN;
+import static org.jboss.weld.logging.LoggerFactory.loggerFactory;
+import static org.jboss.weld.logging.messages.BeanMessage.UNABLE_TO_GENERATE_MEMBER_ACCESSOR;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.security.AccessController;
+import java.util.List;
+
+import org.jboss.classfilewriter.AccessFlag;
+import org.jboss.classfilewriter.ClassFile;
+import org.jboss.classfilewriter.ClassMethod;
+import org.jboss.classfilewriter.code.BranchEnd;
+import org.jboss.classfilewriter.code.CodeAttribute;
+import org.jboss.weld.security.NewInstanceAction;
+import org.jboss.weld.util.bytecode.Boxing;
+import org.jboss.weld.util.bytecode.ClassFileUtils;
+import org.jboss.weld.util.bytecode.DescriptorUtils;
+import org.slf4j.cal10n.LocLogger;
+import org.slf4j.ext.XLogger;
+import org.slf4j.ext.XLogger.Level;
+
+/**
+ * Generates {@link MemberAccessor} implementations for bean classes. The generated class is defined in the package and the
+ * classloader of the bean class so that it can access non-private members of the bean class directly. Members which cannot be
+ * accessed this way (e.g. private members or members declared by a superclass from a different package) are not handled by the
+ * generated class and need to be accessed using reflection. Use {@link #isAccessible(Member, Class)} to find out whether a given
+ * member is handled by the generated accessor.
+ *
+ * @see org.jboss.weld.config.ConfigurationKey#GENERATED_INJECTORS
+ */
+public class MemberAccessorFactory {
+
+    private static final LocLogger log = loggerFactory().getLogger(BEAN);
+    private static final XLogger xLog = loggerFactory().getXLogger(BEAN);
+
+    private static final String CLASS_NAME_SUFFIX = "$$_WeldMemberAccessor_";
+    private static final String OBJECT_CLASS_NAME = Object.class.getName();
+    private static final String ILLEGAL_ARGUMENT_EXCEPTION_CLASS_NAME = IllegalArgumentException.class.getName();
+    // the number of class names tried for accessors whose signatures have the same hash code
+    private static final int MAX_CANDIDATES = 8;
+    // a string constant in a class file holds up to 65535 bytes of modified UTF-8, i.e. at least 21845 chars
+    private static final int MAX_SIGNATURE_LENGTH = 65535 / 3;
+
+    private MemberAccessorFactory() {
+    }
+
+    /**
+     * Creates a {@link MemberAccessor} for the given fields and methods of the given bean class. The index of a member within the
+     * given list identifies the member when calling {@link MemberAccessor#set(int, Object, Object)} or
+     * {@link MemberAccessor#invoke(int, Object, Object[])}.
+     *
+     * @return the member accessor or null if none of the members is accessible from a generated class or if the accessor
+     *         cannot be generated
+     */
+    public static MemberAccessor create(Class<?> beanClass, List<Field> fields, List<Method> methods) {
+        if (!isSupported(beanClass) || !containsAccessibleMember(beanClass, fields, methods)) {
+            return null;
+        }
+        try {
+            return getAccessor(beanClass, fields, methods);
+        } catch (Throwable e) {
+            log.debug(UNABLE_TO_GENERATE_MEMBER_ACCESSOR, beanClass);
+            xLog.throwing(Level.DEBUG, e);
+            return null;
+        }
+    }
+
+    /**
+     * Indicates whether the given member of the given bean class is handled by the generated {@link MemberAccessor}.
+     */
+    public static boolean isAccessible(Member member, Class<?> beanClass) {
+        int modifiers = member.getModifiers();
+        if (Modifier.isPrivate(modifiers) || Modifier.isStatic(modifiers)) {
+            return false;
+        }
+        Class<?> declaringClass = member.getDeclaringClass();
+        if (!isAccessibleType(declaringClass, beanClass)) {
+            return false;
+        }
+        if (!Modifier.isPublic(modifiers) && !isSameRuntimePackage(declaringClass, beanClass)) {
+            return false;
+        }
+        if (member instanceof Field) {
+            Field field = (Field) member;
+            return !Modifier.isFinal(modifiers) && isAccessibleType(field.getType(), beanClass);
+        }
+        if (member instanceof Method) {
+            for (Class<?> parameterType : ((Method) member).getParameterTypes()) {
+                if (!isAccessibleType(parameterType, beanClass)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isSupported(Class<?> beanClass) {
+        return beanClass.getClassLoader() != null && !beanClass.getName().startsWith("java") && !beanClass.isInterface();
+    }
+
+    private static boolean containsAccessibleMember(Class<?> beanClass, List<Field> fields, List<Method> methods) {
+        for (Field field : fields) {
+            if (isAccessible(field, beanClass)) {
+                return true;
+            }
+        }
+        for (Method method : methods) {
+            if (isAccessible(method, beanClass)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A type is accessible if it can be resolved by the classloader of the bean class and if it is either public or defined in
+     * the same runtime package as the bean class.
+     */
+    private static boolean isAccessibleType(Class<?> type, Class<?> beanClass) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive()) {
+            return true;
+        }
+        try {
+            if (Class.forName(type.getName(), false, beanClass.getClassLoader()) != type) {
+                return false;
+            }
+        } catch (ClassNotFoundException e) {
+            return false;
+        } catch (LinkageError e) {
+            return false;
+        }
+        return Modifier.isPublic(type.getModifiers()) || isSameRuntimePackage(type, beanClass);
+    }
+
+    private static boolean isSameRuntimePackage(Class<?> class1, Class<?> class2) {
+        return class1.getClassLoader() == class2.getClassLoader() && getPackageName(class1).equals(getPackageName(class2));
+    }
+
+    private static String getPackageName(Class<?> clazz) {
+        String name = clazz.getName();
+        int index = name.lastIndexOf('.');
+        return index == -1 ? "" : name.substring(0, index);
+    }
+
+    /**
+     * The accessor class is named after the hash code of the signature of the members it accesses. As different signatures may
+     * have the same hash code, the accessor returns its signature from {@link Object#toString()} and an existing class whose
+     * signature does not match is skipped in favour of the next candidate name.
+     */
+    private static MemberAccessor getAccessor(Class<?> beanClass, List<Field> fields, List<Method> methods) throws Exception {
+        String signature = getSignature(fields, methods);
+        if (signature.length() > MAX_SIGNATURE_LENGTH) {
+            throw new IllegalStateException("The signature of the members of " + beanClass + " is too long");
+        }
+        String accessorClassName = beanClass.getName() + CLASS_NAME_SUFFIX + Integer.toHexString(signature.hashCode());
+        for (int i = 0; i < MAX_CANDIDATES; i++) {
+            String candidateName = (i == 0) ? accessorClassName : accessorClassName + "_" + i;
+            Class<?> accessorClass = getAccessorClass(candidateName, signature, beanClass, fields, methods);
+            MemberAccessor accessor = (MemberAccessor) AccessController.doPrivileged(NewInstanceAction.of(accessorClass));
+            if (signature.equals(accessor.toString())) {
+                return accessor;
+            }
+        }
+        throw new IllegalStateException("No accessor class name available for " + beanClass);
+    }
+
+    private static Class<?> getAccessorClass(String accessorClassName, String signature, Class<?> beanClass, List<Field> fields, List<Method> methods) throws ClassNotFoundException {
+        ClassLoader classLoader = beanClass.getClassLoader();
+        try {
+            return classLoader.loadClass(accessorClassName);
+        } catch (ClassNotFoundException e) {
+            try {
+                return createAccessorClass(accessorClassName, signature, beanClass, fields, methods);
+            } catch (RuntimeException e1) {
+                // another thread may have defined the class in the meantime
+                return classLoader.loadClass(accessorClassName);
+            } catch (LinkageError e1) {
+                return classLoader.loadClass(accessorClassName);
+            }
+        }
+    }
+
+    private static String getSignature(List<Field> fields, List<Method> methods) {
+        StringBuilder signature = new StringBuilder();
+        for (Field field : fields) {
+            signature.append(field.getDeclaringClass().getName()).append('.').append(field.getName()).append(';');
+        }
+        for (Method method : methods) {
+            signature.append(method.toString()).append(';');
+        }
+        return signature.toString();
+    }
+
+    private static Class<?> createAccessorClass(String accessorClassName, String signature, Class<?> beanClass, List<Field> fields, List<Method> methods) {
+        ClassFile accessorClass = new ClassFile(accessorClassName, OBJECT_CLASS_NAME);
+        accessorClass.addInterface(MemberAccessor.class.getName());
+        addConstructor(accessorClass);
+        addToStringMethod(accessorClass, signature);
+        addSetMethod(accessorClass, beanClass, fields);
+        addInvokeMethod(accessorClass, beanClass, methods);
+        return ClassFileUtils.toClass(accessorClass, beanClass.getClassLoader(), beanClass.getProtectionDomain());
+    }
+
+    private static void addConstructor(ClassFile accessorClass) {
+        ClassMethod constructor = accessorClass.addMethod(AccessFlag.PUBLIC, "<init>", "V");
+        CodeAttribute b = constructor.getCodeAttribute();
+        b.aload(0);
+        b.invokespecial(OBJECT_CLASS_NAME, "<init>", "()V");
+        b.returnInstruction();
+    }
+
+    private static void addToStringMethod(ClassFile accessorClass, String signature) {
+        ClassMethod method = accessorClass.addMethod(AccessFlag.PUBLIC, "toString", "Ljava/lang/String;");
+        CodeAttribute b = method.getCodeAttribute();
+        b.ldc(signature);
+        b.returnInstruction();
+    }
+
+    /**
+     * Generates <code>set(int field, Object instance, Object value)</code> as a sequence of index comparisons, each of which
+     * stores the value into the given field.
+     */
+    private static void addSetMethod(ClassFile accessorClass, Class<?> beanClass, List<Field> fields) {
+        ClassMethod method = accessorClass.addMethod(AccessFlag.PUBLIC, "set", "V", "I", "Ljava/lang/Object;", "Ljava/lang/Object;");
+        CodeAttribute b = method.getCodeAttribute();
+        for (int i = 0; i < fields.size(); i++) {
+            Field field = fields.get(i);
+            if (!isAccessible(field, beanClass)) {
+                continue;
+            }
+            b.iload(1);
+            b.iconst(i);
+            BranchEnd next = b.ifIcmpne();
+            b.aload(2);
+            b.checkcast(field.getDeclaringClass().getName());
+            b.aload(3);
+            castOrUnbox(b, field.getType());
+            b.putfield(field.getDeclaringClass().getName(), field.getName(), DescriptorUtils.classToStringRepresentation(field.getType()));
+            b.returnInstruction();
+            b.branchEnd(next);
+        }
+        throwIllegalArgumentException(b);
+    }
+
+    /**
+     * Generates <code>invoke(int method, Object instance, Object[] parameters)</code> as a sequence of index comparisons, each of
+     * which invokes the given method and discards its return value.
+     */
+    private static void addInvokeMethod(ClassFile accessorClass, Class<?> beanClass, List<Method> methods) {
+        ClassMethod method = accessorClass.addMethod(AccessFlag.PUBLIC, "invoke", "V", "I", "Ljava/lang/Object;", "[Ljava/lang/Object;");
+        CodeAttribute b = method.getCodeAttribute();
+        for (int i = 0; i < methods.size(); i++) {
+            Method target = methods.get(i);
+            if (!isAccessible(target, beanClass)) {
+                continue;
+            }
+            b.iload(1);
+            b.iconst(i);
+            BranchEnd next = b.ifIcmpne();
+            b.aload(2);
+            b.checkcast(target.getDeclaringClass().getName());
+            Class<?>[] parameterTypes = target.getParameterTypes();
+            for (int j = 0; j < parameterTypes.length; j++) {
+                b.aload(3);
+                b.iconst(j);
+                b.aaload();
+                castOrUnbox(b, parameterTypes[j]);
+            }
+            b.invokevirtual(target.getDeclaringClass().getName(), target.getName(), DescriptorUtils.getMethodDescriptor(target));
+            Class<?> returnType = target.getReturnType();
+            if (long.class.equals(returnType) || double.class.equals(returnType)) {
+                b.pop2();
+            } else if (!void.class.equals(returnType)) {
+                b.pop();
+            }
+            b.returnInstruction();
+            b.branchEnd(next);
+        }
+        throwIllegalArgumentException(b);
+    }
+
+    private static void castOrUnbox(CodeAttribute b, Class<?> type) {
+        if (type.isPrimitive()) {
+            Boxing.unbox(b, DescriptorUtils.classToStringRepresentation(type));
+        } else if (!Object.class.equals(type)) {
+            b.checkcast(type.getName());
+        }
+    }
+
+    private static void throwIllegalArgumentException(CodeAttribute b) {
+        b.newInstruction(ILLEGAL_ARGUMENT_EXCEPTION_CLASS_NAME);
+        b.dup();
+        b.invokespecial(ILLEGAL_ARGUMENT_EXCEPTION_CLASS_NAME, "<init>", "()V");
+        b.athrow();
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.injection.producer;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.CreationException;
+
+import org.jboss.weld.bean.proxy.DecoratorProxy;
+import org.jboss.weld.injection.FieldInjectionPoint;
+import org.jboss.weld.injection.MethodInjectionPoint;
+import org.jboss.weld.interceptor.util.proxy.TargetInstanceProxy;
+import org.jboss.weld.manager.BeanManagerImpl;
+
+/**
+ * Injects fields and calls initializer methods using a generated {@link MemberAccessor} instead of reflection. Injection
+ * points whose members are not handled by the accessor are processed reflectively, the same way
+ * {@link org.jboss.weld.util.Beans#injectFieldsAndInitializers(Object, CreationalContext, BeanManagerImpl, List, List)} does.
+ *
+ * @param <T>
+ */
+class MemberAccessorInjector<T> {
+
+    private static final int REFLECTION = -1;
+
+    /**
+     * Creates a new injector for the given injection points.
+     *
+     * @return the injector or null if no {@link MemberAccessor} is available for the given bean class
+     */
+    static <T> MemberAccessorInjector<T> of(Class<T> beanClass, List<Set<FieldInjectionPoint<?, ?>>> injectableFields, List<Set<MethodInjectionPoint<?, ?>>> initializerMethods) {
+        if (injectableFields.size() != initializerMethods.size()) {
+            return null;
+        }
+        List<Field> fields = new ArrayList<Field>();
+        for (Set<FieldInjectionPoint<?, ?>> layer : injectableFields) {
+            for (FieldInjectionPoint<?, ?> field : layer) {
+                fields.add(field.getAnnotated().getJavaMember());
+            }
+        }
+        List<Method> methods = new ArrayList<Method>();
+        for (Set<MethodInjectionPoint<?, ?>> layer : initializerMethods) {
+            for (MethodInjectionPoint<?, ?> method : layer) {
+                methods.add(method.getAnnotated().getJavaMember());
+            }
+        }
+        MemberAccessor accessor = MemberAccessorFactory.create(beanClass, fields, methods);
+        if (accessor == null) {
+            return null;
+        }
+        return new MemberAccessorInjector<T>(beanClass, accessor, injectableFields, initializerMethods);
+    }
+
+    private final MemberAccessor accessor;
+    // injection points and accessor indexes grouped by class hierarchy layer, REFLECTION for members not handled by the accessor
+    private final FieldInjectionPoint<?, ?>[][] fields;
+    private final int[][] fieldIndexes;
+    private final MethodInjectionPoint<?, ?>[][] initializers;
+    private final int[][] initializerIndexes;
+
+    private MemberAccessorInjector(Class<T> beanClass, MemberAccessor accessor, List<Set<FieldInjectionPoint<?, ?>>> injectableFields, List<Set<MethodInjectionPoint<?, ?>>> initializerMethods) {
+        this.accessor = accessor;
+        this.fields = new FieldInjectionPoint<?, ?>[injectableFields.size()][];
+        this.fieldIndexes = new int[injectableFields.size()][];
+        int index = 0;
+        for (int i = 0; i < fields.length; i++) {
+            Set<FieldInjectionPoint<?, ?>> layer = injectableFields.get(i);
+            fields[i] = layer.toArray(new FieldInjectionPoint<?, ?>[layer.size()]);
+            fieldIndexes[i] = new int[layer.size()];
+            for (int j = 0; j < fields[i].length; j++) {
+                boolean accessible = MemberAccessorFactory.isAccessible(fields[i][j].getAnnotated().getJavaMember(), beanClass);
+                fieldIndexes[i][j] = accessible ? index : REFLECTION;
+                index++;
+            }
+        }
+        this.initializers = new MethodInjectionPoint<?, ?>[initializerMethods.size()][];
+        this.initializerIndexes = new int[initializerMethods.size()][];
+        index = 0;
+        for (int i = 0; i < initializers.length; i++) {
+            Set<MethodInjectionPoint<?, ?>> layer = initializerMethods.get(i);
+            initializers[i] = layer.toArray(new MethodInjectionPoint<?, ?>[layer.size()]);
+            initializerIndexes[i] = new int[layer.size()];
+            for (int j = 0; j < initializers[i].length; j++) {
+                boolean accessible = MemberAccessorFactory.isAccessible(initializers[i][j].getAnnotated().getJavaMember(), beanClass);
+                initializerIndexes[i][j] = accessible ? index : REFLECTION;
+                index++;
+            }
+        }
+    }
+
+    void inject(T instance, CreationalContext<T> ctx, BeanManagerImpl manager) {
+        Object declaringInstance = instance;
+        // if the instance is a proxy, fields are injected into the underlying instance
+        if (!(instance instanceof DecoratorProxy) && instance instanceof TargetInstanceProxy<?>) {
+            declaringInstance = ((TargetInstanceProxy<?>) instance).getTargetInstance();
+        }
+        for (int i = 0; i < fields.length; i++) {
+            injectFields(instance, declaringInstance, ctx, manager, fields[i], fieldIndexes[i]);
+            callInitializers(instance, ctx, manager, initializers[i], initializerIndexes[i]);
+        }
+    }
+
+    private void injectFields(T instance, Object declaringInstance, CreationalContext<T> ctx, BeanManagerImpl manager, FieldInjectionPoint<?, ?>[] fields, int[] indexes) {
+        for (int i = 0; i < fields.length; i++) {
+            if (indexes[i] == REFLECTION) {
+                fields[i].inject(instance, manager, ctx);
+            } else {
+                accessor.set(indexes[i], declaringInstance, fields[i].getValueToInject(manager, ctx));
+            }
+        }
+    }
+
+    private void callInitializers(T instance, CreationalContext<T> ctx, BeanManagerImpl manager, MethodInjectionPoint<?, ?>[] initializers, int[] indexes) {
+        for (int i = 0; i < initializers.length; i++) {
+            if (indexes[i] == REFLECTION) {
+                initializers[i].invoke(instance, manager, ctx, CreationException.class);
+            } else {
+                CreationalContext<?> invocationContext = manager.createCreationalContext(null);
+                try {
+                    accessor.invoke(indexes[i], instance, initializers[i].getParameterValues(manager, ctx, invocationContext));
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    // a checked exception thrown by the initializer
+                    throw new CreationException(e);
+                } finally {
+                    invocationContext.release();
+                }
+            }
+        }
+    }
+}
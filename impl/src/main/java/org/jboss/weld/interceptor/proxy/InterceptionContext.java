@@ -30,6 +30,7 @@ import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import javax.enterprise.context.spi.CreationalContext;
 
@@ -40,6 +41,10 @@ import org.jboss.weld.interceptor.spi.metadata.InterceptorMetadata;
 import org.jboss.weld.interceptor.spi.model.InterceptionModel;
 import org.jboss.weld.interceptor.spi.model.InterceptionType;
 import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.metrics.Counter;
+import org.jboss.weld.metrics.MetricGroup;
+import org.jboss.weld.metrics.Metrics;
+import org.jboss.weld.metrics.MetricsSupport;
 
 import com.google.common.collect.ImmutableSet;
 
@@ -75,6 +80,9 @@ public class InterceptionContext implements Serializable {
     private final Map<Class<?>, Object> interceptorInstances;
     private final BeanManagerImpl manager;
     private final Class<?> targetClass;
+    private final transient Metrics metrics;
+    // the invocation counters indexed by the ordinal of the interception type, resolved on the first invocation
+    private final transient AtomicReferenceArray<Counter> invocationCounters;
 
     private InterceptionContext(Map<Class<?>, Object> interceptorInstances, BeanManagerImpl manager, TargetClassInterceptorMetadata<?> targetClassInterceptorMetadata, InterceptionModel<ClassMetadata<?>, ?> interceptionModel) {
         this.interceptorInstances = interceptorInstances;
@@ -82,6 +90,8 @@ public class InterceptionContext implements Serializable {
         this.targetClassInterceptorMetadata = targetClassInterceptorMetadata;
         this.interceptionModel = interceptionModel;
         this.targetClass = targetClassInterceptorMetadata.getInterceptorClass().getJavaClass();
+        this.metrics = MetricsSupport.getMetrics(manager.getServices());
+        this.invocationCounters = new AtomicReferenceArray<Counter>(InterceptionType.values().length);
     }
 
     private static Map<Class<?>, Object> initInterceptorInstanceMap(InterceptionModel<?, ?> model, CreationalContext ctx, BeanManagerImpl manager, Set<InterceptionType> interceptionTypes) {
@@ -108,6 +118,22 @@ public class InterceptionContext implements Serializable {
         return cast(interceptorInstances.get(interceptorMetadata.getInterceptorClass().getJavaClass()));
     }
 
+    /**
+     * Counts an invocation of the interceptor chain.
+     *
+     * @param interceptionType the type of the interception
+     */
+    public void countInvocation(InterceptionType interceptionType) {
+        if (metrics.isEnabled()) {
+            Counter counter = invocationCounters.get(interceptionType.ordinal());
+            if (counter == null) {
+                counter = metrics.getCounter(MetricGroup.INTERCEPTION, interceptionType.name());
+                invocationCounters.set(interceptionType.ordinal(), counter);
+            }
+            counter.increment();
+        }
+    }
+
     private Object readResolve() throws ObjectStreamException {
         InterceptionModel<ClassMetadata<?>, ?> interceptionModel = manager.getInterceptorModelRegistry().get(targetClass);
         MetadataCachingReader reader = manager.getInterceptorMetadataReader();
@@ -9,6 +9,7 @@ import org.jboss.weld.interceptor.spi.context.InvocationContextFactory;
 import org.jboss.weld.interceptor.spi.metadata.MethodMetadata;
 import org.jboss.weld.interceptor.spi.model.InterceptionType;
 import org.jboss.weld.interceptor.util.InterceptionUtils;
+import org.jboss.weld.metrics.InvocationTimers;
 import org.jboss.weld.security.SetAccessibleAction;
 
 /**
@@ -20,10 +21,17 @@ public class InterceptorMethodHandler implements MethodHandler, Serializable {
 
     private final InterceptionContext ctx;
     private final InvocationContextFactory factory;
+    // The timers of the invocations of an instrumented bean, not restored after deserialization
+    private final transient InvocationTimers invocationTimers;
 
     public InterceptorMethodHandler(InterceptionContext ctx, InvocationContextFactory factory) {
+        this(ctx, factory, null);
+    }
+
+    public InterceptorMethodHandler(InterceptionContext ctx, InvocationContextFactory factory, InvocationTimers invocationTimers) {
         this.ctx = ctx;
         this.factory = factory;
+        this.invocationTimers = invocationTimers;
     }
 
     public Object invoke(Object self, Method thisMethod, Method proceed, Object[] args) throws Throwable {
@@ -38,12 +46,21 @@ public class InterceptorMethodHandler implements MethodHandler, Serializable {
             if (isInterceptorMethod(thisMethod)) {
                 return proceed.invoke(self, args);
             }
-            return executeInterception(self, thisMethod, args, InterceptionType.AROUND_INVOKE);
+            if (invocationTimers == null) {
+                return executeInterception(self, thisMethod, args, InterceptionType.AROUND_INVOKE);
+            }
+            long start = System.nanoTime();
+            try {
+                return executeInterception(self, thisMethod, args, InterceptionType.AROUND_INVOKE);
+            } finally {
+                invocationTimers.record(thisMethod, System.nanoTime() - start);
+            }
         }
         return null;
     }
 
     protected Object executeInterception(Object instance, Method method, Object[] args, InterceptionType interceptionType) throws Throwable {
+        ctx.countInvocation(interceptionType);
         SimpleInterceptionChain chain = new SimpleInterceptionChain(instance, method, args, interceptionType, ctx);
         return chain.invokeNextInterceptor(factory.newInvocationContext(chain, instance, method, args));
     }
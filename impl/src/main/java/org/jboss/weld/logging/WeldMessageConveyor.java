@@ -17,6 +17,8 @@
 package org.jboss.weld.logging;
 
 import java.lang.reflect.Field;
+import java.text.FieldPosition;
+import java.text.MessageFormat;
 import java.util.Locale;
 import java.util.concurrent.ConcurrentMap;
 
@@ -26,17 +28,55 @@ import ch.qos.cal10n.MessageConveyorException;
 import com.google.common.base.Function;
 import com.google.common.collect.MapMaker;
 
+/**
+ * Prefixes the localized messages with the subsystem and the {@link MessageId} of the key.
+ *
+ * <p>
+ * The prefix and the message pattern are computed once per key. Messages with arguments are formatted using a
+ * {@link MessageFormat} compiled once per key for the locale of this conveyor. Since a {@link MessageFormat} is not thread-safe,
+ * a copy of the compiled format is used for each message.
+ * </p>
+ */
 public class WeldMessageConveyor extends MessageConveyor {
 
-    private static class ComputeMessagePrefix implements Function<Enum<?>, String> {
+    private static class Message {
+
+        private final String prefix;
+        private final String pattern;
+        private final Locale locale;
+        private volatile MessageFormat format;
+
+        private Message(String prefix, String pattern, Locale locale) {
+            this.prefix = prefix;
+            this.pattern = pattern;
+            this.locale = locale;
+        }
+
+        private String format(Object[] args) {
+            if (args == null || args.length == 0) {
+                return new StringBuilder(prefix.length() + pattern.length()).append(prefix).append(pattern).toString();
+            }
+            MessageFormat format = this.format;
+            if (format == null) {
+                // there is no need to synchronize, concurrent callers compile equal formats
+                format = new MessageFormat(pattern, locale);
+                this.format = format;
+            }
+            MessageFormat copy = (MessageFormat) format.clone();
+            return copy.format(args, new StringBuffer(prefix), new FieldPosition(0)).toString();
+        }
+
+    }
+
+    private class ComputeMessage implements Function<Enum<?>, Message> {
 
         private final String subsystem;
 
-        private ComputeMessagePrefix(String subsystem) {
+        private ComputeMessage(String subsystem) {
             this.subsystem = subsystem;
         }
 
-        public String apply(Enum<?> from) {
+        public Message apply(Enum<?> from) {
             Field field;
             try {
                 field = from.getClass().getField(from.name());
@@ -47,27 +87,27 @@ public class WeldMessageConveyor extends MessageConveyor {
                 throw new IllegalArgumentException("@MessageId must be present. Key: " + from + "; Key Type: " + from.getClass());
             }
             String messageId = field.getAnnotation(MessageId.class).value();
-            return new StringBuilder().append(subsystem).append(SEPARATOR).append(messageId).append(" ").toString();
+            String prefix = new StringBuilder().append(subsystem).append(SEPARATOR).append(messageId).append(" ").toString();
+            // without arguments the message is not formatted
+            return new Message(prefix, WeldMessageConveyor.super.getMessage(from), locale);
         }
 
     }
 
     private static final String SEPARATOR = "-";
 
-    private final ConcurrentMap<Enum<?>, String> messagePrefixCache;
+    private final Locale locale;
+    private final ConcurrentMap<Enum<?>, Message> messageCache;
 
     public WeldMessageConveyor(Locale locale, String subsystem) {
         super(locale);
-        this.messagePrefixCache = new MapMaker().makeComputingMap(new ComputeMessagePrefix(subsystem));
+        this.locale = locale;
+        this.messageCache = new MapMaker().makeComputingMap(new ComputeMessage(subsystem));
     }
 
     @Override
     public <E extends Enum<?>> String getMessage(E key, Object... args) throws MessageConveyorException {
-        return new StringBuilder().append(getMessagePrefix(key)).append(super.getMessage(key, args)).toString();
-    }
-
-    private <E extends Enum<?>> String getMessagePrefix(final E key) {
-        return messagePrefixCache.get(key);
+        return messageCache.get(key).format(args);
     }
 
 }
@@ -169,5 +169,7 @@ public enum BeanMessage {
     @MessageId("001526")PASSIVATING_BEAN_HAS_NON_PASSIVATION_CAPABLE_DECORATOR,
     @MessageId("001527")PASSIVATING_BEAN_HAS_NON_PASSIVATION_CAPABLE_INTERCEPTOR,
     @MessageId("001528")CANNOT_INSTANTIATE_ABSTRACT_CLASS,
+    @MessageId("001529")UNABLE_TO_GENERATE_MEMBER_ACCESSOR,
+    @MessageId("001530")UNABLE_TO_DUMP_PROXY_CLASS,
 
 }
@@ -64,6 +64,15 @@ public enum BootstrapMessage {
     @MessageId("000129")DUPLICATE_ANNOTATED_TYPE_ID,
     @MessageId("000130")ANNOTATED_TYPE_JAVA_CLASS_MISMATCH,
     @MessageId("000131")PRIORITY_OUTSIDE_OF_RECOMMENDED_RANGE,
+    @MessageId("000132")EAGER_INITIALIZATION_STARTED,
+    @MessageId("000133")BEAN_INITIALIZED_EAGERLY,
+    @MessageId("000134")EAGER_INITIALIZATION_FAILED,
+    @MessageId("000135")EAGER_INITIALIZATION_FINISHED,
+    @MessageId("000136")CLIENT_PROXY_GENERATION_FAILED,
+    @MessageId("000137")CLIENT_PROXY_GENERATION_FINISHED,
+    @MessageId("000138")UNABLE_TO_REGISTER_MBEAN,
+    @MessageId("000139")UNABLE_TO_UNREGISTER_MBEAN,
+    @MessageId("000140")INVALID_PROPERTY_TYPE,
     ;
 
 }
@@ -54,6 +54,8 @@ public enum ContextMessage {
     @MessageId("000219")UNABLE_TO_REMOVE_KEY_FROM_SESSION,
     @MessageId("000220")ADDED_KEY_TO_SESSION,
     @MessageId("000221")UNABLE_TO_ADD_KEY_TO_SESSION,
-    @MessageId("000222")LOADING_BEAN_STORE_MAP_FROM_SESSION;
+    @MessageId("000222")LOADING_BEAN_STORE_MAP_FROM_SESSION,
+    @MessageId("000223")SLOW_CONTEXTUAL_INSTANCE_CREATION,
+    @MessageId("000224")CONTEXTUAL_INSTANCE_LOCK_WAIT;
 
 }
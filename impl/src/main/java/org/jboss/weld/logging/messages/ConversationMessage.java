@@ -60,6 +60,7 @@ public enum ConversationMessage {
     @MessageId("000218")CONVERSATION_ID_ALREADY_IN_USE,
     @MessageId("000320")CLEANING_UP_TRANSIENT_CONVERSATION,
     @MessageId("000321")NO_CONVERSATION_FOUND_TO_RESTORE,
-    @MessageId("000322")CONVERSATION_LOCK_TIMEDOUT
+    @MessageId("000322")CONVERSATION_LOCK_TIMEDOUT,
+    @MessageId("000323")CONVERSATION_LOCK_WAIT
 
 }
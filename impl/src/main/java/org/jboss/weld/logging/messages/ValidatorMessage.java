@@ -106,4 +106,5 @@ public enum ValidatorMessage {
     @MessageId("001469")INTERCEPTOR_METHOD_DOES_NOT_HAVE_ZERO_PARAMETERS,
     @MessageId("001470")AROUND_CONSTRUCT_INTERCEPTOR_METHOD_NOT_ALLOWED_ON_TARGET_CLASS,
     @MessageId("001471")INTERCEPTOR_METHOD_SHOULD_NOT_THROW_CHECKED_EXCEPTIONS,
+    @MessageId("001472")POOLED_BEAN_WITH_NON_STATIC_MEMBER,
 }
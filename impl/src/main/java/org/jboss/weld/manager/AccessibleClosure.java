@@ -0,0 +1,137 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.manager;
+
+import static org.jboss.weld.manager.BeanManagers.buildAccessibleClosure;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jboss.weld.util.collections.IterableToIteratorFunction;
+import org.jboss.weld.util.reflection.Reflections;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Iterators;
+
+/**
+ * Iterable over the items (beans, observer methods, interceptors, decorators) of all the bean managers accessible from a given
+ * bean manager.
+ *
+ * <p>
+ * During bootstrap, the graph of accessible bean managers is walked on each iteration as both the graph and the items change.
+ * Once the closure is frozen (at the end of bootstrap), the items are materialized upon the first iteration and reused
+ * afterwards. The materialized items are dropped if an item or an accessible bean manager is added later on.
+ * </p>
+ *
+ * @param <T> the type of items
+ */
+class AccessibleClosure<T> implements Iterable<T> {
+
+    private final BeanManagerImpl beanManager;
+    private final Transform<T> transform;
+    // true if the items do not depend on the bean manager the closure is computed for
+    private final boolean shareable;
+
+    private volatile boolean frozen;
+    /*
+     * The materialized items together with the version they were computed for. The version is incremented by invalidate() so
+     * that items computed before an invalidation are never published afterwards.
+     */
+    private final AtomicReference<State<T>> state;
+
+    AccessibleClosure(BeanManagerImpl beanManager, Transform<T> transform, boolean shareable) {
+        this.beanManager = beanManager;
+        this.transform = transform;
+        this.shareable = shareable;
+        this.state = new AtomicReference<State<T>>(new State<T>(0, null));
+    }
+
+    public Iterator<T> iterator() {
+        List<T> items = state.get().items;
+        if (items != null) {
+            return items.iterator();
+        }
+        if (frozen) {
+            return materialize().iterator();
+        }
+        Set<Iterable<T>> closure = buildAccessibleClosure(beanManager, transform);
+        return Iterators.concat(Iterators.transform(closure.iterator(), IterableToIteratorFunction.<T>instance()));
+    }
+
+    private List<T> materialize() {
+        State<T> current = state.get();
+        List<T> items = ImmutableList.copyOf(Iterables.concat(buildAccessibleClosure(beanManager, transform)));
+        publish(current, items);
+        return items;
+    }
+
+    /**
+     * Publishes the items unless the closure was invalidated since the given state was read.
+     */
+    private void publish(State<T> expected, List<T> items) {
+        state.compareAndSet(expected, new State<T>(expected.version, items));
+    }
+
+    /**
+     * Materializes the items. Closures which are shareable and computed from the same set of bean managers share the same list
+     * of items.
+     *
+     * @param sharedItems items materialized so far, keyed by the transform type and the set of accessible bean managers
+     */
+    void freeze(Map<Object, List<?>> sharedItems) {
+        this.frozen = true;
+        if (!shareable) {
+            materialize();
+            return;
+        }
+        State<T> current = state.get();
+        Object key = Arrays.asList(transform.getClass(), BeanManagers.getTransitivelyAccessibleManagers(beanManager));
+        List<T> items = Reflections.cast(sharedItems.get(key));
+        if (items == null) {
+            items = materialize();
+            sharedItems.put(key, items);
+        } else {
+            publish(current, items);
+        }
+    }
+
+    /**
+     * Drops the materialized items. If the closure is frozen, the items are materialized again upon the next iteration.
+     */
+    void invalidate() {
+        State<T> current;
+        do {
+            current = state.get();
+        } while (!state.compareAndSet(current, new State<T>(current.version + 1, null)));
+    }
+
+    private static class State<T> {
+
+        private final int version;
+        private final List<T> items;
+
+        private State(int version, List<T> items) {
+            this.version = version;
+            this.items = items;
+        }
+    }
+}
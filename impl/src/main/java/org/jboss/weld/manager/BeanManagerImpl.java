@@ -104,6 +104,7 @@ import org.jboss.weld.bootstrap.api.ServiceRegistry;
 import org.jboss.weld.bootstrap.enablement.ModuleEnablement;
 import org.jboss.weld.bootstrap.events.ContainerLifecycleEvents;
 import org.jboss.weld.bootstrap.spi.CDI11Deployment;
+import org.jboss.weld.context.ActiveContextIndex;
 import org.jboss.weld.context.ContextNotActiveException;
 import org.jboss.weld.context.CreationalContextImpl;
 import org.jboss.weld.context.PassivatingContextWrapper;
@@ -136,6 +137,8 @@ import org.jboss.weld.metadata.cache.InterceptorBindingModel;
 import org.jboss.weld.metadata.cache.MetaAnnotationStore;
 import org.jboss.weld.metadata.cache.ScopeModel;
 import org.jboss.weld.metadata.cache.StereotypeModel;
+import org.jboss.weld.metrics.Metrics;
+import org.jboss.weld.metrics.MetricsSupport;
 import org.jboss.weld.resolution.BeanTypeAssignabilityRules;
 import org.jboss.weld.resolution.DecoratorResolvableBuilder;
 import org.jboss.weld.resolution.InterceptorResolvable;
@@ -161,6 +164,7 @@ import org.jboss.weld.util.collections.IterableToIteratorFunction;
 import org.jboss.weld.util.reflection.Reflections;
 import org.slf4j.cal10n.LocLogger;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterators;
 
 /**
@@ -193,6 +197,7 @@ public class BeanManagerImpl implements WeldManager, Serializable {
 
     // Contexts are shared across the application
     private final transient Map<Class<? extends Annotation>, List<Context>> contexts;
+    private final transient ActiveContextIndex activeContextIndex;
 
     // Client proxies can be used application wide
     private final transient ClientProxyProvider clientProxyProvider;
@@ -270,6 +275,16 @@ public class BeanManagerImpl implements WeldManager, Serializable {
     */
     private final transient HashSet<BeanManagerImpl> accessibleManagers;
 
+    /*
+    * The beans, observers, interceptors and decorators of the managers accessible from this bean deployment archive activity.
+    * These are frozen once bootstrap is finished.
+    */
+    private final transient AccessibleClosure<Bean<?>> accessibleBeans;
+    private final transient AccessibleClosure<ObserverMethod<?>> accessibleObservers;
+    private final transient AccessibleClosure<Interceptor<?>> accessibleInterceptors;
+    private final transient AccessibleClosure<Decorator<?>> accessibleDecorators;
+    private final transient List<AccessibleClosure<?>> accessibleClosures;
+
     /*
     * This data structures represents child activities for this activity, it is
     * not transitively accessible
@@ -307,6 +322,7 @@ public class BeanManagerImpl implements WeldManager, Serializable {
                 new ConcurrentHashMap<EjbDescriptor<?>, SessionBean<?>>(),
                 new ClientProxyProvider(),
                 contexts,
+                new ActiveContextIndex(),
                 new CopyOnWriteArraySet<CurrentActivity>(),
                 ModuleEnablement.EMPTY_ENABLEMENT,
                 id,
@@ -326,6 +342,7 @@ public class BeanManagerImpl implements WeldManager, Serializable {
                 rootManager.getEnterpriseBeans(),
                 rootManager.getClientProxyProvider(),
                 rootManager.getContexts(),
+                rootManager.activeContextIndex,
                 new CopyOnWriteArraySet<CurrentActivity>(),
                 ModuleEnablement.EMPTY_ENABLEMENT,
                 id,
@@ -361,6 +378,7 @@ public class BeanManagerImpl implements WeldManager, Serializable {
                 parentManager.getEnterpriseBeans(),
                 parentManager.getClientProxyProvider(),
                 parentManager.getContexts(),
+                parentManager.activeContextIndex,
                 parentManager.getCurrentActivities(),
                 parentManager.getEnabled(),
                 new StringBuilder().append(parentManager.getChildIds().incrementAndGet()).toString(),
@@ -379,6 +397,7 @@ public class BeanManagerImpl implements WeldManager, Serializable {
             Map<EjbDescriptor<?>, SessionBean<?>> enterpriseBeans,
             ClientProxyProvider clientProxyProvider,
             Map<Class<? extends Annotation>, List<Context>> contexts,
+            ActiveContextIndex activeContextIndex,
             Set<CurrentActivity> currentActivities,
             ModuleEnablement enabled,
             String id,
@@ -392,6 +411,7 @@ public class BeanManagerImpl implements WeldManager, Serializable {
         this.enterpriseBeans = enterpriseBeans;
         this.clientProxyProvider = clientProxyProvider;
         this.contexts = contexts;
+        this.activeContextIndex = activeContextIndex;
         this.currentActivities = currentActivities;
         this.observers = observers;
         this.enabled = enabled;
@@ -405,16 +425,21 @@ public class BeanManagerImpl implements WeldManager, Serializable {
         // Set up the structure to store accessible managers in
         this.accessibleManagers = new HashSet<BeanManagerImpl>();
 
-        // TODO Currently we build the accessible bean list on the fly, we need to set it in stone once bootstrap is finished...
-        Transform<Bean<?>> beanTransform = new BeanTransform(this);
-        this.beanResolver = new TypeSafeBeanResolver(this, createDynamicAccessibleIterable(beanTransform));
-        this.decoratorResolver = new TypeSafeDecoratorResolver(this, createDynamicGlobalIterable(DecoratorTransform.INSTANCE));
-        this.interceptorResolver = new TypeSafeInterceptorResolver(this, createDynamicGlobalIterable(InterceptorTransform.INSTANCE));
-        this.nameBasedResolver = new NameBasedResolver(this, createDynamicAccessibleIterable(beanTransform));
+        // The accessible closures are built on the fly until they are frozen once bootstrap is finished
+        this.accessibleBeans = new AccessibleClosure<Bean<?>>(this, new BeanTransform(this), false);
+        this.accessibleObservers = new AccessibleClosure<ObserverMethod<?>>(this, ObserverMethodTransform.INSTANCE, true);
+        this.accessibleInterceptors = new AccessibleClosure<Interceptor<?>>(this, InterceptorTransform.INSTANCE, true);
+        this.accessibleDecorators = new AccessibleClosure<Decorator<?>>(this, DecoratorTransform.INSTANCE, true);
+        this.accessibleClosures = ImmutableList.<AccessibleClosure<?>>of(accessibleBeans, accessibleObservers, accessibleInterceptors, accessibleDecorators);
+        Metrics metrics = MetricsSupport.getMetrics(services);
+        this.beanResolver = new TypeSafeBeanResolver(this, accessibleBeans, metrics, "beanResolver");
+        this.decoratorResolver = new TypeSafeDecoratorResolver(this, createDynamicGlobalIterable(DecoratorTransform.INSTANCE), metrics, "decoratorResolver");
+        this.interceptorResolver = new TypeSafeInterceptorResolver(this, createDynamicGlobalIterable(InterceptorTransform.INSTANCE), metrics, "interceptorResolver");
+        this.nameBasedResolver = new NameBasedResolver(this, accessibleBeans);
         this.weldELResolver = new WeldELResolver(this);
         this.childActivities = new CopyOnWriteArraySet<BeanManagerImpl>();
 
-        TypeSafeObserverResolver accessibleObserverResolver = new TypeSafeObserverResolver(getServices().get(MetaAnnotationStore.class), createDynamicAccessibleIterable(ObserverMethodTransform.INSTANCE));
+        TypeSafeObserverResolver accessibleObserverResolver = new TypeSafeObserverResolver(getServices().get(MetaAnnotationStore.class), accessibleObservers, metrics, "observerResolver");
         this.accessibleLenientObserverNotifier = ObserverNotifier.of(accessibleObserverResolver, getServices(), false);
         GlobalObserverNotifierService globalObserverNotifierService = services.get(GlobalObserverNotifierService.class);
         this.globalLenientObserverNotifier = globalObserverNotifierService.getGlobalLenientObserverNotifier();
@@ -448,6 +473,7 @@ public class BeanManagerImpl implements WeldManager, Serializable {
 
     public void addAccessibleBeanManager(BeanManagerImpl accessibleBeanManager) {
         accessibleManagers.add(accessibleBeanManager);
+        invalidateAccessibleClosures();
         beanResolver.clear();
         interceptorResolver.clear();
         decoratorResolver.clear();
@@ -458,8 +484,29 @@ public class BeanManagerImpl implements WeldManager, Serializable {
         return accessibleManagers;
     }
 
+    List<AccessibleClosure<?>> getAccessibleClosures() {
+        return accessibleClosures;
+    }
+
+    NameBasedResolver getNameBasedResolver() {
+        return nameBasedResolver;
+    }
+
+    /**
+     * Drops the materialized accessible closures of every manager as any of them may include this manager.
+     */
+    private void invalidateAccessibleClosures() {
+        for (BeanManagerImpl manager : managers) {
+            for (AccessibleClosure<?> closure : manager.getAccessibleClosures()) {
+                closure.invalidate();
+            }
+            manager.nameBasedResolver.clear();
+        }
+    }
+
     public void addBean(Bean<?> bean) {
         addBean(bean, beans, transitiveBeans);
+        invalidateAccessibleClosures();
     }
 
     /**
@@ -475,6 +522,7 @@ public class BeanManagerImpl implements WeldManager, Serializable {
         // optimize so that we do not modify CopyOnWriteLists for each Bean
         this.beans.addAll(beanList);
         this.transitiveBeans.addAll(transitiveBeans);
+        invalidateAccessibleClosures();
         for (BeanManagerImpl childActivity : childActivities) {
             childActivity.addBeans(beanList);
         }
@@ -503,6 +551,7 @@ public class BeanManagerImpl implements WeldManager, Serializable {
         decorators.add(bean);
         getServices().get(ContextualStore.class).putIfAbsent(bean);
         decoratorResolver.clear();
+        invalidateAccessibleClosures();
     }
 
     @Override
@@ -514,6 +563,7 @@ public class BeanManagerImpl implements WeldManager, Serializable {
         interceptors.add(bean);
         getServices().get(ContextualStore.class).putIfAbsent(bean);
         interceptorResolver.clear();
+        invalidateAccessibleClosures();
     }
 
     /**
@@ -598,28 +648,30 @@ public class BeanManagerImpl implements WeldManager, Serializable {
     }
 
     public Iterable<Bean<?>> getAccessibleBeans() {
-        return createDynamicAccessibleIterable(new BeanTransform(this));
+        return accessibleBeans;
     }
 
     public Iterable<Interceptor<?>> getAccessibleInterceptors() {
-        return createDynamicAccessibleIterable(new InterceptorTransform());
+        return accessibleInterceptors;
     }
 
     public Iterable<Decorator<?>> getAccessibleDecorators() {
-        return createDynamicAccessibleIterable(new DecoratorTransform());
+        return accessibleDecorators;
     }
 
     public void addContext(Context context) {
         Class<? extends Annotation> scope = context.getScope();
+        Context registeredContext = context;
         if (isPassivatingScope(scope)) {
-            context = PassivatingContextWrapper.wrap(context, services.get(ContextualStore.class));
+            registeredContext = PassivatingContextWrapper.wrap(context, services.get(ContextualStore.class));
         }
         List<Context> contextList = contexts.get(scope);
         if (contextList == null) {
             contextList = new CopyOnWriteArrayList<Context>();
             contexts.put(scope, contextList);
         }
-        contextList.add(context);
+        contextList.add(registeredContext);
+        activeContextIndex.register(context, registeredContext);
     }
 
     /**
@@ -630,6 +682,7 @@ public class BeanManagerImpl implements WeldManager, Serializable {
     public void addObserver(ObserverMethod<?> observer) {
         //checkEventType(observer.getObservedType());
         observers.add(observer);
+        invalidateAccessibleClosures();
         for (BeanManagerImpl childActivity : childActivities) {
             childActivity.addObserver(observer);
         }
@@ -678,7 +731,11 @@ public class BeanManagerImpl implements WeldManager, Serializable {
     }
 
     private Context internalGetContext(Class<? extends Annotation> scopeType) {
-        Context activeContext = null;
+        Context activeContext = activeContextIndex.getActiveContext(scopeType);
+        if (activeContext != ActiveContextIndex.UNKNOWN) {
+            return activeContext;
+        }
+        activeContext = null;
         final List<Context> ctx = contexts.get(scopeType);
         if (ctx == null) {
             return null;
@@ -696,10 +753,8 @@ public class BeanManagerImpl implements WeldManager, Serializable {
     }
 
     public Object getReference(Bean<?> bean, Type requestedType, CreationalContext<?> creationalContext, boolean noProxy) {
-        if (creationalContext instanceof WeldCreationalContext<?>) {
-            creationalContext = ((WeldCreationalContext<?>) creationalContext).getCreationalContext(bean);
-        }
         if (!noProxy && isProxyRequired(bean)) {
+            // a client proxy never uses the creational context so there is no need to create a child context
             if (creationalContext != null || getContext(bean.getScope()).get(bean) != null) {
                 if (requestedType == null) {
                     return clientProxyProvider.getClientProxy(bean);
@@ -710,10 +765,29 @@ public class BeanManagerImpl implements WeldManager, Serializable {
                 return null;
             }
         } else {
+            if (creationalContext instanceof WeldCreationalContext<?>) {
+                creationalContext = ((WeldCreationalContext<?>) creationalContext).getCreationalContext(bean);
+            }
             return getContext(bean.getScope()).get(Reflections.<Contextual>cast(bean), creationalContext);
         }
     }
 
+    /**
+     * Returns a client proxy for the given bean which can be cached and reused for every injection into the given injection
+     * point. Null is returned if no client proxy is used for the injection point, i.e. if the bean is not normal-scoped or if
+     * the injection point is a delegate injection point.
+     *
+     * @param injectionPoint the injection point
+     * @param resolvedBean the bean resolved for the injection point
+     * @return a reusable client proxy or null
+     */
+    public Object getCacheableReference(InjectionPoint injectionPoint, Bean<?> resolvedBean) {
+        if (injectionPoint.isDelegate() || !isProxyRequired(resolvedBean)) {
+            return null;
+        }
+        return clientProxyProvider.getClientProxy(resolvedBean, injectionPoint.getType());
+    }
+
     private boolean isProxyRequired(Bean<?> bean) {
         if (bean instanceof RIBean<?>) {
             return ((RIBean<?>) bean).isProxyRequired();
@@ -745,10 +819,23 @@ public class BeanManagerImpl implements WeldManager, Serializable {
      * @return
      */
     public Object getReference(InjectionPoint injectionPoint, Bean<?> resolvedBean, CreationalContext<?> creationalContext) {
+        return getReference(injectionPoint, resolvedBean, creationalContext, isRegisterableInjectionPoint(injectionPoint));
+    }
+
+    /**
+     * Get a reference, registering the injection point used if required. The caller is responsible for determining whether the
+     * injection point should be registered, see {@link #isRegisterableInjectionPoint(InjectionPoint)}.
+     *
+     * @param injectionPoint    the injection point
+     * @param resolvedBean      the bean to get a reference to
+     * @param creationalContext the creationalContext
+     * @param registerInjectionPoint whether the injection point should be registered as the current injection point
+     * @return
+     */
+    public Object getReference(InjectionPoint injectionPoint, Bean<?> resolvedBean, CreationalContext<?> creationalContext, boolean registerInjectionPoint) {
         Preconditions.checkArgumentNotNull(resolvedBean, "resolvedBean");
         Preconditions.checkArgumentNotNull(creationalContext, "creationalContext");
 
-        boolean registerInjectionPoint = isRegisterableInjectionPoint(injectionPoint);
         boolean delegateInjectionPoint = injectionPoint != null && injectionPoint.isDelegate();
 
         CurrentInjectionPoint currentInjectionPoint = null;
@@ -1125,7 +1212,7 @@ public class BeanManagerImpl implements WeldManager, Serializable {
 
     @Override
     public ExpressionFactory wrapExpressionFactory(ExpressionFactory expressionFactory) {
-        return new WeldExpressionFactory(expressionFactory);
+        return new WeldExpressionFactory(expressionFactory, this);
     }
 
     @Override
@@ -1174,6 +1261,7 @@ public class BeanManagerImpl implements WeldManager, Serializable {
         this.childActivities.clear();
         this.clientProxyProvider.clear();
         this.contexts.clear();
+        this.activeContextIndex.clear();
         this.currentActivities.clear();
         this.decoratorResolver.clear();
         this.decorators.clear();
@@ -1338,7 +1426,7 @@ public class BeanManagerImpl implements WeldManager, Serializable {
         return extensionClass.cast(bean.create(null));
     }
 
-    private boolean isRegisterableInjectionPoint(InjectionPoint ip) {
+    public boolean isRegisterableInjectionPoint(InjectionPoint ip) {
         // a delegate injection point is never registered (see CDI-78 for details)
         return ip != null && !ip.getType().equals(InjectionPoint.class) && !ip.isDelegate();
     }
@@ -18,7 +18,10 @@ package org.jboss.weld.manager;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 
@@ -44,6 +47,32 @@ public class BeanManagers {
         return beanManagers;
     }
 
+    /**
+     * Returns the given bean manager and all the bean managers transitively accessible from it.
+     */
+    public static Set<BeanManagerImpl> getTransitivelyAccessibleManagers(BeanManagerImpl beanManager) {
+        Set<BeanManagerImpl> result = new HashSet<BeanManagerImpl>();
+        buildAccessibleClosure(beanManager, new HashSet<Iterable<BeanManagerImpl>>(), result, BeanManagerTransform.INSTANCE);
+        return result;
+    }
+
+    /**
+     * Freezes the accessible closures of the given bean managers. This is called once the bootstrap is finished and the graph of
+     * accessible bean managers is not expected to change anymore. Identical closures of different bean managers share the same
+     * materialized items. The bean name indexes are built from the frozen closures.
+     */
+    public static void freezeAccessibleClosures(Iterable<BeanManagerImpl> beanManagers) {
+        Map<Object, List<?>> sharedItems = new HashMap<Object, List<?>>();
+        for (BeanManagerImpl beanManager : beanManagers) {
+            for (AccessibleClosure<?> closure : beanManager.getAccessibleClosures()) {
+                closure.freeze(sharedItems);
+            }
+        }
+        for (BeanManagerImpl beanManager : beanManagers) {
+            beanManager.getNameBasedResolver().index();
+        }
+    }
+
     public static <T> Set<Iterable<T>> buildAccessibleClosure(BeanManagerImpl beanManager, Transform<T> transform) {
         Set<Iterable<T>> result = new HashSet<Iterable<T>>();
         buildAccessibleClosure(beanManager, result, new HashSet<BeanManagerImpl>(), transform);
@@ -0,0 +1,163 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.enterprise.inject.spi.Bean;
+
+import com.google.common.base.Function;
+import com.google.common.collect.MapMaker;
+import com.google.common.collect.Sets;
+
+import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.bootstrap.api.ServiceRegistry;
+
+/**
+ * Selects the beans whose method invocations and instance creation are timed. The beans are selected by a comma-separated list
+ * of selectors, each of which is one of:
+ * <ul>
+ * <li>a fully qualified class name, e.g. <code>com.acme.OrderService</code>, which selects the beans with this bean class</li>
+ * <li>a package followed by <code>.*</code>, e.g. <code>com.acme.*</code>, which selects the beans whose bean class is in the
+ * package or any of its subpackages</li>
+ * <li>a fully qualified scope annotation name preceded by <code>@</code>, e.g. <code>@javax.enterprise.context.RequestScoped</code>,
+ * which selects the beans with this scope</li>
+ * </ul>
+ *
+ * <p>
+ * The method invocations of an intercepted bean are timed by its {@link org.jboss.weld.interceptor.proxy.InterceptorMethodHandler}
+ * (the time includes the interceptors), the invocations of other normal-scoped beans are timed by their client proxy. The
+ * invocations of dependent beans which are not intercepted are not timed as they are not proxied. The invocations are not
+ * timed anymore once the proxy or the intercepted instance is serialized and deserialized.
+ * </p>
+ *
+ * <p>
+ * Instrumentation requires {@link Metrics} to be enabled.
+ * </p>
+ */
+public class BeanInstrumentation implements Service {
+
+    public static final BeanInstrumentation DISABLED = new BeanInstrumentation(NoopMetrics.INSTANCE, "");
+
+    public static BeanInstrumentation of(ServiceRegistry services) {
+        BeanInstrumentation instrumentation = services.get(BeanInstrumentation.class);
+        if (instrumentation == null) {
+            return DISABLED;
+        }
+        return instrumentation;
+    }
+
+    private final Metrics metrics;
+    private final boolean enabled;
+    private final List<String> classNames;
+    private final List<String> packagePrefixes;
+    private final List<String> scopeNames;
+    private final ConcurrentMap<Bean<?>, InvocationTimers> invocationTimers;
+    // beans whose invocations are timed by the interceptor method handler
+    private final Set<Bean<?>> interceptedBeans;
+
+    public BeanInstrumentation(final Metrics metrics, String selectors) {
+        this.metrics = metrics;
+        this.classNames = new ArrayList<String>();
+        this.packagePrefixes = new ArrayList<String>();
+        this.scopeNames = new ArrayList<String>();
+        for (String selector : selectors.split(",")) {
+            selector = selector.trim();
+            if (selector.length() == 0) {
+                continue;
+            }
+            if (selector.startsWith("@")) {
+                scopeNames.add(selector.substring(1));
+            } else if (selector.endsWith(".*")) {
+                packagePrefixes.add(selector.substring(0, selector.length() - 1));
+            } else {
+                classNames.add(selector);
+            }
+        }
+        this.enabled = metrics.isEnabled() && !(classNames.isEmpty() && packagePrefixes.isEmpty() && scopeNames.isEmpty());
+        this.invocationTimers = new MapMaker().weakKeys().makeComputingMap(new Function<Bean<?>, InvocationTimers>() {
+            public InvocationTimers apply(Bean<?> bean) {
+                return new InvocationTimers(metrics, bean.getBeanClass());
+            }
+        });
+        this.interceptedBeans = Sets.newSetFromMap(new MapMaker().weakKeys().<Bean<?>, Boolean>makeMap());
+    }
+
+    /**
+     * @param bean the bean
+     * @return true if the given bean is instrumented, false otherwise
+     */
+    public boolean isInstrumented(Bean<?> bean) {
+        if (!enabled || bean == null) {
+            return false;
+        }
+        String className = bean.getBeanClass().getName();
+        if (classNames.contains(className) || scopeNames.contains(bean.getScope().getName())) {
+            return true;
+        }
+        for (String prefix : packagePrefixes) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param bean the intercepted bean
+     * @return the timers used by the interceptor method handler of the given bean or null if the bean is not instrumented
+     */
+    public InvocationTimers getInterceptedInvocationTimers(Bean<?> bean) {
+        if (!isInstrumented(bean)) {
+            return null;
+        }
+        interceptedBeans.add(bean);
+        return invocationTimers.get(bean);
+    }
+
+    /**
+     * @param bean the normal-scoped bean
+     * @return the timers used by the client proxy of the given bean or null if the bean is not instrumented or if its invocations
+     *         are timed by its interceptor method handler
+     */
+    public InvocationTimers getClientProxyInvocationTimers(Bean<?> bean) {
+        if (!isInstrumented(bean) || interceptedBeans.contains(bean)) {
+            return null;
+        }
+        return invocationTimers.get(bean);
+    }
+
+    /**
+     * @param bean the bean
+     * @return the timer of the creation of the instances of the given bean or null if the bean is not instrumented
+     */
+    public Timer getCreationTimer(Bean<?> bean) {
+        if (!isInstrumented(bean)) {
+            return null;
+        }
+        return metrics.getTimer(MetricGroup.CREATION, bean.getBeanClass().getName());
+    }
+
+    public void cleanup() {
+        invocationTimers.clear();
+        interceptedBeans.clear();
+    }
+
+}
@@ -0,0 +1,160 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.metrics;
+
+import static org.jboss.weld.logging.Category.CONTEXT;
+import static org.jboss.weld.logging.Category.CONVERSATION;
+import static org.jboss.weld.logging.LoggerFactory.loggerFactory;
+import static org.jboss.weld.logging.messages.ContextMessage.CONTEXTUAL_INSTANCE_LOCK_WAIT;
+import static org.jboss.weld.logging.messages.ContextMessage.SLOW_CONTEXTUAL_INSTANCE_CREATION;
+import static org.jboss.weld.logging.messages.ConversationMessage.CONVERSATION_LOCK_WAIT;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.spi.Contextual;
+
+import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.bootstrap.api.ServiceRegistry;
+import org.slf4j.cal10n.LocLogger;
+
+import com.google.common.base.Function;
+import com.google.common.collect.MapMaker;
+
+/**
+ * Measures the time threads spend waiting for the lock on a contextual instance being created, the time spent creating
+ * contextual instances and the time spent waiting for the lock on a long-running conversation. The lock waits and the creation
+ * of contextual instances are recorded as {@link Metrics} timers per bean class. The durations exceeding the configured
+ * thresholds are logged as warnings.
+ *
+ * <p>
+ * The diagnostics are disabled if metrics are disabled and neither threshold is set. Callers should check {@link #isEnabled()}
+ * before measuring anything and {@link #isCreationTimed()} before measuring the creation of a contextual instance.
+ * </p>
+ */
+public class ContentionDiagnostics implements Service {
+
+    public static final ContentionDiagnostics DISABLED = new ContentionDiagnostics(NoopMetrics.INSTANCE, 0L, 0L);
+
+    private static final LocLogger contextLog = loggerFactory().getLogger(CONTEXT);
+    private static final LocLogger conversationLog = loggerFactory().getLogger(CONVERSATION);
+
+    private static final String CONVERSATION_TIMER = "conversation";
+    private static final String BUSY_CONVERSATIONS_COUNTER = "busy";
+
+    public static ContentionDiagnostics of(ServiceRegistry services) {
+        ContentionDiagnostics diagnostics = services.get(ContentionDiagnostics.class);
+        if (diagnostics == null) {
+            return DISABLED;
+        }
+        return diagnostics;
+    }
+
+    private final Metrics metrics;
+    private final long slowCreationThreshold;
+    private final long lockWaitThreshold;
+    private final boolean enabled;
+    private final boolean creationTimed;
+    // the timers are looked up once per contextual
+    private final ConcurrentMap<Contextual<?>, Timer> lockWaitTimers;
+    private final ConcurrentMap<Contextual<?>, Timer> creationTimers;
+
+    /**
+     * @param metrics the metrics the durations are recorded to
+     * @param slowCreationThreshold the time in milliseconds from which the creation of a contextual instance is logged, 0
+     *        disables logging
+     * @param lockWaitThreshold the time in milliseconds from which the wait for a lock is logged, 0 disables logging
+     */
+    public ContentionDiagnostics(final Metrics metrics, long slowCreationThreshold, long lockWaitThreshold) {
+        this.metrics = metrics;
+        this.slowCreationThreshold = slowCreationThreshold > 0 ? TimeUnit.MILLISECONDS.toNanos(slowCreationThreshold) : Long.MAX_VALUE;
+        this.lockWaitThreshold = lockWaitThreshold > 0 ? TimeUnit.MILLISECONDS.toNanos(lockWaitThreshold) : Long.MAX_VALUE;
+        this.enabled = metrics.isEnabled() || slowCreationThreshold > 0 || lockWaitThreshold > 0;
+        this.creationTimed = metrics.isEnabled() || slowCreationThreshold > 0;
+        this.lockWaitTimers = new MapMaker().weakKeys().makeComputingMap(new Function<Contextual<?>, Timer>() {
+            public Timer apply(Contextual<?> contextual) {
+                return metrics.getTimer(MetricGroup.LOCK_WAIT, MetricsSupport.getBeanClassName(contextual));
+            }
+        });
+        this.creationTimers = new MapMaker().weakKeys().makeComputingMap(new Function<Contextual<?>, Timer>() {
+            public Timer apply(Contextual<?> contextual) {
+                return metrics.getTimer(MetricGroup.CONTEXTUAL_CREATION, MetricsSupport.getBeanClassName(contextual));
+            }
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return true if the creation of contextual instances should be measured, false otherwise
+     */
+    public boolean isCreationTimed() {
+        return creationTimed;
+    }
+
+    /**
+     * @param contextual the contextual
+     * @param nanos the time spent waiting for the lock on the contextual instance
+     */
+    public void creationLockAcquired(Contextual<?> contextual, long nanos) {
+        if (metrics.isEnabled()) {
+            lockWaitTimers.get(contextual).record(nanos);
+        }
+        if (nanos >= lockWaitThreshold) {
+            contextLog.warn(CONTEXTUAL_INSTANCE_LOCK_WAIT, contextual, TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
+    }
+
+    /**
+     * @param contextual the contextual
+     * @param nanos the time spent creating the contextual instance
+     */
+    public void instanceCreated(Contextual<?> contextual, long nanos) {
+        if (metrics.isEnabled()) {
+            creationTimers.get(contextual).record(nanos);
+        }
+        if (nanos >= slowCreationThreshold) {
+            contextLog.warn(SLOW_CONTEXTUAL_INSTANCE_CREATION, contextual, TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
+    }
+
+    /**
+     * @param cid the id of the conversation
+     * @param nanos the time spent waiting for the lock on the conversation, whether it was acquired or not
+     */
+    public void conversationLockWaited(String cid, long nanos) {
+        metrics.getTimer(MetricGroup.LOCK_WAIT, CONVERSATION_TIMER).record(nanos);
+        if (nanos >= lockWaitThreshold) {
+            conversationLog.warn(CONVERSATION_LOCK_WAIT, cid, TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
+    }
+
+    /**
+     * Counts a request which could not be associated with a long-running conversation as the conversation was locked.
+     */
+    public void conversationBusy() {
+        metrics.getCounter(MetricGroup.CONVERSATION, BUSY_CONVERSATIONS_COUNTER).increment();
+    }
+
+    public void cleanup() {
+        lockWaitTimers.clear();
+        creationTimers.clear();
+    }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.metrics;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.base.Function;
+import com.google.common.collect.MapMaker;
+
+/**
+ * The invocation timers of the methods of an instrumented bean.
+ */
+public class InvocationTimers {
+
+    private final ConcurrentMap<Method, Timer> timers;
+
+    InvocationTimers(final Metrics metrics, final Class<?> beanClass) {
+        this.timers = new MapMaker().makeComputingMap(new Function<Method, Timer>() {
+            public Timer apply(Method method) {
+                return metrics.getTimer(MetricGroup.INVOCATION, getName(beanClass, method));
+            }
+        });
+    }
+
+    /**
+     * Records an invocation of the given method.
+     *
+     * @param method the invoked method
+     * @param nanos the duration of the invocation in nanoseconds
+     */
+    public void record(Method method, long nanos) {
+        timers.get(method).record(nanos);
+    }
+
+    private static String getName(Class<?> beanClass, Method method) {
+        StringBuilder builder = new StringBuilder(beanClass.getName()).append('#').append(method.getName()).append('(');
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(parameterTypes[i].getSimpleName());
+        }
+        return builder.append(')').toString();
+    }
+
+}
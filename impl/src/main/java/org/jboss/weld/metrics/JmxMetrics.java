@@ -0,0 +1,131 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.metrics;
+
+import static org.jboss.weld.logging.Category.BOOTSTRAP;
+import static org.jboss.weld.logging.LoggerFactory.loggerFactory;
+import static org.jboss.weld.logging.messages.BootstrapMessage.UNABLE_TO_REGISTER_MBEAN;
+import static org.jboss.weld.logging.messages.BootstrapMessage.UNABLE_TO_UNREGISTER_MBEAN;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.slf4j.cal10n.LocLogger;
+import org.slf4j.ext.XLogger;
+import org.slf4j.ext.XLogger.Level;
+
+/**
+ * {@link Metrics} exposed through JMX. Each {@link MetricGroup} is registered as an MBean named
+ * <code>org.jboss.weld:type=Metrics,instance=&lt;n&gt;,group=&lt;group&gt;</code> once the first metric of the group is created.
+ * The metrics are the read-only attributes of the MBean, a timer is exposed as several attributes (the number of occurrences,
+ * the total, mean and maximum durations and the 50th, 90th and 99th percentiles in microseconds). The MBeans are unregistered when the container is shut down.
+ */
+public class JmxMetrics implements Metrics {
+
+    private static final LocLogger log = loggerFactory().getLogger(BOOTSTRAP);
+    private static final XLogger xLog = loggerFactory().getXLogger(BOOTSTRAP);
+
+    static final String DOMAIN = "org.jboss.weld";
+
+    // distinguishes the containers running in the same JVM
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    private final MBeanServer server;
+    private final String instance;
+    private final ConcurrentMap<MetricGroup, MetricGroupMBean> groups;
+
+    public JmxMetrics() {
+        this(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    public JmxMetrics(MBeanServer server) {
+        this.server = server;
+        this.instance = String.valueOf(INSTANCES.incrementAndGet());
+        this.groups = new ConcurrentHashMap<MetricGroup, MetricGroupMBean>();
+    }
+
+    public boolean isEnabled() {
+        return true;
+    }
+
+    public Counter getCounter(MetricGroup group, String name) {
+        return getGroup(group).getCounter(name);
+    }
+
+    public Timer getTimer(MetricGroup group, String name) {
+        return getGroup(group).getTimer(name);
+    }
+
+    public void addGauge(MetricGroup group, String name, Gauge gauge) {
+        getGroup(group).addGauge(name, gauge);
+    }
+
+    public void addWeakGauge(MetricGroup group, String name, Gauge gauge) {
+        getGroup(group).addGauge(name, new WeakGauge(gauge));
+    }
+
+    private MetricGroupMBean getGroup(MetricGroup group) {
+        MetricGroupMBean mbean = groups.get(group);
+        if (mbean == null) {
+            MetricGroupMBean newMBean = new MetricGroupMBean(group.getName() + " metrics");
+            mbean = groups.putIfAbsent(group, newMBean);
+            if (mbean == null) {
+                mbean = newMBean;
+                register(mbean, group);
+            }
+        }
+        return mbean;
+    }
+
+    private void register(Object mbean, MetricGroup group) {
+        ObjectName name = null;
+        try {
+            name = getObjectName(group);
+            server.registerMBean(mbean, name);
+        } catch (JMException e) {
+            log.warn(UNABLE_TO_REGISTER_MBEAN, name == null ? group : name, e);
+            xLog.throwing(Level.DEBUG, e);
+        }
+    }
+
+    private ObjectName getObjectName(MetricGroup group) throws JMException {
+        return new ObjectName(DOMAIN + ":type=Metrics,instance=" + instance + ",group=" + group.getName());
+    }
+
+    public void cleanup() {
+        for (MetricGroup group : groups.keySet()) {
+            ObjectName name = null;
+            try {
+                name = getObjectName(group);
+                if (server.isRegistered(name)) {
+                    server.unregisterMBean(name);
+                }
+            } catch (JMException e) {
+                log.warn(UNABLE_TO_UNREGISTER_MBEAN, name == null ? group : name, e);
+                xLog.throwing(Level.DEBUG, e);
+            }
+        }
+        groups.clear();
+    }
+
+}
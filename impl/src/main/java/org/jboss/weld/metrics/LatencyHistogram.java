@@ -0,0 +1,98 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A {@link Timer} which keeps a histogram of the durations in microseconds. The histogram has a bucket per power of two so the
+ * percentiles are approximations: a percentile is reported as the upper bound of the bucket it falls in, i.e. it is overestimated
+ * by less than a factor of two. Recording a duration only involves a few atomic increments.
+ */
+class LatencyHistogram implements Timer {
+
+    private static final int BUCKETS = 64;
+
+    private final StripedCounter count;
+    private final StripedCounter totalMicros;
+    private final AtomicLong maxMicros;
+    // bucket i holds the durations d for which 2^(i-1) <= d < 2^i, bucket 0 holds 0
+    private final AtomicLongArray buckets;
+
+    LatencyHistogram() {
+        this.count = new StripedCounter();
+        this.totalMicros = new StripedCounter();
+        this.maxMicros = new AtomicLong();
+        this.buckets = new AtomicLongArray(BUCKETS);
+    }
+
+    public void record(long nanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(Math.max(nanos, 0L));
+        count.increment();
+        totalMicros.add(micros);
+        buckets.incrementAndGet(BUCKETS - Long.numberOfLeadingZeros(micros));
+        long max = maxMicros.get();
+        while (micros > max && !maxMicros.compareAndSet(max, micros)) {
+            max = maxMicros.get();
+        }
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    long getTotalMicros() {
+        return totalMicros.get();
+    }
+
+    long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    long getMeanMicros() {
+        long count = getCount();
+        return count == 0 ? 0L : getTotalMicros() / count;
+    }
+
+    /**
+     * @param percentile the percentile between 0 and 100
+     * @return the approximated percentile in microseconds
+     */
+    long getPercentileMicros(int percentile) {
+        long[] counts = new long[BUCKETS];
+        long total = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0L) {
+            return 0L;
+        }
+        long threshold = (total * percentile + 99) / 100;
+        long cumulative = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            cumulative += counts[i];
+            if (cumulative >= threshold) {
+                return Math.min(i == 0 ? 0L : (1L << i) - 1, getMaxMicros());
+            }
+        }
+        return getMaxMicros();
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.metrics;
+
+/**
+ * The groups of metrics collected by the container.
+ */
+public enum MetricGroup {
+
+    /**
+     * Typesafe and name based resolution
+     */
+    RESOLUTION("Resolution"),
+
+    /**
+     * Proxy class generation
+     */
+    PROXY("Proxy"),
+
+    /**
+     * Contextual instances created per scope
+     */
+    SCOPE("Scope"),
+
+    /**
+     * Contextual instances created per bean class
+     */
+    BEAN("Bean"),
+
+    /**
+     * Events fired and observer notifications per event type
+     */
+    EVENT("Event"),
+
+    /**
+     * Interceptor chain invocations
+     */
+    INTERCEPTION("Interception"),
+
+    /**
+     * Long-running conversations and requests rejected because of a busy conversation
+     */
+    CONVERSATION("Conversation"),
+
+    /**
+     * Invocations of the methods of instrumented beans
+     */
+    INVOCATION("Invocation"),
+
+    /**
+     * Creation of the instances of instrumented beans
+     */
+    CREATION("Creation"),
+
+    /**
+     * Waits for the locks on contextual instances being created per bean class and on long-running conversations
+     */
+    LOCK_WAIT("LockWait"),
+
+    /**
+     * Creation of contextual instances per bean class
+     */
+    CONTEXTUAL_CREATION("ContextualCreation"),
+    ;
+
+    private final String name;
+
+    private MetricGroup(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+}
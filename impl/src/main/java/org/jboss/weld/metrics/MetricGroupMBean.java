@@ -0,0 +1,183 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanConstructorInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanNotificationInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.ReflectionException;
+
+/**
+ * An MBean exposing the metrics of a {@link MetricGroup} as read-only attributes of type <code>long</code>.
+ */
+class MetricGroupMBean implements DynamicMBean {
+
+    private static final MBeanConstructorInfo[] NO_CONSTRUCTORS = new MBeanConstructorInfo[0];
+    private static final MBeanOperationInfo[] NO_OPERATIONS = new MBeanOperationInfo[0];
+    private static final MBeanNotificationInfo[] NO_NOTIFICATIONS = new MBeanNotificationInfo[0];
+
+    private final String description;
+    private final ConcurrentMap<String, Counter> counters;
+    private final ConcurrentMap<String, List<Gauge>> gauges;
+    private final ConcurrentMap<String, Timer> timers;
+
+    MetricGroupMBean(String description) {
+        this.description = description;
+        this.counters = new ConcurrentSkipListMap<String, Counter>();
+        this.gauges = new ConcurrentSkipListMap<String, List<Gauge>>();
+        this.timers = new ConcurrentSkipListMap<String, Timer>();
+    }
+
+    Counter getCounter(String name) {
+        Counter counter = counters.get(name);
+        if (counter == null) {
+            Counter newCounter = new StripedCounter();
+            counter = counters.putIfAbsent(name, newCounter);
+            if (counter == null) {
+                counter = newCounter;
+            }
+        }
+        return counter;
+    }
+
+    Timer getTimer(String name) {
+        Timer timer = timers.get(name);
+        if (timer == null) {
+            final LatencyHistogram histogram = new LatencyHistogram();
+            timer = timers.putIfAbsent(name, histogram);
+            if (timer == null) {
+                timer = histogram;
+                addGauge(name + ".count", new Gauge() {
+                    public long getValue() {
+                        return histogram.getCount();
+                    }
+                });
+                addGauge(name + ".totalMicros", new Gauge() {
+                    public long getValue() {
+                        return histogram.getTotalMicros();
+                    }
+                });
+                addGauge(name + ".meanMicros", new Gauge() {
+                    public long getValue() {
+                        return histogram.getMeanMicros();
+                    }
+                });
+                addGauge(name + ".maxMicros", new Gauge() {
+                    public long getValue() {
+                        return histogram.getMaxMicros();
+                    }
+                });
+                addPercentileGauge(name, histogram, 50);
+                addPercentileGauge(name, histogram, 90);
+                addPercentileGauge(name, histogram, 99);
+            }
+        }
+        return timer;
+    }
+
+    private void addPercentileGauge(String name, final LatencyHistogram histogram, final int percentile) {
+        addGauge(name + ".p" + percentile + "Micros", new Gauge() {
+            public long getValue() {
+                return histogram.getPercentileMicros(percentile);
+            }
+        });
+    }
+
+    void addGauge(String name, Gauge gauge) {
+        List<Gauge> list = gauges.get(name);
+        if (list == null) {
+            List<Gauge> newList = new CopyOnWriteArrayList<Gauge>();
+            list = gauges.putIfAbsent(name, newList);
+            if (list == null) {
+                list = newList;
+            }
+        }
+        // drop the gauges of the components discarded in the meantime so that the list does not grow with every component
+        for (Gauge existing : list) {
+            if (existing instanceof WeakGauge && ((WeakGauge) existing).isCollected()) {
+                list.remove(existing);
+            }
+        }
+        list.add(gauge);
+    }
+
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        Counter counter = counters.get(attribute);
+        if (counter != null) {
+            return counter.get();
+        }
+        List<Gauge> list = gauges.get(attribute);
+        if (list != null) {
+            long sum = 0L;
+            for (Gauge gauge : list) {
+                sum += gauge.getValue();
+            }
+            return sum;
+        }
+        throw new AttributeNotFoundException(attribute);
+    }
+
+    public AttributeList getAttributes(String[] attributes) {
+        AttributeList list = new AttributeList();
+        for (String attribute : attributes) {
+            try {
+                list.add(new Attribute(attribute, getAttribute(attribute)));
+            } catch (AttributeNotFoundException ignored) {
+                // attributes which cannot be read are omitted
+            }
+        }
+        return list;
+    }
+
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Metrics are read-only: " + attribute.getName());
+    }
+
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+        throw new ReflectionException(new NoSuchMethodException(actionName));
+    }
+
+    public MBeanInfo getMBeanInfo() {
+        List<MBeanAttributeInfo> attributes = new ArrayList<MBeanAttributeInfo>(counters.size() + gauges.size());
+        for (Entry<String, Counter> entry : counters.entrySet()) {
+            attributes.add(new MBeanAttributeInfo(entry.getKey(), long.class.getName(), "counter", true, false, false));
+        }
+        for (Entry<String, List<Gauge>> entry : gauges.entrySet()) {
+            attributes.add(new MBeanAttributeInfo(entry.getKey(), long.class.getName(), "gauge", true, false, false));
+        }
+        return new MBeanInfo(getClass().getName(), description, attributes.toArray(new MBeanAttributeInfo[attributes.size()]),
+                NO_CONSTRUCTORS, NO_OPERATIONS, NO_NOTIFICATIONS);
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.metrics;
+
+import org.jboss.weld.bootstrap.api.Service;
+
+/**
+ * Collects runtime metrics of the container. Metrics are organized in {@link MetricGroup}s and identified by their name within
+ * the group.
+ *
+ * <p>
+ * Components look up their {@link Counter}s once and keep them. Metrics which are keyed by a runtime value (e.g. an event type)
+ * should only be looked up if {@link #isEnabled()} returns true as the no-op implementation does not collect anything. An
+ * integrator may register its own implementation before the container is bootstrapped.
+ * </p>
+ *
+ * @see JmxMetrics
+ * @see NoopMetrics
+ */
+public interface Metrics extends Service {
+
+    /**
+     * @return true if the metrics are collected, false otherwise
+     */
+    boolean isEnabled();
+
+    /**
+     * Returns the counter with the given name, creating it if it does not exist.
+     *
+     * @param group the group of the counter
+     * @param name the name of the counter
+     * @return the counter
+     */
+    Counter getCounter(MetricGroup group, String name);
+
+    /**
+     * Returns the timer with the given name, creating it if it does not exist.
+     *
+     * @param group the group of the timer
+     * @param name the name of the timer
+     * @return the timer
+     */
+    Timer getTimer(MetricGroup group, String name);
+
+    /**
+     * Adds a gauge. If several gauges are added under the same name, the value of the metric is the sum of their values.
+     *
+     * @param group the group of the gauge
+     * @param name the name of the gauge
+     * @param gauge the gauge
+     */
+    void addGauge(MetricGroup group, String name, Gauge gauge);
+
+    /**
+     * Adds a gauge which is only weakly referenced and dropped once it is garbage collected. A component which may be
+     * discarded before the container is shut down (e.g. a resolver of a child bean manager) keeps the gauge in a field so
+     * that it is measured for as long as the component is alive. If several gauges are added under the same name, the value of
+     * the metric is the sum of the values of the gauges which are still alive.
+     *
+     * @param group the group of the gauge
+     * @param name the name of the gauge
+     * @param gauge the gauge
+     */
+    void addWeakGauge(MetricGroup group, String name, Gauge gauge);
+
+}
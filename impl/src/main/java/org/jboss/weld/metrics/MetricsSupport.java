@@ -0,0 +1,77 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.metrics;
+
+import java.lang.annotation.Annotation;
+
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.inject.spi.Bean;
+
+import org.jboss.weld.bootstrap.api.ServiceRegistry;
+
+/**
+ * Utilities for working with {@link Metrics}.
+ */
+public final class MetricsSupport {
+
+    private MetricsSupport() {
+    }
+
+    /**
+     * @param services the service registry
+     * @return the metrics registered with the given registry or the no-op metrics if there are none
+     */
+    public static Metrics getMetrics(ServiceRegistry services) {
+        Metrics metrics = services.get(Metrics.class);
+        if (metrics == null) {
+            return NoopMetrics.INSTANCE;
+        }
+        return metrics;
+    }
+
+    /**
+     * Counts a contextual instance created by a context, per scope and per bean class.
+     *
+     * @param metrics the metrics
+     * @param scope the scope of the context
+     * @param contextual the contextual
+     */
+    public static void instanceCreated(Metrics metrics, Class<? extends Annotation> scope, Contextual<?> contextual) {
+        if (metrics.isEnabled()) {
+            metrics.getCounter(MetricGroup.SCOPE, scope.getSimpleName()).increment();
+            metrics.getCounter(MetricGroup.BEAN, getBeanClassName(contextual)).increment();
+        }
+    }
+
+    /**
+     * Returns the name under which the metrics of the given contextual are recorded. The id of a contextual is not used as the
+     * ids of contextuals which are not beans may be generated, so that there would be no bound on the number of metrics.
+     *
+     * @param contextual the contextual
+     * @return the name of the bean class of the given contextual or the name of its class if it is not a bean
+     */
+    public static String getBeanClassName(Contextual<?> contextual) {
+        if (contextual instanceof Bean<?>) {
+            Class<?> beanClass = ((Bean<?>) contextual).getBeanClass();
+            if (beanClass != null) {
+                return beanClass.getName();
+            }
+        }
+        return contextual.getClass().getName();
+    }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.metrics;
+
+/**
+ * {@link Metrics} which does not collect anything.
+ */
+public class NoopMetrics implements Metrics {
+
+    public static final NoopMetrics INSTANCE = new NoopMetrics();
+
+    public static final Counter NOOP_COUNTER = new Counter() {
+
+        public void increment() {
+        }
+
+        public void add(long delta) {
+        }
+
+        public long get() {
+            return 0L;
+        }
+    };
+
+    public static final Timer NOOP_TIMER = new Timer() {
+
+        public void record(long nanos) {
+        }
+
+        public long getCount() {
+            return 0L;
+        }
+    };
+
+    public boolean isEnabled() {
+        return false;
+    }
+
+    public Counter getCounter(MetricGroup group, String name) {
+        return NOOP_COUNTER;
+    }
+
+    public Timer getTimer(MetricGroup group, String name) {
+        return NOOP_TIMER;
+    }
+
+    public void addGauge(MetricGroup group, String name, Gauge gauge) {
+    }
+
+    public void addWeakGauge(MetricGroup group, String name, Gauge gauge) {
+    }
+
+    public void cleanup() {
+    }
+
+}
@@ -0,0 +1,42 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.metrics;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Weakly references a gauge added by {@link Metrics#addWeakGauge(MetricGroup, String, Gauge)}. The value of a gauge which
+ * has been garbage collected is 0.
+ */
+class WeakGauge implements Gauge {
+
+    private final WeakReference<Gauge> gauge;
+
+    WeakGauge(Gauge gauge) {
+        this.gauge = new WeakReference<Gauge>(gauge);
+    }
+
+    public long getValue() {
+        Gauge referent = gauge.get();
+        return referent == null ? 0L : referent.getValue();
+    }
+
+    boolean isCollected() {
+        return gauge.get() == null;
+    }
+
+}
@@ -42,6 +42,8 @@ import javax.inject.Provider;
 import org.jboss.weld.bean.AbstractProducerBean;
 import org.jboss.weld.bootstrap.SpecializationAndEnablementRegistry;
 import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.metrics.Metrics;
+import org.jboss.weld.metrics.NoopMetrics;
 import org.jboss.weld.util.Beans;
 import org.jboss.weld.util.LazyValueHolder;
 import org.jboss.weld.util.reflection.Reflections;
@@ -128,7 +130,11 @@ public abstract class AbstractTypeSafeBeanResolver<T extends Bean<?>, C extends
     }
 
     public AbstractTypeSafeBeanResolver(BeanManagerImpl beanManager, final Iterable<T> beans) {
-        super(beans);
+        this(beanManager, beans, NoopMetrics.INSTANCE, null);
+    }
+
+    public AbstractTypeSafeBeanResolver(BeanManagerImpl beanManager, final Iterable<T> beans, Metrics metrics, String name) {
+        super(beans, metrics, name);
         this.beanManager = beanManager;
         this.registry = beanManager.getServices().get(SpecializationAndEnablementRegistry.class);
         this.disambiguatedBeans = new MapMaker().makeComputingMap(new BeanDisambiguation());
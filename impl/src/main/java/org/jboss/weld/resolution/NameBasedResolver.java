@@ -16,68 +16,92 @@
  */
 package org.jboss.weld.resolution;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
-import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.enterprise.inject.spi.Bean;
 
-import com.google.common.base.Function;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.MapMaker;
 
 import org.jboss.weld.bootstrap.SpecializationAndEnablementRegistry;
 import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.metrics.Counter;
+import org.jboss.weld.metrics.Gauge;
+import org.jboss.weld.metrics.MetricGroup;
+import org.jboss.weld.metrics.Metrics;
+import org.jboss.weld.metrics.MetricsSupport;
 import org.jboss.weld.util.Beans;
 
 /**
- * Implementation of name based bean resolution
+ * Implementation of name based bean resolution.
+ *
+ * <p>
+ * All the named beans are indexed by their name in a single pass over the accessible beans. The index is immutable, built
+ * lazily (or eagerly via {@link #index()} once the bootstrap is finished) and dropped by {@link #clear()}. Names which do not
+ * identify any bean are never stored, so that looking up arbitrary names (e.g. EL identifiers which are not bean names) does
+ * not make the index grow.
+ * </p>
  *
  * @author Pete Muir
  */
 public class NameBasedResolver {
 
-    private static class NameToBeanSet implements Function<String, Set<Bean<?>>> {
-
-        private final BeanManagerImpl beanManager;
-        private final Iterable<? extends Bean<?>> allBeans;
-        private final SpecializationAndEnablementRegistry registry;
-
-        private NameToBeanSet(BeanManagerImpl beanManager, Iterable<? extends Bean<?>> allBeans) {
-            this.beanManager = beanManager;
-            this.allBeans = allBeans;
-            this.registry = beanManager.getServices().get(SpecializationAndEnablementRegistry.class);
-        }
-
-        public Set<Bean<?>> apply(String from) {
-            Set<Bean<?>> matchedBeans = new HashSet<Bean<?>>();
-            for (Bean<?> bean : allBeans) {
-                if ((bean.getName() == null && from == null) || (bean.getName() != null && bean.getName().equals(from))) {
-                    matchedBeans.add(bean);
-                }
-            }
-            //noinspection unchecked
-            return ImmutableSet.copyOf((Iterable<Bean<?>>) Beans.removeDisabledAndSpecializedBeans(matchedBeans, beanManager, registry));
-        }
-
-    }
+    private final BeanManagerImpl beanManager;
+    private final Iterable<? extends Bean<?>> allBeans;
+    private final SpecializationAndEnablementRegistry registry;
 
-    // The resolved names
-    private ConcurrentMap<String, Set<Bean<?>>> resolvedNames;
+    /*
+     * The resolved names together with the version they were computed for. The version is incremented by clear() so that an
+     * index built before a reset is never published afterwards.
+     */
+    private final AtomicReference<State> state;
+    // The lookups and the lookups of names which do not identify any bean
+    private final Counter lookups;
+    private final Counter misses;
+    // The metrics only weakly reference the gauge, so it is measured for as long as this resolver is alive
+    private final Gauge indexSize;
 
     /**
      * Constructor
      */
     public NameBasedResolver(BeanManagerImpl manager, Iterable<? extends Bean<?>> allBeans) {
-        this.resolvedNames = new MapMaker().makeComputingMap(new NameToBeanSet(manager, allBeans));
+        this.beanManager = manager;
+        this.allBeans = allBeans;
+        this.registry = manager.getServices().get(SpecializationAndEnablementRegistry.class);
+        this.state = new AtomicReference<State>(new State(0, null));
+        Metrics metrics = MetricsSupport.getMetrics(manager.getServices());
+        this.lookups = metrics.getCounter(MetricGroup.RESOLUTION, "nameResolver.lookups");
+        this.misses = metrics.getCounter(MetricGroup.RESOLUTION, "nameResolver.misses");
+        this.indexSize = new Gauge() {
+            public long getValue() {
+                Map<String, Set<Bean<?>>> resolvedNames = state.get().resolvedNames;
+                return resolvedNames == null ? 0 : resolvedNames.size();
+            }
+        };
+        metrics.addWeakGauge(MetricGroup.RESOLUTION, "nameResolver.indexSize", indexSize);
     }
 
     /**
-     * Reset all cached injection points. You must reset all cached injection
-     * points when you add a bean to the manager
+     * Reset the name index. You must reset the index when you add a bean to the manager
      */
     public void clear() {
-        this.resolvedNames.clear();
+        State current;
+        do {
+            current = state.get();
+        } while (!state.compareAndSet(current, new State(current.version + 1, null)));
+    }
+
+    /**
+     * Builds the name index unless it has already been built.
+     */
+    public void index() {
+        getResolvedNames();
     }
 
     /**
@@ -87,7 +111,68 @@ public class NameBasedResolver {
      * @return The set of matching beans
      */
     public Set<Bean<?>> resolve(final String name) {
-        return resolvedNames.get(name);
+        if (name == null) {
+            return resolveUnnamed();
+        }
+        lookups.increment();
+        Set<Bean<?>> beans = getResolvedNames().get(name);
+        if (beans == null) {
+            misses.increment();
+            return Collections.emptySet();
+        }
+        return beans;
+    }
+
+    private Map<String, Set<Bean<?>>> getResolvedNames() {
+        State current = state.get();
+        Map<String, Set<Bean<?>>> resolvedNames = current.resolvedNames;
+        if (resolvedNames == null) {
+            resolvedNames = buildIndex();
+            // concurrent callers build equal indexes, the index is not published if the resolver was reset in the meantime
+            state.compareAndSet(current, new State(current.version, resolvedNames));
+        }
+        return resolvedNames;
+    }
+
+    private Map<String, Set<Bean<?>>> buildIndex() {
+        Map<String, Set<Bean<?>>> namedBeans = new HashMap<String, Set<Bean<?>>>();
+        for (Bean<?> bean : allBeans) {
+            String name = bean.getName();
+            if (name != null) {
+                Set<Bean<?>> beans = namedBeans.get(name);
+                if (beans == null) {
+                    beans = new HashSet<Bean<?>>();
+                    namedBeans.put(name, beans);
+                }
+                beans.add(bean);
+            }
+        }
+        ImmutableMap.Builder<String, Set<Bean<?>>> builder = ImmutableMap.builder();
+        for (Entry<String, Set<Bean<?>>> entry : namedBeans.entrySet()) {
+            Set<Bean<?>> beans = removeDisabledAndSpecializedBeans(entry.getValue());
+            if (!beans.isEmpty()) {
+                builder.put(entry.getKey(), beans);
+            }
+        }
+        return builder.build();
+    }
+
+    /*
+     * Unnamed beans are not indexed as they are rarely looked up this way and would make up most of the index.
+     */
+    private Set<Bean<?>> resolveUnnamed() {
+        Set<Bean<?>> matchedBeans = new HashSet<Bean<?>>();
+        for (Bean<?> bean : allBeans) {
+            if (bean.getName() == null) {
+                matchedBeans.add(bean);
+            }
+        }
+        return removeDisabledAndSpecializedBeans(matchedBeans);
+    }
+
+    private Set<Bean<?>> removeDisabledAndSpecializedBeans(Set<Bean<?>> beans) {
+        //noinspection unchecked
+        return ImmutableSet.copyOf((Iterable<Bean<?>>) Beans.removeDisabledAndSpecializedBeans(beans, beanManager, registry));
     }
 
     /**
@@ -97,10 +182,21 @@ public class NameBasedResolver {
      */
     @Override
     public String toString() {
+        Map<String, Set<Bean<?>>> resolvedNames = state.get().resolvedNames;
         StringBuilder buffer = new StringBuilder();
         buffer.append("Resolver\n");
-        buffer.append("Resolved names points: " + resolvedNames.size() + "\n");
+        buffer.append("Resolved names points: " + (resolvedNames == null ? 0 : resolvedNames.size()) + "\n");
         return buffer.toString();
     }
 
+    private static class State {
+
+        private final int version;
+        private final Map<String, Set<Bean<?>>> resolvedNames;
+
+        private State(int version, Map<String, Set<Bean<?>>> resolvedNames) {
+            this.version = version;
+            this.resolvedNames = resolvedNames;
+        }
+    }
 }
@@ -21,6 +21,7 @@ import java.util.Set;
 import javax.enterprise.inject.spi.Bean;
 
 import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.metrics.Metrics;
 
 /**
  * @author pmuir
@@ -33,6 +34,10 @@ public class TypeSafeBeanResolver extends AbstractTypeSafeBeanResolver<Bean<?>,
         super(beanManager, beans);
     }
 
+    public TypeSafeBeanResolver(BeanManagerImpl beanManager, Iterable<Bean<?>> beans, Metrics metrics, String name) {
+        super(beanManager, beans, metrics, name);
+    }
+
     @Override
     protected Set<Bean<?>> sortResult(Set<Bean<?>> matched) {
         return matched;
@@ -24,6 +24,8 @@ import java.util.Set;
 import javax.enterprise.inject.spi.Decorator;
 
 import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.metrics.Metrics;
+import org.jboss.weld.metrics.NoopMetrics;
 import org.jboss.weld.util.Beans;
 
 /**
@@ -34,7 +36,11 @@ public class TypeSafeDecoratorResolver extends AbstractTypeSafeBeanResolver<Deco
     private final AssignabilityRules rules;
 
     public TypeSafeDecoratorResolver(BeanManagerImpl manager, Iterable<Decorator<?>> decorators) {
-        super(manager, decorators);
+        this(manager, decorators, NoopMetrics.INSTANCE, null);
+    }
+
+    public TypeSafeDecoratorResolver(BeanManagerImpl manager, Iterable<Decorator<?>> decorators, Metrics metrics, String name) {
+        super(manager, decorators, metrics, name);
         this.rules = DelegateInjectionPointAssignabilityRules.instance();
     }
 
@@ -25,6 +25,8 @@ import java.util.Set;
 import javax.enterprise.inject.spi.Interceptor;
 
 import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.metrics.Metrics;
+import org.jboss.weld.metrics.NoopMetrics;
 import org.jboss.weld.util.Beans;
 
 /**
@@ -35,7 +37,11 @@ public class TypeSafeInterceptorResolver extends TypeSafeResolver<InterceptorRes
     private final BeanManagerImpl manager;
 
     public TypeSafeInterceptorResolver(BeanManagerImpl manager, Iterable<Interceptor<?>> interceptors) {
-        super(interceptors);
+        this(manager, interceptors, NoopMetrics.INSTANCE, null);
+    }
+
+    public TypeSafeInterceptorResolver(BeanManagerImpl manager, Iterable<Interceptor<?>> interceptors, Metrics metrics, String name) {
+        super(interceptors, metrics, name);
         this.manager = manager;
     }
 
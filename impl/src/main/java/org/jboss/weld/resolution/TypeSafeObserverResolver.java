@@ -17,6 +17,7 @@
 package org.jboss.weld.resolution;
 
 import java.lang.reflect.Type;
+import java.util.Collections;
 import java.util.Set;
 
 import javax.enterprise.inject.spi.ObserverMethod;
@@ -24,6 +25,8 @@ import javax.enterprise.inject.spi.ObserverMethod;
 import org.jboss.weld.bootstrap.events.ProcessAnnotatedTypeEventResolvable;
 import org.jboss.weld.event.ExtensionObserverMethodImpl;
 import org.jboss.weld.metadata.cache.MetaAnnotationStore;
+import org.jboss.weld.metrics.Metrics;
+import org.jboss.weld.metrics.NoopMetrics;
 import org.jboss.weld.util.Beans;
 import org.jboss.weld.util.Observers;
 import org.jboss.weld.util.reflection.Reflections;
@@ -38,7 +41,11 @@ public class TypeSafeObserverResolver extends TypeSafeResolver<Resolvable, Obser
     private final AssignabilityRules rules;
 
     public TypeSafeObserverResolver(MetaAnnotationStore metaAnnotationStore, Iterable<ObserverMethod<?>> observers) {
-        super(observers);
+        this(metaAnnotationStore, observers, NoopMetrics.INSTANCE, null);
+    }
+
+    public TypeSafeObserverResolver(MetaAnnotationStore metaAnnotationStore, Iterable<ObserverMethod<?>> observers, Metrics metrics, String name) {
+        super(observers, metrics, name);
         this.metaAnnotationStore = metaAnnotationStore;
         this.rules = EventTypeAssignabilityRules.instance();
     }
@@ -83,6 +90,15 @@ public class TypeSafeObserverResolver extends TypeSafeResolver<Resolvable, Obser
         return matched;
     }
 
+    @Override
+    protected Set<ObserverMethod<?>> makeResultImmutable(Set<ObserverMethod<?>> result) {
+        if (result.size() == 1) {
+            // a lot of event types only have a single observer method
+            return Collections.<ObserverMethod<?>>singleton(result.iterator().next());
+        }
+        return super.makeResultImmutable(result);
+    }
+
     public MetaAnnotationStore getMetaAnnotationStore() {
         return metaAnnotationStore;
     }
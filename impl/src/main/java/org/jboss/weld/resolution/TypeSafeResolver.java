@@ -24,6 +24,11 @@ import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
 
+import org.jboss.weld.metrics.Counter;
+import org.jboss.weld.metrics.Gauge;
+import org.jboss.weld.metrics.MetricGroup;
+import org.jboss.weld.metrics.Metrics;
+import org.jboss.weld.metrics.NoopMetrics;
 import org.jboss.weld.util.collections.WeldCollections;
 
 import com.google.common.base.Function;
@@ -57,15 +62,53 @@ public abstract class TypeSafeResolver<R extends Resolvable, T, C extends Collec
     // The beans to search
     private final Iterable<? extends T> allBeans;
     private final ResolvableToBeanCollection<R, T, C> resolverFunction;
-
+    // The cached lookups and the lookups which were not found in the cache
+    private final Counter lookups;
+    private final Counter misses;
+    // The metrics only weakly reference the gauge, so it is measured for as long as this resolver is alive
+    private final Gauge cacheSize;
 
     /**
      * Constructor
      */
     public TypeSafeResolver(Iterable<? extends T> allBeans) {
+        this(allBeans, NoopMetrics.INSTANCE, null);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param allBeans the beans to search
+     * @param metrics the metrics of this resolver, resolvers created under the same name share their counters and the cache
+     *        sizes of the resolvers which are alive are added up
+     * @param name the name of the resolver
+     */
+    public TypeSafeResolver(Iterable<? extends T> allBeans, Metrics metrics, String name) {
+        if (metrics.isEnabled()) {
+            this.lookups = metrics.getCounter(MetricGroup.RESOLUTION, name + ".lookups");
+            this.misses = metrics.getCounter(MetricGroup.RESOLUTION, name + ".misses");
+        } else {
+            this.lookups = NoopMetrics.NOOP_COUNTER;
+            this.misses = NoopMetrics.NOOP_COUNTER;
+        }
         this.resolverFunction = new ResolvableToBeanCollection<R, T, C>(this);
-        this.resolved = new MapMaker().makeComputingMap(resolverFunction);
+        this.resolved = new MapMaker().makeComputingMap(new Function<R, C>() {
+            public C apply(R from) {
+                misses.increment();
+                return resolverFunction.apply(from);
+            }
+        });
         this.allBeans = allBeans;
+        if (metrics.isEnabled()) {
+            this.cacheSize = new Gauge() {
+                public long getValue() {
+                    return resolved.size();
+                }
+            };
+            metrics.addWeakGauge(MetricGroup.RESOLUTION, name + ".cacheSize", cacheSize);
+        } else {
+            this.cacheSize = null;
+        }
     }
 
     /**
@@ -84,6 +127,7 @@ public abstract class TypeSafeResolver<R extends Resolvable, T, C extends Collec
     public C resolve(R resolvable, boolean cache) {
         R wrappedResolvable = wrap(resolvable);
         if (cache) {
+            lookups.increment();
             return resolved.get(wrappedResolvable);
         } else {
             return resolverFunction.apply(wrappedResolvable);
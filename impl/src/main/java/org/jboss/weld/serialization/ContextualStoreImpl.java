@@ -18,9 +18,11 @@ package org.jboss.weld.serialization;
 
 import static org.jboss.weld.util.reflection.Reflections.cast;
 
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.enterprise.context.spi.Contextual;
 import javax.enterprise.context.spi.CreationalContext;
@@ -36,26 +38,42 @@ import org.jboss.weld.util.reflection.Reflections;
 /**
  * Implementation of {@link org.jboss.weld.serialization.spi.ContextualStore}
  *
+ * <p>
+ * Container-local contextuals are only weakly referenced so that contextuals created dynamically, e.g. for non-contextual
+ * injection targets, do not accumulate in the store. The entry of a contextual is removed once the contextual has been
+ * garbage collected.
+ * </p>
+ *
+ * <p>
+ * Equal contextuals share an id. The store only weakly references the contextual registered first. Once an equal but distinct
+ * contextual is looked up, the first contextual is strongly referenced from then on so that the id does not change while
+ * the equal contextual is still in use. The number of contextuals retained this way is bounded by the number of distinct
+ * (non-equal) contextuals.
+ * </p>
+ *
  * @author Pete Muir
  */
 public class ContextualStoreImpl implements ContextualStore {
 
-    private static final String GENERATED_ID_PREFIX = ContextualStoreImpl.class.getName();
+    private static final String GENERATED_ID_PREFIX = "WELD%Generated%";
 
-    // The map containing container-local contextuals
-    private final ConcurrentMap<Contextual<?>, String> contextuals;
+    // The map containing container-local contextuals, a reference is mapped to itself
+    private final ConcurrentMap<Object, ContextualReference> contextuals;
     // Inverse mapping of container-local contextuals
-    private final ConcurrentMap<String, Contextual<?>> contextualsInverse;
+    private final ConcurrentMap<String, ContextualReference> contextualsInverse;
+    // The references of garbage collected container-local contextuals
+    private final ReferenceQueue<Contextual<?>> collectedContextuals;
 
     // The map containing passivation capable contextuals
     private final ConcurrentMap<String, Contextual<?>> passivationCapableContextuals;
 
-    private final AtomicInteger idGenerator;
+    private final AtomicLong idGenerator;
 
     public ContextualStoreImpl() {
-        this.idGenerator = new AtomicInteger(0);
-        this.contextuals = new ConcurrentHashMap<Contextual<?>, String>();
-        this.contextualsInverse = new ConcurrentHashMap<String, Contextual<?>>();
+        this.idGenerator = new AtomicLong(0);
+        this.contextuals = new ConcurrentHashMap<Object, ContextualReference>();
+        this.contextualsInverse = new ConcurrentHashMap<String, ContextualReference>();
+        this.collectedContextuals = new ReferenceQueue<Contextual<?>>();
         this.passivationCapableContextuals = new ConcurrentHashMap<String, Contextual<?>>();
     }
 
@@ -70,7 +88,8 @@ public class ContextualStoreImpl implements ContextualStore {
     @SuppressWarnings("unchecked")
     public <C extends Contextual<I>, I> C getContextual(String id) {
         if (id.startsWith(GENERATED_ID_PREFIX)) {
-            return (C) contextualsInverse.get(id);
+            ContextualReference reference = contextualsInverse.get(id);
+            return reference == null ? null : (C) reference.get();
         } else {
             return (C) passivationCapableContextuals.get(id);
         }
@@ -92,23 +111,37 @@ public class ContextualStoreImpl implements ContextualStore {
             passivationCapableContextuals.putIfAbsent(id, contextual);
             return id;
         } else {
-            String id = contextuals.get(contextual);
-            if (id != null) {
-                return id;
-            } else {
-                synchronized (contextual) {
-                    id = contextuals.get(contextual);
-                    if (id == null) {
-                        id = new StringBuilder().append(GENERATED_ID_PREFIX).append(idGenerator.incrementAndGet()).toString();
-                        contextuals.put(contextual, id);
-                        contextualsInverse.put(id, contextual);
+            ContextualKey key = new ContextualKey(contextual);
+            while (true) {
+                ContextualReference existing = contextuals.get(key);
+                if (existing != null) {
+                    String id = existing.getId(contextual);
+                    if (id != null) {
+                        return id;
                     }
-                    return id;
                 }
+                removeCollectedContextuals();
+                String newId = GENERATED_ID_PREFIX + Long.toString(idGenerator.incrementAndGet(), Character.MAX_RADIX);
+                ContextualReference reference = new ContextualReference(contextual, newId, collectedContextuals);
+                // make the contextual resolvable by its id before the id is published
+                contextualsInverse.put(newId, reference);
+                if (contextuals.putIfAbsent(reference, reference) == null) {
+                    return newId;
+                }
+                // another thread won, use its id
+                contextualsInverse.remove(newId, reference);
             }
         }
     }
 
+    private void removeCollectedContextuals() {
+        ContextualReference reference;
+        while ((reference = (ContextualReference) collectedContextuals.poll()) != null) {
+            contextuals.remove(reference);
+            contextualsInverse.remove(reference.id, reference);
+        }
+    }
+
     public <C extends Contextual<I>, I> SerializableContextual<C, I> getSerializableContextual(Contextual<I> contextual) {
         if (contextual instanceof SerializableContextual<?, ?>) {
             return cast(contextual);
@@ -124,5 +157,88 @@ public class ContextualStoreImpl implements ContextualStore {
         contextuals.clear();
         contextualsInverse.clear();
         passivationCapableContextuals.clear();
+        while (collectedContextuals.poll() != null) {
+            // the entries are gone already
+        }
+    }
+
+    /*
+     * The keys of the map of container-local contextuals are compared by the equality of the contextuals. A
+     * ContextualReference is only equal to itself once its contextual has been collected.
+     */
+
+    private static class ContextualReference extends WeakReference<Contextual<?>> {
+
+        private final String id;
+        private final int hashCode;
+        // the referenced contextual once an equal contextual uses the same id
+        private volatile Contextual<?> pinned;
+
+        private ContextualReference(Contextual<?> contextual, String id, ReferenceQueue<Contextual<?>> queue) {
+            super(contextual, queue);
+            this.id = id;
+            this.hashCode = contextual.hashCode();
+        }
+
+        /**
+         * @param contextual a contextual equal to the referenced one
+         * @return the id or null if the referenced contextual has been collected in the meantime
+         */
+        private String getId(Contextual<?> contextual) {
+            Contextual<?> referenced = get();
+            if (referenced == null) {
+                return null;
+            }
+            if (referenced != contextual && pinned == null) {
+                // the id must not change while the equal contextual is in use
+                pinned = referenced;
+            }
+            return id;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            Object contextual = get();
+            if (contextual == null) {
+                return false;
+            }
+            if (obj instanceof ContextualReference) {
+                return contextual.equals(((ContextualReference) obj).get());
+            }
+            if (obj instanceof ContextualKey) {
+                return contextual.equals(((ContextualKey) obj).contextual);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static class ContextualKey {
+
+        private final Contextual<?> contextual;
+
+        private ContextualKey(Contextual<?> contextual) {
+            this.contextual = contextual;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof ContextualReference) {
+                return obj.equals(this);
+            }
+            return obj instanceof ContextualKey && contextual.equals(((ContextualKey) obj).contextual);
+        }
+
+        @Override
+        public int hashCode() {
+            return contextual.hashCode();
+        }
     }
 }
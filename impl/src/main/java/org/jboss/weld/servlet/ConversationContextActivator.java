@@ -120,7 +120,9 @@ public class ConversationContextActivator {
 
         String cidName = conversationContext.getParameterName();
         String cid = request.getParameter(cidName);
-        log.trace(FOUND_CONVERSATION_FROM_REQUEST, cid);
+        if (log.isTraceEnabled()) {
+            log.trace(FOUND_CONVERSATION_FROM_REQUEST, cid);
+        }
         return cid;
     }
 
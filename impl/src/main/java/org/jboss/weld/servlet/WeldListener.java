@@ -138,7 +138,9 @@ public class WeldListener extends AbstractServletListener {
 
     @Override
     public void requestDestroyed(ServletRequestEvent event) {
-        log.trace(REQUEST_DESTROYED, event.getServletRequest());
+        if (log.isTraceEnabled()) {
+            log.trace(REQUEST_DESTROYED, event.getServletRequest());
+        }
         if (event.getServletRequest() instanceof HttpServletRequest) {
             HttpServletRequest request = (HttpServletRequest) event.getServletRequest();
 
@@ -166,7 +168,9 @@ public class WeldListener extends AbstractServletListener {
 
     @Override
     public void requestInitialized(ServletRequestEvent event) {
-        log.trace(REQUEST_INITIALIZED, event.getServletRequest());
+        if (log.isTraceEnabled()) {
+            log.trace(REQUEST_INITIALIZED, event.getServletRequest());
+        }
 
         if (conversationFilterRegistered == null) {
             Object value = event.getServletContext().getAttribute(CONVERSATION_FILTER_INITIALIZED);
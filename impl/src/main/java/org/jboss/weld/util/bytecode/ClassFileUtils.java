@@ -17,7 +17,6 @@
 package org.jboss.weld.util.bytecode;
 
 
-import java.lang.reflect.Method;
 import java.security.AccessController;
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
@@ -90,19 +89,19 @@ public class ClassFileUtils {
                 args = new Object[]{ct.getName(), b, 0, Integer.valueOf(b.length), domain};
             }
 
-            return toClass2(method, loader, args);
+            // class loaders guard the definition of a class themselves, callers make sure a class is only defined once
+            return Class.class.cast(method.invoke(loader, args));
         } catch (RuntimeException e) {
             throw e;
         } catch (java.lang.reflect.InvocationTargetException e) {
+            if (e.getTargetException() instanceof Error) {
+                // e.g. a LinkageError if the class has been defined already
+                throw (Error) e.getTargetException();
+            }
             throw new RuntimeException(e.getTargetException());
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
     }
 
-    private static synchronized Class<?> toClass2(Method method, ClassLoader loader, Object[] args) throws Exception {
-        Class<?> clazz = Class.class.cast(method.invoke(loader, args));
-        return clazz;
-    }
-
 }
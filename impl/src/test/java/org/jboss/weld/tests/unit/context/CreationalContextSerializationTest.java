@@ -0,0 +1,148 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.context;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
+
+import org.jboss.weld.context.CreationalContextImpl;
+import org.jboss.weld.context.api.ContextualInstance;
+import org.jboss.weld.util.reflection.Reflections;
+import org.junit.Test;
+
+public class CreationalContextSerializationTest {
+
+    @Test
+    public void testSerializedFormIsCompatible() {
+        ObjectStreamClass descriptor = ObjectStreamClass.lookup(CreationalContextImpl.class);
+        assertEquals(7375854583908262422L, descriptor.getSerialVersionUID());
+        assertNotNull(descriptor.getField("dependentInstances"));
+        assertNotNull(descriptor.getField("parentDependentInstances"));
+        assertNotNull(descriptor.getField("parentCreationalContext"));
+        assertNotNull(descriptor.getField("resourceReferences"));
+    }
+
+    @Test
+    public void testEmptyRootRoundTrip() throws Exception {
+        CreationalContextImpl<Object> root = new CreationalContextImpl<Object>(new SimpleContextual("root"));
+        CreationalContextImpl<Object> copy = deserialize(serialize(root));
+        assertTrue(copy.getDependentInstances().isEmpty());
+        assertEquals(null, copy.getParentCreationalContext());
+    }
+
+    @Test
+    public void testDependentInstancesRoundTrip() throws Exception {
+        CreationalContextImpl<Object> root = new CreationalContextImpl<Object>(new SimpleContextual("root"));
+        CreationalContextImpl<Object> child = (CreationalContextImpl<Object>) root.getCreationalContext(new SimpleContextual("child"));
+        child.addDependentInstance(new SimpleContextualInstance("foo", child));
+
+        CreationalContextImpl<?>[] copy = deserialize(serialize(new CreationalContextImpl<?>[] { root, child }));
+        CreationalContextImpl<?> rootCopy = copy[0];
+        CreationalContextImpl<?> childCopy = copy[1];
+        assertSame(rootCopy, childCopy.getParentCreationalContext());
+        assertEquals(1, rootCopy.getDependentInstances().size());
+        assertEquals("foo", rootCopy.getDependentInstances().get(0).getInstance());
+
+        // the restored child still registers its dependent instances with the restored parent
+        childCopy.addDependentInstance(new SimpleContextualInstance("bar", childCopy));
+        assertEquals(2, rootCopy.getDependentInstances().size());
+        assertEquals("bar", rootCopy.getDependentInstances().get(1).getInstance());
+    }
+
+    @Test
+    public void testChildOfEmptyParentRoundTrip() throws Exception {
+        CreationalContextImpl<Object> root = new CreationalContextImpl<Object>(new SimpleContextual("root"));
+        CreationalContextImpl<Object> child = (CreationalContextImpl<Object>) root.getCreationalContext(new SimpleContextual("child"));
+        CreationalContextImpl<?> childCopy = deserialize(serialize(child));
+        CreationalContextImpl<?> rootCopy = (CreationalContextImpl<?>) childCopy.getParentCreationalContext();
+        assertNotNull(rootCopy);
+        assertTrue(rootCopy.getDependentInstances().isEmpty());
+        childCopy.addDependentInstance(new SimpleContextualInstance("foo", childCopy));
+        assertEquals(1, rootCopy.getDependentInstances().size());
+    }
+
+    private static byte[] serialize(Object instance) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(instance);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static <T> T deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes));
+        return Reflections.<T>cast(in.readObject());
+    }
+
+    private static class SimpleContextual implements Contextual<Object>, Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String name;
+
+        private SimpleContextual(String name) {
+            this.name = name;
+        }
+
+        public Object create(CreationalContext<Object> creationalContext) {
+            return name;
+        }
+
+        public void destroy(Object instance, CreationalContext<Object> creationalContext) {
+        }
+    }
+
+    private static class SimpleContextualInstance implements ContextualInstance<Object>, Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String instance;
+        private final CreationalContext<?> creationalContext;
+        private final Contextual<Object> contextual;
+
+        private SimpleContextualInstance(String instance, CreationalContext<?> creationalContext) {
+            this.instance = instance;
+            this.creationalContext = creationalContext;
+            this.contextual = new SimpleContextual(instance);
+        }
+
+        public Object getInstance() {
+            return instance;
+        }
+
+        public CreationalContext<Object> getCreationalContext() {
+            return Reflections.cast(creationalContext);
+        }
+
+        public Contextual<Object> getContextual() {
+            return contextual;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.injection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jboss.weld.injection.producer.MemberAccessor;
+import org.jboss.weld.injection.producer.MemberAccessorFactory;
+import org.junit.Test;
+
+public class MemberAccessorFactoryTest {
+
+    @Test
+    public void testAccessibility() throws Exception {
+        assertTrue(MemberAccessorFactory.isAccessible(Target.class.getDeclaredField("number"), Target.class));
+        assertTrue(MemberAccessorFactory.isAccessible(Target.class.getDeclaredMethod("add", int.class, long.class), Target.class));
+        assertFalse(MemberAccessorFactory.isAccessible(Target.class.getDeclaredField("secret"), Target.class));
+        assertFalse(MemberAccessorFactory.isAccessible(Target.class.getDeclaredMethod("reset"), Target.class));
+    }
+
+    @Test
+    public void testGeneratedAccessor() throws Exception {
+        List<Field> fields = Arrays.asList(Target.class.getDeclaredField("number"), Target.class.getDeclaredField("secret"), Target.class.getDeclaredField("text"));
+        List<Method> methods = Arrays.asList(Target.class.getDeclaredMethod("reset"), Target.class.getDeclaredMethod("add", int.class, long.class));
+        MemberAccessor accessor = MemberAccessorFactory.create(Target.class, fields, methods);
+        assertNotNull(accessor);
+
+        Target target = new Target();
+        accessor.set(0, target, 42);
+        accessor.set(2, target, "foo");
+        assertEquals(42, target.number);
+        assertEquals("foo", target.text);
+
+        accessor.invoke(1, target, new Object[] { 1, 2L });
+        assertEquals(3L, target.sum);
+    }
+
+    @Test
+    public void testAccessorsWithSameSignatureHash() throws Exception {
+        Field aa = Target.class.getDeclaredField("Aa");
+        Field bb = Target.class.getDeclaredField("BB");
+        MemberAccessor aaAccessor = MemberAccessorFactory.create(Target.class, Arrays.asList(aa), Arrays.<Method>asList());
+        MemberAccessor bbAccessor = MemberAccessorFactory.create(Target.class, Arrays.asList(bb), Arrays.<Method>asList());
+        assertNotSame(aaAccessor.getClass(), bbAccessor.getClass());
+
+        Target target = new Target();
+        bbAccessor.set(0, target, "bb");
+        aaAccessor.set(0, target, "aa");
+        assertEquals("aa", target.Aa);
+        assertEquals("bb", target.BB);
+
+        // the existing accessor classes are reused
+        assertSame(aaAccessor.getClass(), MemberAccessorFactory.create(Target.class, Arrays.asList(aa), Arrays.<Method>asList()).getClass());
+        assertSame(bbAccessor.getClass(), MemberAccessorFactory.create(Target.class, Arrays.asList(bb), Arrays.<Method>asList()).getClass());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInaccessibleMemberNotGenerated() throws Exception {
+        List<Field> fields = Arrays.asList(Target.class.getDeclaredField("number"), Target.class.getDeclaredField("secret"));
+        MemberAccessor accessor = MemberAccessorFactory.create(Target.class, fields, Arrays.<Method>asList());
+        assertNotNull(accessor);
+        accessor.set(1, new Target(), "foo");
+    }
+}
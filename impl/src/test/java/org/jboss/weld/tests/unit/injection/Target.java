@@ -0,0 +1,43 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.injection;
+
+class Target {
+
+    int number;
+    String text;
+    private String secret;
+
+    long sum;
+
+    // the signatures of these two fields have the same hash code
+    String Aa;
+    String BB;
+
+    long add(int a, long b) {
+        sum = a + b;
+        return sum;
+    }
+
+    private void reset() {
+        sum = 0;
+    }
+
+    String getSecret() {
+        return secret;
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.metrics;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.Set;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.InjectionPoint;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+
+import org.jboss.weld.metrics.BeanInstrumentation;
+import org.jboss.weld.metrics.JmxMetrics;
+import org.jboss.weld.metrics.MetricGroup;
+import org.jboss.weld.metrics.NoopMetrics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BeanInstrumentationTest {
+
+    private MBeanServer server;
+    private JmxMetrics metrics;
+
+    @Before
+    public void before() {
+        server = MBeanServerFactory.newMBeanServer();
+        metrics = new JmxMetrics(server);
+    }
+
+    @After
+    public void after() {
+        metrics.cleanup();
+        MBeanServerFactory.releaseMBeanServer(server);
+    }
+
+    @Test
+    public void testClassSelector() {
+        BeanInstrumentation instrumentation = new BeanInstrumentation(metrics, " java.lang.String , java.lang.Integer");
+        assertTrue(instrumentation.isInstrumented(new StubBean(String.class, Dependent.class)));
+        assertTrue(instrumentation.isInstrumented(new StubBean(Integer.class, Dependent.class)));
+        assertFalse(instrumentation.isInstrumented(new StubBean(StringBuilder.class, Dependent.class)));
+    }
+
+    @Test
+    public void testPackageSelector() {
+        BeanInstrumentation instrumentation = new BeanInstrumentation(metrics, "java.util.concurrent.*");
+        assertTrue(instrumentation.isInstrumented(new StubBean(java.util.concurrent.ConcurrentHashMap.class, Dependent.class)));
+        // subpackages are selected as well
+        assertTrue(instrumentation.isInstrumented(new StubBean(java.util.concurrent.locks.ReentrantLock.class, Dependent.class)));
+        assertFalse(instrumentation.isInstrumented(new StubBean(java.util.ArrayList.class, Dependent.class)));
+    }
+
+    @Test
+    public void testScopeSelector() {
+        BeanInstrumentation instrumentation = new BeanInstrumentation(metrics, "@" + RequestScoped.class.getName());
+        assertTrue(instrumentation.isInstrumented(new StubBean(String.class, RequestScoped.class)));
+        assertFalse(instrumentation.isInstrumented(new StubBean(String.class, ApplicationScoped.class)));
+    }
+
+    @Test
+    public void testNothingSelected() {
+        BeanInstrumentation instrumentation = new BeanInstrumentation(metrics, " , ");
+        StubBean bean = new StubBean(String.class, RequestScoped.class);
+        assertFalse(instrumentation.isInstrumented(bean));
+        assertNull(instrumentation.getCreationTimer(bean));
+        assertNull(instrumentation.getClientProxyInvocationTimers(bean));
+        assertNull(instrumentation.getInterceptedInvocationTimers(bean));
+    }
+
+    @Test
+    public void testDisabledMetrics() {
+        BeanInstrumentation instrumentation = new BeanInstrumentation(NoopMetrics.INSTANCE, "java.lang.String");
+        assertFalse(instrumentation.isInstrumented(new StubBean(String.class, Dependent.class)));
+    }
+
+    @Test
+    public void testCreationTimer() {
+        BeanInstrumentation instrumentation = new BeanInstrumentation(metrics, "java.lang.String");
+        assertSame(metrics.getTimer(MetricGroup.CREATION, String.class.getName()),
+                instrumentation.getCreationTimer(new StubBean(String.class, Dependent.class)));
+        assertNull(instrumentation.getCreationTimer(new StubBean(Integer.class, Dependent.class)));
+    }
+
+    @Test
+    public void testInterceptedBeanNotTimedByClientProxy() {
+        BeanInstrumentation instrumentation = new BeanInstrumentation(metrics, "java.lang.String,java.lang.Integer");
+        StubBean intercepted = new StubBean(String.class, RequestScoped.class);
+        StubBean notIntercepted = new StubBean(Integer.class, RequestScoped.class);
+        assertNotNull(instrumentation.getInterceptedInvocationTimers(intercepted));
+        assertNull(instrumentation.getClientProxyInvocationTimers(intercepted));
+        assertNotNull(instrumentation.getClientProxyInvocationTimers(notIntercepted));
+    }
+
+    private static class StubBean implements Bean<Object> {
+
+        private final Class<?> beanClass;
+        private final Class<? extends Annotation> scope;
+
+        private StubBean(Class<?> beanClass, Class<? extends Annotation> scope) {
+            this.beanClass = beanClass;
+            this.scope = scope;
+        }
+
+        public Class<?> getBeanClass() {
+            return beanClass;
+        }
+
+        public Class<? extends Annotation> getScope() {
+            return scope;
+        }
+
+        public Set<java.lang.reflect.Type> getTypes() {
+            return Collections.<java.lang.reflect.Type> singleton(beanClass);
+        }
+
+        public Set<Annotation> getQualifiers() {
+            return Collections.emptySet();
+        }
+
+        public String getName() {
+            return null;
+        }
+
+        public Set<Class<? extends Annotation>> getStereotypes() {
+            return Collections.emptySet();
+        }
+
+        public boolean isAlternative() {
+            return false;
+        }
+
+        public boolean isNullable() {
+            return false;
+        }
+
+        public Set<InjectionPoint> getInjectionPoints() {
+            return Collections.emptySet();
+        }
+
+        public Object create(CreationalContext<Object> creationalContext) {
+            return null;
+        }
+
+        public void destroy(Object instance, CreationalContext<Object> creationalContext) {
+        }
+    }
+}
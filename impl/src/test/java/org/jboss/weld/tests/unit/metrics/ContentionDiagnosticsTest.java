@@ -0,0 +1,111 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import org.jboss.weld.metrics.ContentionDiagnostics;
+import org.jboss.weld.metrics.JmxMetrics;
+import org.jboss.weld.metrics.MetricGroup;
+import org.jboss.weld.metrics.NoopMetrics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ContentionDiagnosticsTest {
+
+    private MBeanServer server;
+    private JmxMetrics metrics;
+
+    @Before
+    public void before() {
+        server = MBeanServerFactory.newMBeanServer();
+        metrics = new JmxMetrics(server);
+    }
+
+    @After
+    public void after() {
+        metrics.cleanup();
+        MBeanServerFactory.releaseMBeanServer(server);
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        assertFalse(new ContentionDiagnostics(NoopMetrics.INSTANCE, 0L, 0L).isEnabled());
+        assertTrue(new ContentionDiagnostics(NoopMetrics.INSTANCE, 100L, 0L).isEnabled());
+        assertTrue(new ContentionDiagnostics(NoopMetrics.INSTANCE, 0L, 100L).isEnabled());
+    }
+
+    @Test
+    public void testCreationIsTimedWithMetricsOrThreshold() {
+        assertFalse(new ContentionDiagnostics(NoopMetrics.INSTANCE, 0L, 0L).isCreationTimed());
+        assertFalse(new ContentionDiagnostics(NoopMetrics.INSTANCE, 0L, 100L).isCreationTimed());
+        assertTrue(new ContentionDiagnostics(NoopMetrics.INSTANCE, 100L, 0L).isCreationTimed());
+        assertTrue(new ContentionDiagnostics(metrics, 0L, 0L).isCreationTimed());
+    }
+
+    @Test
+    public void testDurationsAreRecorded() throws Exception {
+        ContentionDiagnostics diagnostics = new ContentionDiagnostics(metrics, 0L, 0L);
+        assertTrue(diagnostics.isEnabled());
+        diagnostics.creationLockAcquired(new FooContextual(), TimeUnit.MILLISECONDS.toNanos(5));
+        diagnostics.creationLockAcquired(new FooContextual(), TimeUnit.MILLISECONDS.toNanos(15));
+        diagnostics.instanceCreated(new FooContextual(), TimeUnit.MILLISECONDS.toNanos(20));
+        diagnostics.instanceCreated(new FooContextual(), TimeUnit.MILLISECONDS.toNanos(30));
+        diagnostics.conversationLockWaited("1", TimeUnit.MILLISECONDS.toNanos(1000));
+        diagnostics.conversationBusy();
+        // the lock waits and creations are recorded per contextual class, not per contextual instance
+        assertEquals(2L, metrics.getTimer(MetricGroup.LOCK_WAIT, FooContextual.class.getName()).getCount());
+        assertEquals(2L, metrics.getTimer(MetricGroup.CONTEXTUAL_CREATION, FooContextual.class.getName()).getCount());
+        assertEquals(1L, metrics.getTimer(MetricGroup.LOCK_WAIT, "conversation").getCount());
+        assertEquals(1L, metrics.getCounter(MetricGroup.CONVERSATION, "busy").get());
+        ObjectName name = getObjectName(MetricGroup.LOCK_WAIT);
+        assertEquals(2L, server.getAttribute(name, FooContextual.class.getName() + ".count"));
+        assertEquals(20000L, server.getAttribute(name, FooContextual.class.getName() + ".totalMicros"));
+        ObjectName creationName = getObjectName(MetricGroup.CONTEXTUAL_CREATION);
+        assertEquals(2L, server.getAttribute(creationName, FooContextual.class.getName() + ".count"));
+        assertEquals(50000L, server.getAttribute(creationName, FooContextual.class.getName() + ".totalMicros"));
+    }
+
+    private ObjectName getObjectName(MetricGroup group) throws Exception {
+        Set<ObjectName> names = server.queryNames(new ObjectName("org.jboss.weld:type=Metrics,group=" + group.getName() + ",*"), null);
+        assertEquals(1, names.size());
+        return names.iterator().next();
+    }
+
+    private static class FooContextual implements Contextual<Object> {
+
+        public Object create(CreationalContext<Object> creationalContext) {
+            return new Object();
+        }
+
+        public void destroy(Object instance, CreationalContext<Object> creationalContext) {
+        }
+    }
+
+}
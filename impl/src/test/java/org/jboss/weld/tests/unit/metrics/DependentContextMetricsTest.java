@@ -0,0 +1,88 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.metrics;
+
+import static org.junit.Assert.assertEquals;
+
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+
+import org.jboss.weld.context.unbound.DependentContextImpl;
+import org.jboss.weld.metrics.JmxMetrics;
+import org.jboss.weld.metrics.MetricGroup;
+import org.jboss.weld.metrics.Metrics;
+import org.jboss.weld.metrics.MetricsSupport;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DependentContextMetricsTest {
+
+    private MBeanServer server;
+    private JmxMetrics metrics;
+
+    @Before
+    public void before() {
+        server = MBeanServerFactory.newMBeanServer();
+        metrics = new JmxMetrics(server);
+    }
+
+    @After
+    public void after() {
+        metrics.cleanup();
+        MBeanServerFactory.releaseMBeanServer(server);
+    }
+
+    @Test
+    public void testInstancesAreCountedPerContextualClass() {
+        // the contextual store is not needed to count the instances
+        DependentContextImpl context = new DependentContextImpl(null, metrics);
+        for (int i = 0; i < 3; i++) {
+            // the instances of distinct contextuals of the same class are counted under the same name
+            context.get(new StringContextual(), new SimpleCreationalContext<String>());
+        }
+        assertEquals(3L, getCount(metrics, MetricGroup.BEAN, StringContextual.class.getName()));
+        assertEquals(3L, getCount(metrics, MetricGroup.SCOPE, "Dependent"));
+        assertEquals(StringContextual.class.getName(), MetricsSupport.getBeanClassName(new StringContextual()));
+    }
+
+    private static long getCount(Metrics metrics, MetricGroup group, String name) {
+        return metrics.getCounter(group, name).get();
+    }
+
+    private static class StringContextual implements Contextual<String> {
+
+        public String create(CreationalContext<String> creationalContext) {
+            return "foo";
+        }
+
+        public void destroy(String instance, CreationalContext<String> creationalContext) {
+        }
+    }
+
+    private static class SimpleCreationalContext<T> implements CreationalContext<T> {
+
+        public void push(T incompleteInstance) {
+        }
+
+        public void release() {
+        }
+    }
+
+}
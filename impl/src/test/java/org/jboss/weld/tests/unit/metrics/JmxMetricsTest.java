@@ -0,0 +1,140 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.ref.WeakReference;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import org.jboss.weld.metrics.Counter;
+import org.jboss.weld.metrics.Gauge;
+import org.jboss.weld.metrics.JmxMetrics;
+import org.jboss.weld.metrics.MetricGroup;
+import org.jboss.weld.metrics.Timer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JmxMetricsTest {
+
+    private MBeanServer server;
+    private JmxMetrics metrics;
+
+    @Before
+    public void before() {
+        server = MBeanServerFactory.newMBeanServer();
+        metrics = new JmxMetrics(server);
+    }
+
+    @After
+    public void after() {
+        metrics.cleanup();
+        MBeanServerFactory.releaseMBeanServer(server);
+    }
+
+    @Test
+    public void testCounter() throws Exception {
+        Counter counter = metrics.getCounter(MetricGroup.EVENT, "foo");
+        assertSame(counter, metrics.getCounter(MetricGroup.EVENT, "foo"));
+        counter.increment();
+        counter.add(41);
+        assertEquals(42L, counter.get());
+        assertEquals(42L, server.getAttribute(getObjectName(MetricGroup.EVENT), "foo"));
+    }
+
+    @Test
+    public void testGaugesAreAddedUp() throws Exception {
+        metrics.addGauge(MetricGroup.RESOLUTION, "size", new ConstantGauge(3));
+        metrics.addGauge(MetricGroup.RESOLUTION, "size", new ConstantGauge(4));
+        assertEquals(7L, server.getAttribute(getObjectName(MetricGroup.RESOLUTION), "size"));
+    }
+
+    @Test
+    public void testWeakGaugeDroppedOnceCollected() throws Exception {
+        Gauge alive = new ConstantGauge(3);
+        Gauge discarded = new ConstantGauge(4);
+        metrics.addWeakGauge(MetricGroup.RESOLUTION, "size", alive);
+        metrics.addWeakGauge(MetricGroup.RESOLUTION, "size", discarded);
+        assertEquals(7L, server.getAttribute(getObjectName(MetricGroup.RESOLUTION), "size"));
+        WeakReference<Gauge> sentinel = new WeakReference<Gauge>(discarded);
+        discarded = null;
+        for (int i = 0; i < 100 && sentinel.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+        // the metrics do not keep the gauge of a discarded component alive
+        assertNull(sentinel.get());
+        assertEquals(3L, server.getAttribute(getObjectName(MetricGroup.RESOLUTION), "size"));
+        assertEquals(3L, alive.getValue());
+    }
+
+    @Test
+    public void testTimer() throws Exception {
+        Timer timer = metrics.getTimer(MetricGroup.INVOCATION, "foo");
+        assertSame(timer, metrics.getTimer(MetricGroup.INVOCATION, "foo"));
+        for (int i = 1; i <= 100; i++) {
+            timer.record(TimeUnit.MICROSECONDS.toNanos(i));
+        }
+        ObjectName name = getObjectName(MetricGroup.INVOCATION);
+        assertEquals(100L, server.getAttribute(name, "foo.count"));
+        assertEquals(5050L, server.getAttribute(name, "foo.totalMicros"));
+        assertEquals(50L, server.getAttribute(name, "foo.meanMicros"));
+        assertEquals(100L, server.getAttribute(name, "foo.maxMicros"));
+        // the percentiles are the upper bounds of power of two buckets
+        assertEquals(63L, server.getAttribute(name, "foo.p50Micros"));
+        assertEquals(100L, server.getAttribute(name, "foo.p99Micros"));
+    }
+
+    @Test
+    public void testCleanupUnregistersMBeans() throws Exception {
+        metrics.getCounter(MetricGroup.BEAN, "foo");
+        ObjectName name = getObjectName(MetricGroup.BEAN);
+        assertTrue(server.isRegistered(name));
+        metrics.cleanup();
+        assertFalse(server.isRegistered(name));
+    }
+
+    private ObjectName getObjectName(MetricGroup group) throws Exception {
+        Set<ObjectName> names = server.queryNames(new ObjectName("org.jboss.weld:type=Metrics,group=" + group.getName() + ",*"), null);
+        assertEquals(1, names.size());
+        return names.iterator().next();
+    }
+
+    private static class ConstantGauge implements Gauge {
+
+        private final long value;
+
+        private ConstantGauge(long value) {
+            this.value = value;
+        }
+
+        public long getValue() {
+            return value;
+        }
+    }
+
+}
@@ -0,0 +1,149 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.proxy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.weld.bean.proxy.ProxyClassRegistry;
+import org.junit.Test;
+
+public class ProxyClassRegistryTest {
+
+    private static final ClassLoader LOADER = ProxyClassRegistryTest.class.getClassLoader();
+
+    @Test
+    public void testClassCreatedOnce() throws Exception {
+        ProxyClassRegistry registry = new ProxyClassRegistry();
+        CountingFactory factory = new CountingFactory(String.class);
+        assertNull(registry.getCreatedClass(LOADER, "foo"));
+        assertSame(String.class, registry.getClass(LOADER, "foo", factory));
+        // a hit does not call the factory again
+        assertSame(String.class, registry.getClass(LOADER, "foo", factory));
+        assertSame(String.class, registry.getCreatedClass(LOADER, "foo"));
+        assertEquals(1, factory.calls.get());
+    }
+
+    @Test
+    public void testKeyedByLoaderAndName() throws Exception {
+        ProxyClassRegistry registry = new ProxyClassRegistry();
+        ClassLoader otherLoader = new ClassLoader(LOADER) {
+        };
+        registry.getClass(LOADER, "foo", new CountingFactory(String.class));
+        assertSame(Integer.class, registry.getClass(otherLoader, "foo", new CountingFactory(Integer.class)));
+        assertSame(Long.class, registry.getClass(LOADER, "bar", new CountingFactory(Long.class)));
+        assertSame(String.class, registry.getCreatedClass(LOADER, "foo"));
+        assertNull(registry.getCreatedClass(otherLoader, "bar"));
+    }
+
+    @Test
+    public void testFailedCreationRetried() throws Exception {
+        ProxyClassRegistry registry = new ProxyClassRegistry();
+        final IllegalStateException failure = new IllegalStateException();
+        try {
+            registry.getClass(LOADER, "foo", new Callable<Class<?>>() {
+                public Class<?> call() {
+                    throw failure;
+                }
+            });
+            fail();
+        } catch (ExecutionException e) {
+            assertSame(failure, e.getCause());
+        }
+        // the failure is not cached
+        assertNull(registry.getCreatedClass(LOADER, "foo"));
+        CountingFactory factory = new CountingFactory(String.class);
+        assertSame(String.class, registry.getClass(LOADER, "foo", factory));
+        assertEquals(1, factory.calls.get());
+    }
+
+    @Test
+    public void testCleanup() throws Exception {
+        ProxyClassRegistry registry = new ProxyClassRegistry();
+        CountingFactory factory = new CountingFactory(String.class);
+        registry.getClass(LOADER, "foo", factory);
+        registry.cleanup();
+        assertNull(registry.getCreatedClass(LOADER, "foo"));
+        registry.getClass(LOADER, "foo", factory);
+        assertEquals(2, factory.calls.get());
+    }
+
+    @Test
+    public void testConcurrentCallersShareCreation() throws Exception {
+        final ProxyClassRegistry registry = new ProxyClassRegistry();
+        final CountDownLatch creating = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger calls = new AtomicInteger();
+        final Callable<Class<?>> factory = new Callable<Class<?>>() {
+            public Class<?> call() throws Exception {
+                calls.incrementAndGet();
+                creating.countDown();
+                release.await();
+                return String.class;
+            }
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Class<?>>> results = new ArrayList<Future<Class<?>>>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(new Callable<Class<?>>() {
+                    public Class<?> call() throws Exception {
+                        return registry.getClass(LOADER, "foo", factory);
+                    }
+                }));
+            }
+            creating.await();
+            // a different name is not blocked by the pending creation
+            assertSame(Long.class, registry.getClass(LOADER, "bar", new CountingFactory(Long.class)));
+            assertNull(registry.getCreatedClass(LOADER, "foo"));
+            release.countDown();
+            for (Future<Class<?>> result : results) {
+                assertSame(String.class, result.get());
+            }
+            assertEquals(1, calls.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static class CountingFactory implements Callable<Class<?>> {
+
+        private final Class<?> clazz;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private CountingFactory(Class<?> clazz) {
+            this.clazz = clazz;
+        }
+
+        public Class<?> call() {
+            calls.incrementAndGet();
+            return clazz;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.serialization;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.util.Map;
+
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
+
+import org.jboss.weld.serialization.ContextualStoreImpl;
+import org.junit.Test;
+
+public class ContextualStoreImplTest {
+
+    @Test
+    public void testGeneratedId() {
+        ContextualStoreImpl store = new ContextualStoreImpl();
+        Contextual<Object> foo = new SimpleContextual("foo");
+        Contextual<Object> bar = new SimpleContextual("bar");
+        String fooId = store.putIfAbsent(foo);
+        String barId = store.putIfAbsent(bar);
+        assertEquals(fooId, store.putIfAbsent(foo));
+        assertFalse(fooId.equals(barId));
+        assertSame(foo, store.getContextual(fooId));
+        assertSame(bar, store.getContextual(barId));
+    }
+
+    @Test
+    public void testEqualContextualsShareId() {
+        ContextualStoreImpl store = new ContextualStoreImpl();
+        Contextual<Object> foo = new SimpleContextual("foo");
+        String id = store.putIfAbsent(foo);
+        assertEquals(id, store.putIfAbsent(new SimpleContextual("foo")));
+        assertSame(foo, store.getContextual(id));
+    }
+
+    @Test
+    public void testCollectedContextualIsPurged() throws Exception {
+        ContextualStoreImpl store = new ContextualStoreImpl();
+        Contextual<Object> foo = new SimpleContextual("foo");
+        String id = store.putIfAbsent(foo);
+        WeakReference<Contextual<Object>> sentinel = new WeakReference<Contextual<Object>>(foo);
+        foo = null;
+        collect(sentinel);
+        assertNull(store.getContextual(id));
+        // the entry is purged by the next registration once the reference is enqueued
+        Map<?, ?> contextualsInverse = getContextualsInverse(store);
+        for (int i = 0; i < 100 && contextualsInverse.containsKey(id); i++) {
+            store.putIfAbsent(new SimpleContextual("bar" + i));
+            Thread.sleep(10L);
+        }
+        assertFalse(contextualsInverse.containsKey(id));
+    }
+
+    @Test
+    public void testIdSurvivesWhileEqualContextualIsAlive() throws Exception {
+        ContextualStoreImpl store = new ContextualStoreImpl();
+        Contextual<Object> first = new SimpleContextual("foo");
+        Contextual<Object> second = new SimpleContextual("foo");
+        String id = store.putIfAbsent(first);
+        assertEquals(id, store.putIfAbsent(second));
+        WeakReference<Contextual<Object>> sentinel = new WeakReference<Contextual<Object>>(first);
+        first = null;
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+        // the first contextual is retained by the store as an equal contextual uses its id
+        assertNotNull(sentinel.get());
+        assertEquals(id, store.putIfAbsent(second));
+        assertEquals(second, store.getContextual(id));
+    }
+
+    @Test
+    public void testCleanup() {
+        ContextualStoreImpl store = new ContextualStoreImpl();
+        Contextual<Object> foo = new SimpleContextual("foo");
+        String id = store.putIfAbsent(foo);
+        store.cleanup();
+        assertNull(store.getContextual(id));
+    }
+
+    private static void collect(WeakReference<?> sentinel) throws InterruptedException {
+        for (int i = 0; i < 100 && sentinel.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+        assertNull("The contextual was not garbage collected", sentinel.get());
+    }
+
+    private static Map<?, ?> getContextualsInverse(ContextualStoreImpl store) throws Exception {
+        Field field = ContextualStoreImpl.class.getDeclaredField("contextualsInverse");
+        field.setAccessible(true);
+        return (Map<?, ?>) field.get(store);
+    }
+
+    private static class SimpleContextual implements Contextual<Object> {
+
+        private final String name;
+
+        private SimpleContextual(String name) {
+            this.name = name;
+        }
+
+        public Object create(CreationalContext<Object> creationalContext) {
+            return new Object();
+        }
+
+        public void destroy(Object instance, CreationalContext<Object> creationalContext) {
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof SimpleContextual && name.equals(((SimpleContextual) obj).name);
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.bootstrap.eager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.config.WeldConfiguration;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Verifies that application-scoped and singleton beans are instantiated at the end of bootstrap, in the order of their
+ * dependencies, if eager initialization is enabled.
+ */
+@RunWith(Arquillian.class)
+public class EagerInitializationTest {
+
+    private static final List<String> INITIALIZED = Collections.synchronizedList(new ArrayList<String>());
+
+    @Deployment
+    public static Archive<?> deploy() {
+        return ShrinkWrap.create(BeanArchive.class).addPackage(EagerInitializationTest.class.getPackage())
+                .addAsResource(new StringAsset(ConfigurationKey.EAGER_INITIALIZATION.get() + "=true"), WeldConfiguration.CONFIGURATION_FILE);
+    }
+
+    @Inject
+    private FailingBean failingBean;
+
+    @Test
+    public void testBeansInitializedDuringBootstrap() {
+        assertTrue(INITIALIZED.contains("repository"));
+        assertTrue(INITIALIZED.contains("service"));
+        assertTrue(INITIALIZED.contains("cache"));
+        assertTrue(INITIALIZED.contains("lazyClient"));
+        // each bean is created once
+        assertEquals(INITIALIZED.size(), new HashSet<String>(INITIALIZED).size());
+    }
+
+    @Test
+    public void testDependenciesInitializedFirst() {
+        int repository = INITIALIZED.indexOf("repository");
+        // a direct dependency
+        assertTrue(repository < INITIALIZED.indexOf("service"));
+        // a dependency of a dependent bean
+        assertTrue(repository < INITIALIZED.indexOf("cache"));
+    }
+
+    @Test
+    public void testFailedBeanInitializedUponFirstUse() {
+        assertEquals(1, FailingBean.ATTEMPTS.get());
+        assertEquals("ok", failingBean.ping());
+        assertEquals(2, FailingBean.ATTEMPTS.get());
+    }
+
+    @ApplicationScoped
+    public static class Repository {
+
+        @PostConstruct
+        void init() {
+            INITIALIZED.add("repository");
+        }
+    }
+
+    @ApplicationScoped
+    public static class Service {
+
+        @Inject
+        Repository repository;
+
+        @PostConstruct
+        void init() {
+            INITIALIZED.add("service");
+        }
+    }
+
+    public static class Helper {
+
+        @Inject
+        Repository repository;
+    }
+
+    @Singleton
+    public static class Cache {
+
+        @Inject
+        Helper helper;
+
+        @PostConstruct
+        void init() {
+            INITIALIZED.add("cache");
+        }
+    }
+
+    @ApplicationScoped
+    public static class LazyClient {
+
+        @Inject
+        Instance<Service> service;
+
+        @PostConstruct
+        void init() {
+            INITIALIZED.add("lazyClient");
+        }
+    }
+
+    @ApplicationScoped
+    public static class FailingBean {
+
+        static final AtomicInteger ATTEMPTS = new AtomicInteger();
+
+        @PostConstruct
+        void init() {
+            if (ATTEMPTS.incrementAndGet() == 1) {
+                throw new IllegalStateException("Not ready yet");
+            }
+        }
+
+        public String ping() {
+            return "ok";
+        }
+    }
+
+}
@@ -0,0 +1,210 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.contexts.execution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.context.RequestContext;
+import org.jboss.weld.context.beanstore.BeanStore;
+import org.jboss.weld.context.unbound.ScopedExecution;
+import org.jboss.weld.context.unbound.Unbound;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Verifies that {@link ScopedExecution} activates the request context for each task, destroys the instances created during
+ * the task and reuses the bean store of the worker thread until it is released.
+ */
+@RunWith(Arquillian.class)
+public class ScopedExecutionTest {
+
+    @Deployment
+    public static Archive<?> deploy() {
+        return ShrinkWrap.create(BeanArchive.class).addPackage(ScopedExecutionTest.class.getPackage());
+    }
+
+    @Inject
+    private BeanManager beanManager;
+
+    @Inject
+    @Unbound
+    private RequestContext unboundRequestContext;
+
+    @Inject
+    private RequestBean requestBean;
+
+    private ExecutorService executor;
+
+    @Before
+    public void before() {
+        executor = Executors.newSingleThreadExecutor();
+        RequestBean.DESTROYED.set(0);
+    }
+
+    @After
+    public void after() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testInstancesDestroyedAfterTask() throws Exception {
+        ScopedExecution execution = ScopedExecution.of(beanManager);
+        int first = executor.submit(execution.wrap(new IdTask())).get();
+        assertEquals(1, RequestBean.DESTROYED.get());
+        int second = executor.submit(execution.wrap(new IdTask())).get();
+        assertEquals(2, RequestBean.DESTROYED.get());
+        // each task is a request of its own
+        assertFalse(first == second);
+        // the context is deactivated once the task completes
+        assertFalse(executor.submit(new IsActiveTask()).get());
+    }
+
+    @Test
+    public void testNestedExecution() throws Exception {
+        final ScopedExecution execution = ScopedExecution.of(beanManager);
+        boolean sameInstance = executor.submit(execution.wrap(new Callable<Boolean>() {
+            public Boolean call() throws Exception {
+                int outer = requestBean.getId();
+                int inner = execution.call(new IdTask());
+                // the inner execution leaves the active context untouched
+                return outer == inner && unboundRequestContext.isActive();
+            }
+        })).get();
+        assertTrue(sameInstance);
+        assertEquals(1, RequestBean.DESTROYED.get());
+    }
+
+    @Test
+    public void testInstancesDestroyedAfterFailure() throws Exception {
+        final ScopedExecution execution = ScopedExecution.of(beanManager);
+        boolean failed = executor.submit(new Callable<Boolean>() {
+            public Boolean call() {
+                try {
+                    execution.run(new Runnable() {
+                        public void run() {
+                            requestBean.getId();
+                            throw new IllegalStateException();
+                        }
+                    });
+                    return false;
+                } catch (IllegalStateException expected) {
+                    return true;
+                }
+            }
+        }).get();
+        assertTrue(failed);
+        assertEquals(1, RequestBean.DESTROYED.get());
+        assertFalse(executor.submit(new IsActiveTask()).get());
+    }
+
+    @Test
+    public void testBeanStoreReusedUntilReleased() throws Exception {
+        final ScopedExecution execution = ScopedExecution.of(beanManager);
+        executor.submit(execution.wrap(new IdTask())).get();
+        BeanStore first = executor.submit(new BeanStoreTask(execution)).get();
+        assertNotNull(first);
+        // the store is cleared in place after each task
+        assertFalse(first.iterator().hasNext());
+        executor.submit(execution.wrap(new IdTask())).get();
+        assertSame(first, executor.submit(new BeanStoreTask(execution)).get());
+        assertFalse(first.iterator().hasNext());
+        executor.submit(new Runnable() {
+            public void run() {
+                execution.release();
+            }
+        }).get();
+        assertNull(executor.submit(new BeanStoreTask(execution)).get());
+        // a released thread gets a new store
+        executor.submit(execution.wrap(new IdTask())).get();
+        BeanStore second = executor.submit(new BeanStoreTask(execution)).get();
+        assertNotNull(second);
+        assertFalse(first == second);
+    }
+
+    private class IdTask implements Callable<Integer> {
+
+        public Integer call() {
+            return requestBean.getId();
+        }
+    }
+
+    private static class BeanStoreTask implements Callable<BeanStore> {
+
+        private final ScopedExecution execution;
+
+        private BeanStoreTask(ScopedExecution execution) {
+            this.execution = execution;
+        }
+
+        public BeanStore call() throws Exception {
+            Field field = ScopedExecution.class.getDeclaredField("beanStore");
+            field.setAccessible(true);
+            return (BeanStore) ((ThreadLocal<?>) field.get(execution)).get();
+        }
+    }
+
+    private class IsActiveTask implements Callable<Boolean> {
+
+        public Boolean call() {
+            return unboundRequestContext.isActive();
+        }
+    }
+
+    @RequestScoped
+    public static class RequestBean {
+
+        private static final AtomicInteger SEQUENCE = new AtomicInteger();
+        private static final AtomicInteger DESTROYED = new AtomicInteger();
+
+        private int id;
+
+        public int getId() {
+            if (id == 0) {
+                id = SEQUENCE.incrementAndGet();
+            }
+            return id;
+        }
+
+        @PreDestroy
+        void destroy() {
+            DESTROYED.incrementAndGet();
+        }
+    }
+}
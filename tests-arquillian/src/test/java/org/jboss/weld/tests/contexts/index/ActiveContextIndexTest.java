@@ -0,0 +1,181 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.contexts.index;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.RequestScoped;
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.context.RequestContext;
+import org.jboss.weld.context.bound.Bound;
+import org.jboss.weld.context.bound.BoundRequestContext;
+import org.jboss.weld.context.unbound.Unbound;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Verifies the lookup of the active context of a built-in scope as the contexts are activated and deactivated on a thread.
+ */
+@RunWith(Arquillian.class)
+public class ActiveContextIndexTest {
+
+    @Deployment
+    public static Archive<?> deploy() {
+        return ShrinkWrap.create(BeanArchive.class).addPackage(ActiveContextIndexTest.class.getPackage());
+    }
+
+    @Inject
+    private BeanManagerImpl beanManager;
+
+    @Inject
+    @Unbound
+    private RequestContext unboundRequestContext;
+
+    @Inject
+    @Bound
+    private BoundRequestContext boundRequestContext;
+
+    @Inject
+    private RequestBean requestBean;
+
+    private ExecutorService executor;
+
+    @Before
+    public void before() {
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void after() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testContextActivatedAndDeactivated() throws Exception {
+        onWorkerThread(new Callable<Void>() {
+            public Void call() {
+                assertFalse(beanManager.isContextActive(RequestScoped.class));
+                assertTrue(beanManager.isContextActive(ApplicationScoped.class));
+                unboundRequestContext.activate();
+                try {
+                    assertTrue(beanManager.isContextActive(RequestScoped.class));
+                    assertTrue(beanManager.getContext(RequestScoped.class).isActive());
+                    assertEquals(requestBean.getId(), requestBean.getId());
+                } finally {
+                    unboundRequestContext.invalidate();
+                    unboundRequestContext.deactivate();
+                }
+                assertFalse(beanManager.isContextActive(RequestScoped.class));
+                return null;
+            }
+        });
+    }
+
+    @Test
+    public void testSwitchingContexts() throws Exception {
+        final Map<String, Object> storage = new HashMap<String, Object>();
+        onWorkerThread(new Callable<Void>() {
+            public Void call() {
+                String boundId = inBoundContext(storage);
+                assertEquals(boundId, inBoundContext(storage));
+                unboundRequestContext.activate();
+                try {
+                    assertFalse(boundId.equals(requestBean.getId()));
+                } finally {
+                    unboundRequestContext.invalidate();
+                    unboundRequestContext.deactivate();
+                }
+                assertEquals(boundId, inBoundContext(storage));
+                return null;
+            }
+        });
+    }
+
+    @Test
+    public void testMultipleActiveContextsDetected() throws Exception {
+        onWorkerThread(new Callable<Void>() {
+            public Void call() {
+                Map<String, Object> storage = new HashMap<String, Object>();
+                unboundRequestContext.activate();
+                boundRequestContext.associate(storage);
+                boundRequestContext.activate();
+                try {
+                    beanManager.getContext(RequestScoped.class);
+                    fail();
+                } catch (IllegalStateException expected) {
+                } finally {
+                    boundRequestContext.deactivate();
+                    boundRequestContext.dissociate(storage);
+                }
+                // a single active context again
+                try {
+                    assertTrue(beanManager.getContext(RequestScoped.class).isActive());
+                } finally {
+                    unboundRequestContext.invalidate();
+                    unboundRequestContext.deactivate();
+                }
+                return null;
+            }
+        });
+    }
+
+    private String inBoundContext(Map<String, Object> storage) {
+        boundRequestContext.associate(storage);
+        boundRequestContext.activate();
+        try {
+            return requestBean.getId();
+        } finally {
+            boundRequestContext.deactivate();
+            boundRequestContext.dissociate(storage);
+        }
+    }
+
+    private void onWorkerThread(Callable<Void> task) throws Exception {
+        executor.submit(task).get();
+    }
+
+    @RequestScoped
+    public static class RequestBean {
+
+        private final String id = UUID.randomUUID().toString();
+
+        public String getId() {
+            return id;
+        }
+    }
+
+}
@@ -0,0 +1,227 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.contexts.pooled;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.spi.Context;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.config.WeldConfiguration;
+import org.jboss.weld.context.PassivatingContextWrapper;
+import org.jboss.weld.context.pool.PoolStatistics;
+import org.jboss.weld.context.pool.Pooled;
+import org.jboss.weld.context.pool.PooledContext;
+import org.jboss.weld.interceptor.util.proxy.TargetInstanceProxy;
+import org.jboss.weld.util.reflection.Reflections;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Verifies that every instance of a {@link Pooled} bean borrowed by an invocation or a lookup goes back to the pool.
+ */
+@RunWith(Arquillian.class)
+public class PooledContextTest {
+
+    @Deployment
+    public static Archive<?> deploy() {
+        return ShrinkWrap.create(BeanArchive.class).addPackage(PooledContextTest.class.getPackage())
+                .addAsResource(new StringAsset(ConfigurationKey.POOL_MAX_SIZE.get() + "=1"), WeldConfiguration.CONFIGURATION_FILE);
+    }
+
+    @Inject
+    private BeanManager beanManager;
+
+    @Inject
+    private Worker worker;
+
+    @Inject
+    private BusyWorker busyWorker;
+
+    @Inject
+    private NestedWorker nestedWorker;
+
+    @Inject
+    private UnwrappedWorker unwrappedWorker;
+
+    @Test
+    public void testInstanceReturnedAfterInvocation() {
+        int first = worker.getId();
+        int second = worker.getId();
+        // the idle instance is used again
+        assertEquals(first, second);
+
+        PoolStatistics statistics = getContext().getStatistics(getBean(Worker.class));
+        assertNotNull(statistics);
+        assertEquals(1, statistics.getCreatedCount());
+        assertEquals(2, statistics.getBorrowedCount());
+        assertEquals(2, statistics.getReturnedCount());
+        assertEquals(1, statistics.getIdleCount());
+        // no instance is held by the current thread once the invocations complete
+        assertNull(getContext().get(getBean(Worker.class)));
+    }
+
+    @Test
+    public void testNestedInvocationsShareInstance() {
+        assertEquals(nestedWorker.getId(), nestedWorker.getIdOf(nestedWorker));
+        PoolStatistics statistics = getContext().getStatistics(getBean(NestedWorker.class));
+        assertEquals(1, statistics.getCreatedCount());
+        assertEquals(0, statistics.getDiscardedCount());
+        assertNull(getContext().get(getBean(NestedWorker.class)));
+    }
+
+    @Test
+    public void testExhaustion() {
+        final AtomicInteger concurrentId = new AtomicInteger();
+        int id = busyWorker.run(new Runnable() {
+            public void run() {
+                // the instance of the outer invocation is borrowed so another thread gets a new instance
+                Thread thread = new Thread(new Runnable() {
+                    public void run() {
+                        concurrentId.set(busyWorker.run(null));
+                    }
+                });
+                thread.start();
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        assertFalse(id == concurrentId.get());
+
+        PoolStatistics statistics = getContext().getStatistics(getBean(BusyWorker.class));
+        assertEquals(2, statistics.getCreatedCount());
+        assertEquals(1, statistics.getReturnedCount());
+        // the pool holds a single idle instance, the other one is destroyed
+        assertEquals(1, statistics.getIdleCount());
+        assertEquals(1, statistics.getDiscardedCount());
+        assertEquals(1, BusyWorker.DESTROYED.get());
+    }
+
+    @Test
+    public void testUnwrappedInstanceReturned() {
+        Bean<UnwrappedWorker> bean = getBean(UnwrappedWorker.class);
+        Object instance = Reflections.<TargetInstanceProxy<?>>cast(unwrappedWorker).getTargetInstance();
+        assertNotNull(instance);
+        PoolStatistics statistics = getContext().getStatistics(bean);
+        assertEquals(1, statistics.getBorrowedCount());
+        assertEquals(1, statistics.getReturnedCount());
+        assertNull(getContext().get(bean));
+
+        // the next unwrapping gets the same idle instance back
+        assertSame(instance, Reflections.<TargetInstanceProxy<?>>cast(unwrappedWorker).getTargetInstance());
+        assertEquals(1, statistics.getCreatedCount());
+        assertEquals(1, statistics.getIdleCount());
+    }
+
+    @Test
+    public void testLookupDoesNotHoldInstance() {
+        Bean<LookupWorker> bean = getBean(LookupWorker.class);
+        // an existence check never borrows an instance
+        assertNull(getContext().get(bean));
+        LookupWorker instance = getContext().get(bean, beanManager.createCreationalContext(bean));
+        assertNotNull(instance);
+        // the instance handed out by the context is back in the pool
+        assertNull(getContext().get(bean));
+        assertEquals(1, getContext().getStatistics(bean).getIdleCount());
+    }
+
+    private PooledContext getContext() {
+        Context context = beanManager.getContext(Pooled.class);
+        return (PooledContext) PassivatingContextWrapper.unwrap(context);
+    }
+
+    private <T> Bean<T> getBean(Class<T> type) {
+        return Reflections.cast(beanManager.resolve(beanManager.getBeans(type)));
+    }
+
+    @Pooled
+    public static class Worker {
+
+        private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+        private final int id = SEQUENCE.incrementAndGet();
+
+        public int getId() {
+            return id;
+        }
+    }
+
+    @Pooled
+    public static class NestedWorker {
+
+        private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+        private final int id = SEQUENCE.incrementAndGet();
+
+        public int getId() {
+            return id;
+        }
+
+        public int getIdOf(NestedWorker worker) {
+            // invoked through the client proxy on the current thread
+            return worker.getId();
+        }
+    }
+
+    @Pooled
+    public static class BusyWorker {
+
+        private static final AtomicInteger SEQUENCE = new AtomicInteger();
+        private static final AtomicInteger DESTROYED = new AtomicInteger();
+
+        private final int id = SEQUENCE.incrementAndGet();
+
+        public int run(Runnable task) {
+            if (task != null) {
+                task.run();
+            }
+            return id;
+        }
+
+        @PreDestroy
+        void destroy() {
+            DESTROYED.incrementAndGet();
+        }
+    }
+
+    @Pooled
+    public static class UnwrappedWorker {
+    }
+
+    @Pooled
+    public static class LookupWorker {
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.contexts.pooled.validation;
+
+import javax.enterprise.event.Observes;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.container.test.api.ShouldThrowException;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.context.pool.Pooled;
+import org.jboss.weld.exceptions.DefinitionException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * The receiver of an observer method is not borrowed from the pool so a pooled bean may not declare a non-static observer method.
+ */
+@RunWith(Arquillian.class)
+public class PooledObserverMethodTest {
+
+    @Deployment
+    @ShouldThrowException(DefinitionException.class)
+    public static Archive<?> deploy() {
+        return ShrinkWrap.create(BeanArchive.class).addClass(ObservingWorker.class);
+    }
+
+    @Test
+    public void testDeploymentFails() {
+    }
+
+    @Pooled
+    public static class ObservingWorker {
+
+        public void observe(@Observes String event) {
+        }
+    }
+}
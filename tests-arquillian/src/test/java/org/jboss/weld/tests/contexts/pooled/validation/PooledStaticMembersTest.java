@@ -0,0 +1,76 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.contexts.pooled.validation;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.Produces;
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.context.pool.Pooled;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Static observer and producer methods of a pooled bean do not need a receiver and are allowed.
+ */
+@RunWith(Arquillian.class)
+public class PooledStaticMembersTest {
+
+    @Deployment
+    public static Archive<?> deploy() {
+        return ShrinkWrap.create(BeanArchive.class).addClass(StaticWorker.class);
+    }
+
+    @Inject
+    private Event<Integer> event;
+
+    @Inject
+    private StringBuilder producedBuilder;
+
+    @Test
+    public void testStaticMembers() {
+        StaticWorker.OBSERVED.set(0);
+        event.fire(42);
+        assertEquals(42, StaticWorker.OBSERVED.get());
+        assertEquals("pooled", producedBuilder.toString());
+    }
+
+    @Pooled
+    public static class StaticWorker {
+
+        static final AtomicInteger OBSERVED = new AtomicInteger();
+
+        public static void observe(@Observes Integer event) {
+            OBSERVED.set(event);
+        }
+
+        @Produces
+        public static StringBuilder produce() {
+            return new StringBuilder("pooled");
+        }
+    }
+}
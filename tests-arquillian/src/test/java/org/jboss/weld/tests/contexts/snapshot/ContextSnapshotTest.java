@@ -0,0 +1,254 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.contexts.snapshot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.context.ContextPropagatingExecutorService;
+import org.jboss.weld.context.ContextSnapshot;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Verifies that {@link ContextSnapshot} makes the contexts of the submitting thread available to tasks, in shared and
+ * read-only mode, and that the worker threads are left clean.
+ */
+@RunWith(Arquillian.class)
+public class ContextSnapshotTest {
+
+    private static final int THREADS = 8;
+
+    @Deployment
+    public static Archive<?> deploy() {
+        return ShrinkWrap.create(BeanArchive.class).addPackage(ContextSnapshotTest.class.getPackage());
+    }
+
+    @Inject
+    private BeanManager beanManager;
+
+    @Inject
+    private CapturedBean capturedBean;
+
+    @Inject
+    private ReadOnlyBean readOnlyBean;
+
+    @Inject
+    private SharedBean sharedBean;
+
+    @Inject
+    private ConcurrentBean concurrentBean;
+
+    private ExecutorService delegate;
+
+    @Before
+    public void before() {
+        delegate = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @After
+    public void after() {
+        delegate.shutdownNow();
+    }
+
+    @Test
+    public void testCapturedInstanceRestored() throws Exception {
+        int id = capturedBean.getId();
+        ExecutorService executor = new ContextPropagatingExecutorService(delegate, beanManager, false);
+        assertEquals(id, executor.submit(new Callable<Integer>() {
+            public Integer call() {
+                return capturedBean.getId();
+            }
+        }).get().intValue());
+    }
+
+    @Test
+    public void testReadOnlyInstancesDestroyed() throws Exception {
+        ExecutorService executor = new ContextPropagatingExecutorService(delegate, beanManager, false);
+        int id = executor.submit(new Callable<Integer>() {
+            public Integer call() {
+                return readOnlyBean.getId();
+            }
+        }).get();
+        assertEquals(1, ReadOnlyBean.DESTROYED.get());
+        // the instance created by the task is not visible to the submitting thread
+        assertFalse(id == readOnlyBean.getId());
+    }
+
+    @Test
+    public void testSharedInstancesVisible() throws Exception {
+        ExecutorService executor = new ContextPropagatingExecutorService(delegate, beanManager, true);
+        int id = executor.submit(new Callable<Integer>() {
+            public Integer call() {
+                return sharedBean.getId();
+            }
+        }).get();
+        assertEquals(0, SharedBean.DESTROYED.get());
+        assertEquals(id, sharedBean.getId());
+    }
+
+    @Test
+    public void testConcurrentSharedTasks() throws Exception {
+        // make sure the captured request context is active on the submitting thread
+        capturedBean.getId();
+        ExecutorService executor = new ContextPropagatingExecutorService(delegate, beanManager, true);
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+        for (int i = 0; i < THREADS * 4; i++) {
+            results.add(executor.submit(new Callable<Integer>() {
+                public Integer call() throws Exception {
+                    start.await();
+                    return concurrentBean.getId();
+                }
+            }));
+        }
+        start.countDown();
+        for (Future<Integer> result : results) {
+            assertEquals(concurrentBean.getId(), result.get().intValue());
+        }
+        // the tasks created a single instance in the shared bean store
+        assertEquals(1, ConcurrentBean.CREATED.get());
+    }
+
+    @Test
+    public void testWorkerThreadsCleanedUp() throws Exception {
+        capturedBean.getId();
+        ExecutorService executor = new ContextPropagatingExecutorService(delegate, beanManager, true);
+        assertTrue(executor.submit(new Callable<Boolean>() {
+            public Boolean call() {
+                return beanManager.isContextActive(RequestScoped.class);
+            }
+        }).get());
+        // the same tasks submitted directly find no active context on any worker thread
+        List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+        for (int i = 0; i < THREADS * 2; i++) {
+            results.add(delegate.submit(new Callable<Boolean>() {
+                public Boolean call() {
+                    return beanManager.isContextActive(RequestScoped.class);
+                }
+            }));
+        }
+        for (Future<Boolean> result : results) {
+            assertFalse(result.get());
+        }
+    }
+
+    @RequestScoped
+    public static class CapturedBean {
+
+        private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+        private int id;
+
+        @PostConstruct
+        void init() {
+            id = SEQUENCE.incrementAndGet();
+        }
+
+        public int getId() {
+            return id;
+        }
+    }
+
+    @RequestScoped
+    public static class ReadOnlyBean {
+
+        private static final AtomicInteger SEQUENCE = new AtomicInteger();
+        private static final AtomicInteger DESTROYED = new AtomicInteger();
+
+        private int id;
+
+        @PostConstruct
+        void init() {
+            id = SEQUENCE.incrementAndGet();
+        }
+
+        @PreDestroy
+        void destroy() {
+            DESTROYED.incrementAndGet();
+        }
+
+        public int getId() {
+            return id;
+        }
+    }
+
+    @RequestScoped
+    public static class SharedBean {
+
+        private static final AtomicInteger SEQUENCE = new AtomicInteger();
+        private static final AtomicInteger DESTROYED = new AtomicInteger();
+
+        private int id;
+
+        @PostConstruct
+        void init() {
+            id = SEQUENCE.incrementAndGet();
+        }
+
+        @PreDestroy
+        void destroy() {
+            DESTROYED.incrementAndGet();
+        }
+
+        public int getId() {
+            return id;
+        }
+    }
+
+    @RequestScoped
+    public static class ConcurrentBean {
+
+        private static final AtomicInteger CREATED = new AtomicInteger();
+
+        private int id;
+
+        @PostConstruct
+        void init() {
+            id = CREATED.incrementAndGet();
+            // widen the window in which concurrent tasks could create another instance
+            Thread.yield();
+        }
+
+        public int getId() {
+            return id;
+        }
+    }
+}
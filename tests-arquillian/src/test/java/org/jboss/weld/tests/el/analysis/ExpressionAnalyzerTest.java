@@ -0,0 +1,187 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.el.analysis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Field;
+
+import javax.el.ELContext;
+import javax.el.Expression;
+import javax.el.ExpressionFactory;
+import javax.el.ValueExpression;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.RequestScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.weld.el.WeldMethodExpression;
+import org.jboss.weld.el.WeldValueExpression;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.test.util.el.EL;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.sun.el.ExpressionFactoryImpl;
+
+/**
+ * Verifies which expressions created by a wrapped expression factory share a creational context, i.e. may refer to a
+ * dependent bean.
+ */
+@RunWith(Arquillian.class)
+public class ExpressionAnalyzerTest {
+
+    @Deployment
+    public static JavaArchive createDeployment() {
+        return ShrinkWrap.create(BeanArchive.class)
+                .addPackage(ExpressionAnalyzerTest.class.getPackage())
+                .addClass(EL.class)
+                .addPackages(true, ExpressionFactoryImpl.class.getPackage());
+    }
+
+    @Inject
+    private BeanManagerImpl beanManager;
+
+    @Test
+    public void testLiterals() throws Exception {
+        assertFalse(isValueExpressionAnalyzedAsDependent("plain text"));
+        assertFalse(isValueExpressionAnalyzedAsDependent("#{1 + 2.5e3}"));
+        assertFalse(isValueExpressionAnalyzedAsDependent("#{true and not empty null}"));
+        // an escaped expression is literal text
+        assertFalse(isValueExpressionAnalyzedAsDependent("\\#{ticket}"));
+    }
+
+    @Test
+    public void testQuotedStrings() throws Exception {
+        assertFalse(isValueExpressionAnalyzedAsDependent("#{'ticket'}"));
+        assertFalse(isValueExpressionAnalyzedAsDependent("#{\"ticket\"}"));
+        assertFalse(isValueExpressionAnalyzedAsDependent("#{'it\\'s ticket'}"));
+        assertTrue(isValueExpressionAnalyzedAsDependent("#{'catalog' == ticket.number}"));
+    }
+
+    @Test
+    public void testRootIdentifiers() throws Exception {
+        assertTrue(isValueExpressionAnalyzedAsDependent("#{ticket}"));
+        assertFalse(isValueExpressionAnalyzedAsDependent("#{catalog}"));
+        assertFalse(isValueExpressionAnalyzedAsDependent("#{cart}"));
+        // not a bean name
+        assertFalse(isValueExpressionAnalyzedAsDependent("#{unknown}"));
+    }
+
+    @Test
+    public void testNestedProperties() throws Exception {
+        // only the root identifier refers to a bean
+        assertFalse(isValueExpressionAnalyzedAsDependent("#{catalog.ticket}"));
+        assertFalse(isValueExpressionAnalyzedAsDependent("#{catalog.name.length}"));
+        assertTrue(isValueExpressionAnalyzedAsDependent("#{ticket.number}"));
+    }
+
+    @Test
+    public void testMethodCalls() throws Exception {
+        assertFalse(isValueExpressionAnalyzedAsDependent("#{catalog.find('ticket')}"));
+        // an argument is a root identifier of its own
+        assertTrue(isValueExpressionAnalyzedAsDependent("#{catalog.find(ticket)}"));
+        assertFalse(isMethodExpressionAnalyzedAsDependent("#{catalog.find}"));
+        assertTrue(isMethodExpressionAnalyzedAsDependent("#{ticket.punch}"));
+    }
+
+    @Test
+    public void testCompositeExpressions() throws Exception {
+        assertFalse(isValueExpressionAnalyzedAsDependent("Catalog #{catalog.name} with #{cart.size} items"));
+        assertTrue(isValueExpressionAnalyzedAsDependent("Catalog #{catalog.name}, ticket #{ticket.number}"));
+        assertTrue(isValueExpressionAnalyzedAsDependent("#{cart.size > 0 ? ticket.number : 0}"));
+    }
+
+    @Test
+    public void testSerializedExpressionSharesCreationalContext() throws Exception {
+        ValueExpression expression = createFactory().createValueExpression(EL.createELContext(beanManager), "#{catalog.name}", Object.class);
+        assertFalse(isCreationalContextRequired(expression));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(expression);
+        out.close();
+        ValueExpression copy = (ValueExpression) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+        // the analysis is not part of the serialized form
+        assertTrue(isCreationalContextRequired(copy));
+        assertEquals("books", copy.getValue(EL.createELContext(beanManager)));
+    }
+
+    private boolean isValueExpressionAnalyzedAsDependent(String expression) throws Exception {
+        ELContext context = EL.createELContext(beanManager);
+        return isCreationalContextRequired(createFactory().createValueExpression(context, expression, Object.class));
+    }
+
+    private boolean isMethodExpressionAnalyzedAsDependent(String expression) throws Exception {
+        ELContext context = EL.createELContext(beanManager);
+        return isCreationalContextRequired(createFactory().createMethodExpression(context, expression, Object.class, new Class<?>[0]));
+    }
+
+    private ExpressionFactory createFactory() {
+        return beanManager.wrapExpressionFactory(new ExpressionFactoryImpl());
+    }
+
+    private static boolean isCreationalContextRequired(Expression expression) throws Exception {
+        Class<?> expressionClass = expression instanceof ValueExpression ? WeldValueExpression.class : WeldMethodExpression.class;
+        Field field = expressionClass.getDeclaredField("creationalContextRequired");
+        field.setAccessible(true);
+        return field.getBoolean(expressionClass.cast(expression));
+    }
+
+    @Named
+    @ApplicationScoped
+    public static class Catalog {
+
+        public String getName() {
+            return "books";
+        }
+
+        public String find(Object key) {
+            return String.valueOf(key);
+        }
+    }
+
+    @Named
+    @RequestScoped
+    public static class Cart {
+
+        public int getSize() {
+            return 0;
+        }
+    }
+
+    @Named
+    public static class Ticket {
+
+        public int getNumber() {
+            return 1;
+        }
+
+        public void punch() {
+        }
+    }
+}
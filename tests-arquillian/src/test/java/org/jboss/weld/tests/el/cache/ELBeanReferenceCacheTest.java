@@ -0,0 +1,195 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.el.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.el.ELContext;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.InjectionPoint;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.weld.literal.AnyLiteral;
+import org.jboss.weld.literal.DefaultLiteral;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.test.util.el.EL;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.sun.el.ExpressionFactoryImpl;
+
+/**
+ * Verifies the cache of bean references kept in an {@link ELContext} by the Weld EL resolver.
+ */
+@RunWith(Arquillian.class)
+public class ELBeanReferenceCacheTest {
+
+    private static final String CACHE_CLASS = "org.jboss.weld.el.ELBeanReferenceCache";
+
+    @Deployment
+    public static JavaArchive createDeployment() {
+        return ShrinkWrap.create(BeanArchive.class)
+                .addPackage(ELBeanReferenceCacheTest.class.getPackage())
+                .addClass(EL.class)
+                .addPackages(true, ExpressionFactoryImpl.class.getPackage());
+    }
+
+    @Inject
+    private BeanManagerImpl beanManager;
+
+    @Test
+    public void testNormalScopedReferenceCached() throws Exception {
+        ELContext context = EL.createELContext(beanManager);
+        Object first = evaluate(context, "#{catalog}");
+        assertNotNull(context.getContext(Class.forName(CACHE_CLASS)));
+        // a hit returns the cached client proxy
+        assertSame(first, evaluate(context, "#{catalog}"));
+        assertEquals("books", evaluate(context, "#{catalog.name}"));
+        // another context gets the same client proxy through a cache of its own
+        ELContext otherContext = EL.createELContext(beanManager);
+        assertNull(otherContext.getContext(Class.forName(CACHE_CLASS)));
+        assertSame(first, evaluate(otherContext, "#{catalog}"));
+    }
+
+    @Test
+    public void testDependentInstanceNotCached() {
+        ELContext context = EL.createELContext(beanManager);
+        int first = (Integer) evaluate(context, "#{ticket.number}");
+        int second = (Integer) evaluate(context, "#{ticket.number}");
+        // the bean is cached but each expression gets an instance of its own
+        assertFalse(first == second);
+        // within a single expression the dependent instance is shared
+        assertEquals(Boolean.TRUE, evaluate(context, "#{ticket.number == ticket.number}"));
+    }
+
+    @Test
+    public void testMissCachedPerContext() {
+        ELContext context = EL.createELContext(beanManager);
+        assertNull(resolve(context, "late"));
+        assertFalse(context.isPropertyResolved());
+
+        beanManager.addBean(new LateBean());
+        // the context keeps the miss
+        assertNull(resolve(context, "late"));
+        // a new context, e.g. the next request, sees the new bean
+        ELContext nextContext = EL.createELContext(beanManager);
+        assertEquals(LateBean.VALUE, resolve(nextContext, "late"));
+        assertTrue(nextContext.isPropertyResolved());
+    }
+
+    private static Object evaluate(ELContext context, String expression) {
+        return EL.EXPRESSION_FACTORY.createValueExpression(context, expression, Object.class).getValue(context);
+    }
+
+    private Object resolve(ELContext context, String name) {
+        context.setPropertyResolved(false);
+        return beanManager.getELResolver().getValue(context, null, name);
+    }
+
+    @Named
+    @ApplicationScoped
+    public static class Catalog {
+
+        public String getName() {
+            return "books";
+        }
+    }
+
+    @Named
+    public static class Ticket {
+
+        private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+        private final int number = SEQUENCE.incrementAndGet();
+
+        public int getNumber() {
+            return number;
+        }
+    }
+
+    private static class LateBean implements Bean<Object> {
+
+        private static final String VALUE = "late value";
+
+        public Set<Type> getTypes() {
+            return Collections.<Type>singleton(Object.class);
+        }
+
+        public Set<Annotation> getQualifiers() {
+            Set<Annotation> qualifiers = new HashSet<Annotation>();
+            qualifiers.add(DefaultLiteral.INSTANCE);
+            qualifiers.add(AnyLiteral.INSTANCE);
+            return qualifiers;
+        }
+
+        public Class<? extends Annotation> getScope() {
+            return Dependent.class;
+        }
+
+        public String getName() {
+            return "late";
+        }
+
+        public Set<Class<? extends Annotation>> getStereotypes() {
+            return Collections.emptySet();
+        }
+
+        public Class<?> getBeanClass() {
+            return ELBeanReferenceCacheTest.class;
+        }
+
+        public boolean isAlternative() {
+            return false;
+        }
+
+        public boolean isNullable() {
+            return false;
+        }
+
+        public Set<InjectionPoint> getInjectionPoints() {
+            return Collections.emptySet();
+        }
+
+        public Object create(CreationalContext<Object> creationalContext) {
+            return VALUE;
+        }
+
+        public void destroy(Object instance, CreationalContext<Object> creationalContext) {
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.event.batch;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.event.CoalescingKey;
+import org.jboss.weld.event.EventImpl;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(Arquillian.class)
+public class BatchEventTest {
+
+    @Deployment
+    public static Archive<?> deploy() {
+        return ShrinkWrap.create(BeanArchive.class).addPackage(BatchEventTest.class.getPackage());
+    }
+
+    @Inject
+    private Event<Update> event;
+
+    @Inject
+    private UpdateObserver observer;
+
+    @Before
+    public void reset() {
+        observer.reset();
+    }
+
+    @Test
+    public void testFireAllPreservesOrderAcrossEventClasses() {
+        Update first = new Update("a", 1);
+        Update second = new SpecialUpdate("b", 2);
+        Update third = new SpecialUpdate("c", 3);
+        Update fourth = new Update("d", 4);
+        events().fireAll(Arrays.asList(first, second, third, fourth));
+        assertEquals(Arrays.asList(first, second, third, fourth), observer.getUpdates());
+        assertEquals(Arrays.asList(second, third), observer.getSpecialUpdates());
+    }
+
+    @Test
+    public void testFireAllWithNoEvents() {
+        events().fireAll(new ArrayList<Update>());
+        assertEquals(0, observer.getUpdates().size());
+    }
+
+    @Test
+    public void testFireCoalescedDeliversLatestEventPerKey() {
+        Update a1 = new Update("a", 1);
+        Update b1 = new Update("b", 1);
+        Update a2 = new Update("a", 2);
+        Update c1 = new SpecialUpdate("c", 1);
+        Update b2 = new Update("b", 2);
+        events().fireCoalesced(Arrays.asList(a1, b1, a2, c1, b2), new CoalescingKey<Update>() {
+            public Object of(Update update) {
+                return update.getKey();
+            }
+        });
+        // ordered by the first occurrence of each key
+        assertEquals(Arrays.asList(a2, b2, c1), observer.getUpdates());
+        assertEquals(Arrays.asList(c1), observer.getSpecialUpdates());
+    }
+
+    private EventImpl<Update> events() {
+        return (EventImpl<Update>) event;
+    }
+
+    public static class Update {
+
+        private final String key;
+        private final int value;
+
+        public Update(String key, int value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    public static class SpecialUpdate extends Update {
+
+        public SpecialUpdate(String key, int value) {
+            super(key, value);
+        }
+    }
+
+    @ApplicationScoped
+    public static class UpdateObserver {
+
+        private final List<Update> updates = new ArrayList<Update>();
+        private final List<Update> specialUpdates = new ArrayList<Update>();
+
+        public void observe(@Observes Update update) {
+            updates.add(update);
+        }
+
+        public void observeSpecial(@Observes SpecialUpdate update) {
+            specialUpdates.add(update);
+        }
+
+        public List<Update> getUpdates() {
+            return updates;
+        }
+
+        public List<Update> getSpecialUpdates() {
+            return specialUpdates;
+        }
+
+        public void reset() {
+            updates.clear();
+            specialUpdates.clear();
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.event.observer.performance;
+
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+/**
+ * Declares ten observer methods which are inherited by each of the {@link InvalidationObservers}.
+ */
+public abstract class AbstractInvalidationObserver {
+
+    @Inject
+    private InvalidationCounter counter;
+
+    public void observe1(@Observes Invalidation invalidation) {
+        counter.increment();
+    }
+
+    public void observe2(@Observes Invalidation invalidation) {
+        counter.increment();
+    }
+
+    public void observe3(@Observes Invalidation invalidation) {
+        counter.increment();
+    }
+
+    public void observe4(@Observes Invalidation invalidation) {
+        counter.increment();
+    }
+
+    public void observe5(@Observes Invalidation invalidation) {
+        counter.increment();
+    }
+
+    public void observe6(@Observes Invalidation invalidation) {
+        counter.increment();
+    }
+
+    public void observe7(@Observes Invalidation invalidation) {
+        counter.increment();
+    }
+
+    public void observe8(@Observes Invalidation invalidation) {
+        counter.increment();
+    }
+
+    public void observe9(@Observes Invalidation invalidation) {
+        counter.increment();
+    }
+
+    public void observe10(@Observes Invalidation invalidation) {
+        counter.increment();
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.event.observer.performance;
+
+import javax.enterprise.context.ApplicationScoped;
+
+/**
+ * Five observer beans with ten observer methods each.
+ */
+public final class InvalidationObservers {
+
+    private InvalidationObservers() {
+    }
+
+    @ApplicationScoped
+    public static class Observer1 extends AbstractInvalidationObserver {
+    }
+
+    @ApplicationScoped
+    public static class Observer2 extends AbstractInvalidationObserver {
+    }
+
+    @ApplicationScoped
+    public static class Observer3 extends AbstractInvalidationObserver {
+    }
+
+    @ApplicationScoped
+    public static class Observer4 extends AbstractInvalidationObserver {
+    }
+
+    @ApplicationScoped
+    public static class Observer5 extends AbstractInvalidationObserver {
+    }
+}
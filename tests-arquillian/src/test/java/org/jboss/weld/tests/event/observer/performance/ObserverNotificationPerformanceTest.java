@@ -0,0 +1,104 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.event.observer.performance;
+
+import static org.junit.Assert.assertEquals;
+
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
+
+import org.databene.contiperf.PerfTest;
+import org.databene.contiperf.junit.ContiPerfRule;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.tests.category.Performance;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+/**
+ * Measures the cost of event delivery to 1, 5 and 50 observer methods which only declare the event parameter.
+ */
+@Category(Performance.class)
+@RunWith(Arquillian.class)
+public class ObserverNotificationPerformanceTest {
+
+    private static final int EVENTS = 10000;
+
+    @Rule
+    public ContiPerfRule rule = new ContiPerfRule();
+
+    @Deployment
+    public static Archive<?> deploy() {
+        return ShrinkWrap.create(BeanArchive.class).addPackage(ObserverNotificationPerformanceTest.class.getPackage());
+    }
+
+    @Inject
+    private Event<Tick> tickEvent;
+
+    @Inject
+    private Event<Quote> quoteEvent;
+
+    @Inject
+    private Event<Invalidation> invalidationEvent;
+
+    @Inject
+    private TickObserver tickObserver;
+
+    @Inject
+    private QuoteObserver quoteObserver;
+
+    @Inject
+    private InvalidationCounter invalidationCounter;
+
+    @Test
+    @PerfTest(invocations = 20)
+    public void testSingleObserver() {
+        long before = tickObserver.getCount();
+        Tick tick = new Tick();
+        for (int i = 0; i < EVENTS; i++) {
+            tickEvent.fire(tick);
+        }
+        assertEquals(EVENTS, tickObserver.getCount() - before);
+    }
+
+    @Test
+    @PerfTest(invocations = 20)
+    public void testFiveObservers() {
+        long before = quoteObserver.getCount();
+        Quote quote = new Quote();
+        for (int i = 0; i < EVENTS; i++) {
+            quoteEvent.fire(quote);
+        }
+        assertEquals(5 * EVENTS, quoteObserver.getCount() - before);
+    }
+
+    @Test
+    @PerfTest(invocations = 20)
+    public void testFiftyObservers() {
+        long before = invalidationCounter.getCount();
+        Invalidation invalidation = new Invalidation();
+        for (int i = 0; i < EVENTS; i++) {
+            invalidationEvent.fire(invalidation);
+        }
+        assertEquals(50 * EVENTS, invalidationCounter.getCount() - before);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.event.observer.performance;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+@ApplicationScoped
+public class QuoteObserver {
+
+    private final AtomicLong count = new AtomicLong();
+
+    public void observe1(@Observes Quote quote) {
+        count.incrementAndGet();
+    }
+
+    public void observe2(@Observes Quote quote) {
+        count.incrementAndGet();
+    }
+
+    public void observe3(@Observes Quote quote) {
+        count.incrementAndGet();
+    }
+
+    public void observe4(@Observes Quote quote) {
+        count.incrementAndGet();
+    }
+
+    public void observe5(@Observes Quote quote) {
+        count.incrementAndGet();
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.event.observer.receiver;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.Reception;
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Verifies the receiver lookup of observer methods declared by normal-scoped beans.
+ */
+@RunWith(Arquillian.class)
+public class ObserverReceiverTest {
+
+    @Deployment
+    public static Archive<?> deploy() {
+        return ShrinkWrap.create(BeanArchive.class).addPackage(ObserverReceiverTest.class.getPackage());
+    }
+
+    @Inject
+    private Event<Ping> event;
+
+    @Inject
+    private ConditionalObserver conditionalObserver;
+
+    @Inject
+    private EagerObserver eagerObserver;
+
+    @Test
+    public void testConditionalObserverNotNotifiedUntilCreated() {
+        int created = ConditionalObserver.CREATED.get();
+        int notified = ConditionalObserver.NOTIFIED.get();
+        event.fire(new Ping());
+        assertEquals(created, ConditionalObserver.CREATED.get());
+        assertEquals(notified, ConditionalObserver.NOTIFIED.get());
+        // creates the contextual instance
+        conditionalObserver.touch();
+        assertEquals(created + 1, ConditionalObserver.CREATED.get());
+        event.fire(new Ping());
+        event.fire(new Ping());
+        assertEquals(created + 1, ConditionalObserver.CREATED.get());
+        assertEquals(notified + 2, ConditionalObserver.NOTIFIED.get());
+    }
+
+    @Test
+    public void testObserverCreatedOnFirstEvent() {
+        int created = EagerObserver.CREATED.get();
+        int notified = EagerObserver.NOTIFIED.get();
+        event.fire(new Ping());
+        event.fire(new Ping());
+        // the receiver is created once and then looked up in the request context
+        assertEquals(created + 1, EagerObserver.CREATED.get());
+        assertEquals(notified + 2, EagerObserver.NOTIFIED.get());
+        assertEquals(2, eagerObserver.getNotifications());
+    }
+
+    public static class Ping {
+    }
+
+    @RequestScoped
+    public static class ConditionalObserver {
+
+        static final AtomicInteger CREATED = new AtomicInteger();
+        static final AtomicInteger NOTIFIED = new AtomicInteger();
+
+        @PostConstruct
+        void init() {
+            CREATED.incrementAndGet();
+        }
+
+        public void touch() {
+        }
+
+        public void observe(@Observes(notifyObserver = Reception.IF_EXISTS) Ping ping) {
+            NOTIFIED.incrementAndGet();
+        }
+    }
+
+    @RequestScoped
+    public static class EagerObserver {
+
+        static final AtomicInteger CREATED = new AtomicInteger();
+        static final AtomicInteger NOTIFIED = new AtomicInteger();
+
+        private int notifications;
+
+        @PostConstruct
+        void init() {
+            CREATED.incrementAndGet();
+        }
+
+        public void observe(@Observes Ping ping) {
+            NOTIFIED.incrementAndGet();
+            notifications++;
+        }
+
+        public int getNotifications() {
+            return notifications;
+        }
+    }
+
+}
@@ -0,0 +1,138 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.event.type;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Verifies that an {@link Event} which remembers the type of the last fired event class still resolves the right event type when
+ * the runtime class of the events changes.
+ */
+@RunWith(Arquillian.class)
+public class EventTypeCacheTest {
+
+    @Deployment
+    public static Archive<?> deploy() {
+        return ShrinkWrap.create(BeanArchive.class).addPackage(EventTypeCacheTest.class.getPackage());
+    }
+
+    @Inject
+    private Event<Object> event;
+
+    @Inject
+    private Event<Box<String>> stringBoxEvent;
+
+    @Inject
+    private Event<Box<Integer>> integerBoxEvent;
+
+    @Inject
+    private Recorder recorder;
+
+    @Before
+    public void reset() {
+        recorder.reset();
+    }
+
+    @Test
+    public void testAlternatingEventClasses() {
+        event.fire("foo");
+        event.fire(1);
+        event.fire("bar");
+        event.fire("baz");
+        event.fire(2);
+        assertEquals(Arrays.asList("foo", "bar", "baz"), recorder.getStrings());
+        assertEquals(Arrays.asList(1, 2), recorder.getIntegers());
+    }
+
+    @Test
+    public void testParameterizedEventTypeResolvedPerEvent() {
+        stringBoxEvent.fire(new Box<String>("foo"));
+        stringBoxEvent.fire(new Box<String>("bar"));
+        integerBoxEvent.fire(new Box<Integer>(1));
+        stringBoxEvent.fire(new Box<String>("baz"));
+        assertEquals(Arrays.asList("foo", "bar", "baz"), recorder.getStrings());
+        assertEquals(Arrays.asList(1), recorder.getIntegers());
+    }
+
+    public static class Box<T> {
+
+        private final T value;
+
+        public Box(T value) {
+            this.value = value;
+        }
+
+        public T getValue() {
+            return value;
+        }
+    }
+
+    @ApplicationScoped
+    public static class Recorder {
+
+        private final List<String> strings = new ArrayList<String>();
+        private final List<Integer> integers = new ArrayList<Integer>();
+
+        public void observeString(@Observes String value) {
+            strings.add(value);
+        }
+
+        public void observeInteger(@Observes Integer value) {
+            integers.add(value);
+        }
+
+        public void observeStringBox(@Observes Box<String> box) {
+            strings.add(box.getValue());
+        }
+
+        public void observeIntegerBox(@Observes Box<Integer> box) {
+            integers.add(box.getValue());
+        }
+
+        public List<String> getStrings() {
+            return strings;
+        }
+
+        public List<Integer> getIntegers() {
+            return integers;
+        }
+
+        public void reset() {
+            strings.clear();
+            integers.clear();
+        }
+    }
+
+}
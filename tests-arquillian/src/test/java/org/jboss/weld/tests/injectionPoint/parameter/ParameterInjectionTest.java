@@ -0,0 +1,134 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.injectionPoint.parameter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.Instance;
+import javax.enterprise.inject.Produces;
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.bean.proxy.ProxyObject;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Verifies the values injected into the parameters of producer and observer methods, which reuse the client proxy of a
+ * normal-scoped bean.
+ */
+@RunWith(Arquillian.class)
+public class ParameterInjectionTest {
+
+    @Deployment
+    public static Archive<?> deploy() {
+        return ShrinkWrap.create(BeanArchive.class).addPackage(ParameterInjectionTest.class.getPackage());
+    }
+
+    @Inject
+    private Instance<Report> reports;
+
+    @Inject
+    private Event<Ping> event;
+
+    @Inject
+    private RequestCounter counter;
+
+    @Test
+    public void testProducerParameters() {
+        Report first = reports.get();
+        Report second = reports.get();
+        assertTrue(first.getCounter() instanceof ProxyObject);
+        // the client proxy of the normal-scoped parameter is reused
+        assertSame(first.getCounter(), second.getCounter());
+        // a dependent parameter is created per invocation
+        assertNotSame(first.getItem(), second.getItem());
+        // the proxy still delegates to the contextual instance
+        first.getCounter().increment();
+        second.getCounter().increment();
+        assertEquals(2, counter.get());
+    }
+
+    @Test
+    public void testObserverParameters() {
+        event.fire(new Ping());
+        event.fire(new Ping());
+        assertEquals(2, counter.get());
+    }
+
+    public static class Ping {
+    }
+
+    public static class Item {
+    }
+
+    @RequestScoped
+    public static class RequestCounter {
+
+        private int count;
+
+        public void increment() {
+            count++;
+        }
+
+        public int get() {
+            return count;
+        }
+    }
+
+    public static class Report {
+
+        private final RequestCounter counter;
+        private final Item item;
+
+        public Report(RequestCounter counter, Item item) {
+            this.counter = counter;
+            this.item = item;
+        }
+
+        public RequestCounter getCounter() {
+            return counter;
+        }
+
+        public Item getItem() {
+            return item;
+        }
+    }
+
+    public static class ReportFactory {
+
+        @Produces
+        public Report produce(RequestCounter counter, Item item) {
+            return new Report(counter, item);
+        }
+
+        public void observe(@Observes Ping ping, RequestCounter counter) {
+            counter.increment();
+        }
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.injectionPoint.plan;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import javax.enterprise.inject.Instance;
+import javax.enterprise.inject.spi.InjectionPoint;
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Verifies that the {@link InjectionPoint} and {@link Instance} injection points, whose resolution is cached by the injection
+ * points of an injection target, still provide the metadata of the actual injection point on every injection.
+ */
+@RunWith(Arquillian.class)
+public class InjectionPointMetadataTest {
+
+    @Deployment
+    public static Archive<?> deploy() {
+        return ShrinkWrap.create(BeanArchive.class).addPackage(InjectionPointMetadataTest.class.getPackage());
+    }
+
+    @Inject
+    private Instance<FirstClient> firstClients;
+
+    @Inject
+    private Instance<SecondClient> secondClients;
+
+    @Test
+    public void testInjectionPointMetadata() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            FirstClient first = firstClients.get();
+            SecondClient second = secondClients.get();
+            assertEquals(FirstClient.class.getDeclaredField("probe"), first.probe.getInjectionPoint().getMember());
+            assertEquals(SecondClient.class.getDeclaredField("probe"), second.probe.getInjectionPoint().getMember());
+            assertEquals(FirstClient.class.getDeclaredConstructor(Probe.class), first.constructorProbe.getInjectionPoint().getMember());
+        }
+    }
+
+    @Test
+    public void testInstanceInjectionPointMetadata() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            FirstClient first = firstClients.get();
+            SecondClient second = secondClients.get();
+            Probe firstProbe = first.probes.get();
+            Probe secondProbe = second.probes.get();
+            assertNotSame(firstProbe, first.probes.get());
+            assertEquals(FirstClient.class.getDeclaredField("probes"), firstProbe.getInjectionPoint().getMember());
+            assertEquals(SecondClient.class.getDeclaredField("probes"), secondProbe.getInjectionPoint().getMember());
+            assertEquals(Probe.class, firstProbe.getInjectionPoint().getType());
+        }
+    }
+
+    public static class Probe {
+
+        @Inject
+        private InjectionPoint injectionPoint;
+
+        public InjectionPoint getInjectionPoint() {
+            return injectionPoint;
+        }
+    }
+
+    public static class FirstClient {
+
+        @Inject
+        Probe probe;
+
+        @Inject
+        Instance<Probe> probes;
+
+        final Probe constructorProbe;
+
+        @Inject
+        public FirstClient(Probe constructorProbe) {
+            this.constructorProbe = constructorProbe;
+        }
+    }
+
+    public static class SecondClient {
+
+        @Inject
+        Probe probe;
+
+        @Inject
+        Instance<Probe> probes;
+    }
+
+}
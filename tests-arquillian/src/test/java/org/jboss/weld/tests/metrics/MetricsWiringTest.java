@@ -0,0 +1,157 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.metrics;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+import static org.junit.Assert.assertEquals;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import java.util.Arrays;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InterceptorBinding;
+import javax.interceptor.InvocationContext;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.config.WeldConfiguration;
+import org.jboss.weld.event.EventImpl;
+import org.jboss.weld.interceptor.spi.model.InterceptionType;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.metrics.MetricGroup;
+import org.jboss.weld.metrics.Metrics;
+import org.jboss.weld.metrics.MetricsSupport;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Verifies that the components of the container count into the {@link Metrics} when metrics are enabled.
+ */
+@RunWith(Arquillian.class)
+public class MetricsWiringTest {
+
+    @Deployment
+    public static Archive<?> deploy() {
+        return ShrinkWrap.create(BeanArchive.class).intercept(CountingInterceptor.class).addPackage(MetricsWiringTest.class.getPackage())
+                .addAsResource(new StringAsset(ConfigurationKey.METRICS.get() + "=true"), WeldConfiguration.CONFIGURATION_FILE);
+    }
+
+    @Inject
+    private BeanManagerImpl beanManager;
+
+    @Inject
+    private Instance<Gadget> gadgets;
+
+    @Inject
+    private Service service;
+
+    @Inject
+    private Event<Unobserved> event;
+
+    @Test
+    public void testResolverLookupsAreCounted() {
+        long lookups = getCount(MetricGroup.RESOLUTION, "beanResolver.lookups");
+        beanManager.getBeans(Gadget.class);
+        beanManager.getBeans(Gadget.class);
+        assertEquals(lookups + 2, getCount(MetricGroup.RESOLUTION, "beanResolver.lookups"));
+    }
+
+    @Test
+    public void testDependentInstancesAreCountedPerBeanClass() {
+        long instances = getCount(MetricGroup.BEAN, Gadget.class.getName());
+        long dependentInstances = getCount(MetricGroup.SCOPE, "Dependent");
+        gadgets.get();
+        gadgets.get();
+        assertEquals(instances + 2, getCount(MetricGroup.BEAN, Gadget.class.getName()));
+        assertEquals(dependentInstances + 2, getCount(MetricGroup.SCOPE, "Dependent"));
+    }
+
+    @Test
+    public void testContextualCreationIsTimedPerBeanClass() {
+        // the application scoped instance is created at most once, by this or another test
+        service.ping();
+        assertEquals(1L, MetricsSupport.getMetrics(beanManager.getServices()).getTimer(MetricGroup.CONTEXTUAL_CREATION, Service.class.getName()).getCount());
+        assertEquals(1L, getCount(MetricGroup.BEAN, Service.class.getName()));
+    }
+
+    @Test
+    public void testInterceptedInvocationsAreCounted() {
+        long invocations = getCount(MetricGroup.INTERCEPTION, InterceptionType.AROUND_INVOKE.name());
+        service.ping();
+        service.ping();
+        service.ping();
+        assertEquals(invocations + 3, getCount(MetricGroup.INTERCEPTION, InterceptionType.AROUND_INVOKE.name()));
+    }
+
+    @Test
+    public void testEventsWithoutObserversAreCountedAsFired() {
+        String name = Unobserved.class.getName();
+        long fired = getCount(MetricGroup.EVENT, name + ".fired");
+        long notifications = getCount(MetricGroup.EVENT, name + ".notifications");
+        ((EventImpl<Unobserved>) event).fireAll(Arrays.asList(new Unobserved(), new Unobserved()));
+        event.fire(new Unobserved());
+        assertEquals(fired + 3, getCount(MetricGroup.EVENT, name + ".fired"));
+        assertEquals(notifications, getCount(MetricGroup.EVENT, name + ".notifications"));
+    }
+
+    private long getCount(MetricGroup group, String name) {
+        return MetricsSupport.getMetrics(beanManager.getServices()).getCounter(group, name).get();
+    }
+
+    public static class Gadget {
+    }
+
+    public static class Unobserved {
+    }
+
+    @InterceptorBinding
+    @Target({ TYPE, METHOD })
+    @Retention(RUNTIME)
+    public @interface Counted {
+    }
+
+    @Counted
+    @Interceptor
+    public static class CountingInterceptor {
+
+        @AroundInvoke
+        public Object intercept(InvocationContext ctx) throws Exception {
+            return ctx.proceed();
+        }
+    }
+
+    @Counted
+    @ApplicationScoped
+    public static class Service {
+
+        public void ping() {
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.metrics.instrumentation;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Instance;
+import javax.enterprise.inject.spi.Bean;
+import javax.inject.Inject;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InterceptorBinding;
+import javax.interceptor.InvocationContext;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.config.WeldConfiguration;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.metrics.BeanInstrumentation;
+import org.jboss.weld.metrics.MetricGroup;
+import org.jboss.weld.metrics.MetricsSupport;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Verifies that the invocations and the instance creation of the beans selected by {@link ConfigurationKey#INSTRUMENTATION}
+ * are timed once and that the other beans are not timed.
+ */
+@RunWith(Arquillian.class)
+public class BeanInstrumentationTest {
+
+    @Deployment
+    public static Archive<?> deploy() {
+        String selectors = ProxiedService.class.getName() + "," + InterceptedService.class.getName() + "," + Part.class.getName();
+        return ShrinkWrap.create(BeanArchive.class).intercept(LoggingInterceptor.class).addPackage(BeanInstrumentationTest.class.getPackage())
+                .addAsResource(new StringAsset(ConfigurationKey.METRICS.get() + "=true\n" + ConfigurationKey.INSTRUMENTATION.get() + "=" + selectors),
+                        WeldConfiguration.CONFIGURATION_FILE);
+    }
+
+    @Inject
+    private BeanManagerImpl beanManager;
+
+    @Inject
+    private ProxiedService proxiedService;
+
+    @Inject
+    private InterceptedService interceptedService;
+
+    @Inject
+    private UnselectedService unselectedService;
+
+    @Inject
+    private Instance<Part> parts;
+
+    @Test
+    public void testClientProxyInvocationsAreTimed() {
+        long invocations = getInvocationCount(ProxiedService.class, "ping()");
+        proxiedService.ping();
+        proxiedService.ping();
+        proxiedService.ping();
+        assertEquals(invocations + 3, getInvocationCount(ProxiedService.class, "ping()"));
+    }
+
+    @Test
+    public void testInterceptedInvocationsAreTimedOnce() {
+        long invocations = getInvocationCount(InterceptedService.class, "echo(String)");
+        // the invocation passes the client proxy and the interceptor method handler but is only timed by the latter
+        assertEquals("foo", interceptedService.echo("foo"));
+        assertEquals("bar", interceptedService.echo("bar"));
+        assertEquals(invocations + 2, getInvocationCount(InterceptedService.class, "echo(String)"));
+    }
+
+    @Test
+    public void testCreationIsTimed() {
+        long creations = getCreationCount(Part.class);
+        parts.get();
+        parts.get();
+        assertEquals(creations + 2, getCreationCount(Part.class));
+    }
+
+    @Test
+    public void testUnselectedBeanIsNotTimed() {
+        BeanInstrumentation instrumentation = BeanInstrumentation.of(beanManager.getServices());
+        Bean<?> bean = beanManager.resolve(beanManager.getBeans(UnselectedService.class));
+        assertFalse(instrumentation.isInstrumented(bean));
+        assertNull(instrumentation.getCreationTimer(bean));
+        assertNull(instrumentation.getClientProxyInvocationTimers(bean));
+        unselectedService.ping();
+        assertEquals(0L, getInvocationCount(UnselectedService.class, "ping()"));
+        assertEquals(0L, getCreationCount(UnselectedService.class));
+        assertTrue(instrumentation.isInstrumented(beanManager.resolve(beanManager.getBeans(ProxiedService.class))));
+    }
+
+    private long getInvocationCount(Class<?> beanClass, String method) {
+        return MetricsSupport.getMetrics(beanManager.getServices()).getTimer(MetricGroup.INVOCATION, beanClass.getName() + "#" + method).getCount();
+    }
+
+    private long getCreationCount(Class<?> beanClass) {
+        return MetricsSupport.getMetrics(beanManager.getServices()).getTimer(MetricGroup.CREATION, beanClass.getName()).getCount();
+    }
+
+    @InterceptorBinding
+    @Target({ TYPE, METHOD })
+    @Retention(RUNTIME)
+    public @interface Logged {
+    }
+
+    @Logged
+    @Interceptor
+    public static class LoggingInterceptor {
+
+        @AroundInvoke
+        public Object intercept(InvocationContext ctx) throws Exception {
+            return ctx.proceed();
+        }
+    }
+
+    @ApplicationScoped
+    public static class ProxiedService {
+
+        public void ping() {
+        }
+    }
+
+    @Logged
+    @ApplicationScoped
+    public static class InterceptedService {
+
+        public String echo(String message) {
+            return message;
+        }
+    }
+
+    @ApplicationScoped
+    public static class UnselectedService {
+
+        public void ping() {
+        }
+    }
+
+    public static class Part {
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.proxy.pregeneration;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.inject.spi.Bean;
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.weld.bean.proxy.ClientProxyProvider;
+import org.jboss.weld.bean.proxy.ProxyObject;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.config.WeldConfiguration;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.util.reflection.Reflections;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Verifies that the client proxies of normal-scoped beans are created during bootstrap if client proxy pregeneration is
+ * enabled. The test looks into the proxy caches of {@link ClientProxyProvider} before the proxies are requested.
+ */
+@RunWith(Arquillian.class)
+public class ClientProxyPregenerationTest {
+
+    @Deployment
+    public static Archive<?> deploy() {
+        return ShrinkWrap.create(BeanArchive.class).addPackage(ClientProxyPregenerationTest.class.getPackage())
+                .addAsResource(new StringAsset(ConfigurationKey.CLIENT_PROXY_PREGENERATION.get() + "=true"), WeldConfiguration.CONFIGURATION_FILE);
+    }
+
+    @Inject
+    private BeanManagerImpl beanManager;
+
+    @Test
+    public void testBeanTypeClosureProxyCreated() throws Exception {
+        Bean<Greeting> bean = getBean(Greeting.class);
+        Map<Object, Object> proxies = getProxyPool("beanTypeClosureProxyPool");
+        // the proxy exists before it is requested for the first time
+        assertTrue(proxies.containsKey(bean));
+        Object proxy = proxies.get(bean);
+        assertTrue(proxy instanceof Greeting);
+        assertTrue(proxy instanceof ProxyObject);
+        assertSame(proxy, beanManager.getReference(bean, Greeting.class, beanManager.createCreationalContext(bean)));
+    }
+
+    @Test
+    public void testRequestedTypeProxyCreated() throws Exception {
+        // the bean types of UnproxyableService are not proxyable, the proxy is created for the injected type
+        Object proxy = null;
+        for (Object value : getProxyPool("requestedTypeClosureProxyPool").values()) {
+            if (value instanceof Service) {
+                proxy = value;
+            }
+        }
+        assertNotNull(proxy);
+        assertTrue(proxy instanceof ProxyObject);
+        Bean<UnproxyableService> bean = getBean(UnproxyableService.class);
+        assertSame(proxy, beanManager.getReference(bean, Service.class, beanManager.createCreationalContext(bean)));
+    }
+
+    private Map<Object, Object> getProxyPool(String name) throws Exception {
+        Field field = ClientProxyProvider.class.getDeclaredField(name);
+        field.setAccessible(true);
+        // looking into the computing map through containsKey() and values() does not create a proxy
+        return Reflections.cast(field.get(beanManager.getClientProxyProvider()));
+    }
+
+    private <T> Bean<T> getBean(Class<T> type) {
+        return Reflections.cast(beanManager.resolve(beanManager.getBeans(type)));
+    }
+
+    @ApplicationScoped
+    public static class Greeting {
+
+        public String greet() {
+            return "hello";
+        }
+    }
+
+    public interface Service {
+
+        String ping();
+    }
+
+    @RequestScoped
+    public static class UnproxyableService implements Service {
+
+        public final String ping() {
+            return "pong";
+        }
+    }
+
+    public static class Consumer {
+
+        @Inject
+        Service service;
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.resolution.named.index;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.enterprise.context.Dependent;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.InjectionPoint;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.literal.AnyLiteral;
+import org.jboss.weld.literal.DefaultLiteral;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Verifies that the name index is rebuilt once a bean is added to the deployment, also while names are resolved
+ * concurrently.
+ */
+@RunWith(Arquillian.class)
+public class NameIndexTest {
+
+    @Deployment
+    public static Archive<?> deploy() {
+        return ShrinkWrap.create(BeanArchive.class).addPackage(NameIndexTest.class.getPackage());
+    }
+
+    @Inject
+    private BeanManagerImpl beanManager;
+
+    @Test
+    public void testResolveUnknownName() {
+        assertTrue(beanManager.getBeans("unknown").isEmpty());
+        // a miss is not remembered
+        assertTrue(beanManager.getBeans("unknown").isEmpty());
+        assertEquals(1, beanManager.getBeans("alpha").size());
+    }
+
+    @Test
+    public void testResolveAfterBeanAdded() {
+        Set<Bean<?>> alpha = beanManager.getBeans("alpha");
+        assertEquals(1, alpha.size());
+        assertTrue(beanManager.getBeans("added").isEmpty());
+
+        // adding a bean resets the index
+        Bean<?> added = new SimpleBean("added");
+        beanManager.addBean(added);
+        assertSame(added, beanManager.resolve(beanManager.getBeans("added")));
+        // the beans found before are found in the rebuilt index
+        assertEquals(alpha, beanManager.getBeans("alpha"));
+    }
+
+    @Test
+    public void testResolveWhileBeansAdded() throws Exception {
+        final int beans = 20;
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Void>> results = new ArrayList<Future<Void>>();
+            for (int i = 0; i < 3; i++) {
+                results.add(executor.submit(new Callable<Void>() {
+                    public Void call() throws Exception {
+                        start.await();
+                        for (int j = 0; j < beans * 10; j++) {
+                            assertEquals(1, beanManager.getBeans("alpha").size());
+                        }
+                        return null;
+                    }
+                }));
+            }
+            results.add(executor.submit(new Callable<Void>() {
+                public Void call() throws Exception {
+                    start.await();
+                    for (int j = 0; j < beans; j++) {
+                        beanManager.addBean(new SimpleBean("concurrent" + j));
+                    }
+                    return null;
+                }
+            }));
+            start.countDown();
+            for (Future<Void> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        // an index built before the last bean was added is never kept
+        for (int j = 0; j < beans; j++) {
+            assertEquals(1, beanManager.getBeans("concurrent" + j).size());
+        }
+    }
+
+    @Named("alpha")
+    public static class Alpha {
+    }
+
+    private static class SimpleBean implements Bean<Object> {
+
+        private final String name;
+
+        private SimpleBean(String name) {
+            this.name = name;
+        }
+
+        public Set<Type> getTypes() {
+            return Collections.<Type>singleton(Object.class);
+        }
+
+        public Set<Annotation> getQualifiers() {
+            Set<Annotation> qualifiers = new HashSet<Annotation>();
+            qualifiers.add(DefaultLiteral.INSTANCE);
+            qualifiers.add(AnyLiteral.INSTANCE);
+            return qualifiers;
+        }
+
+        public Class<? extends Annotation> getScope() {
+            return Dependent.class;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Set<Class<? extends Annotation>> getStereotypes() {
+            return Collections.emptySet();
+        }
+
+        public Class<?> getBeanClass() {
+            return NameIndexTest.class;
+        }
+
+        public boolean isAlternative() {
+            return false;
+        }
+
+        public boolean isNullable() {
+            return false;
+        }
+
+        public Set<InjectionPoint> getInjectionPoints() {
+            return Collections.emptySet();
+        }
+
+        public Object create(CreationalContext<Object> creationalContext) {
+            return new Object();
+        }
+
+        public void destroy(Object instance, CreationalContext<Object> creationalContext) {
+        }
+
+        @Override
+        public String toString() {
+            return "SimpleBean " + name;
+        }
+    }
+}